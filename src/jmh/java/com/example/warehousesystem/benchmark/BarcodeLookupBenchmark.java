@@ -0,0 +1,52 @@
+package com.example.warehousesystem.benchmark;
+
+import com.example.warehousesystem.entities.BarcodeMapping;
+import com.example.warehousesystem.repository.BarcodeMappingRepository;
+import com.example.warehousesystem.service.BarcodeMappingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the barcode scan, the score is the time to resolve one EAN to its barcode mapping
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BarcodeLookupBenchmark {
+
+    @Param({"10000"})
+    public int mappings;
+
+    private ConfigurableApplicationContext context;
+    private BarcodeMappingService barcodeMappingService;
+    private String[] eans;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("barcodelookup");
+        barcodeMappingService = context.getBean(BarcodeMappingService.class);
+        context.getBean(BarcodeMappingRepository.class).saveAll(SyntheticData.barcodeMappings(mappings));
+        // the scans are spread over the whole data set in a fixed order, so every run looks up the same codes
+        eans = new String[1024];
+        for (int i = 0; i < eans.length; i++) {
+            eans[i] = SyntheticData.ean((int) ((i * 7919L) % mappings));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BarcodeMapping getBarcodeMappingByEan() {
+        next = (next + 1) & (eans.length - 1);
+        return barcodeMappingService.getBarcodeMappingByEan(eans[next]);
+    }
+}
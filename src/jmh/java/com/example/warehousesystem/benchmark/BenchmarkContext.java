@@ -0,0 +1,30 @@
+package com.example.warehousesystem.benchmark;
+
+import com.example.warehousesystem.ManagementToolApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application without web server against its own in-memory H2 database for a benchmark
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param database name of the in-memory database, every benchmark uses its own database
+     * @param properties additional properties of the benchmark, e.g. to compare two settings
+     * @return the started application context, has to be closed in the tear down of the benchmark
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        return new SpringApplicationBuilder(ManagementToolApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev", "h2")
+                .properties("spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+}
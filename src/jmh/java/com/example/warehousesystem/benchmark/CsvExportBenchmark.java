@@ -0,0 +1,123 @@
+package com.example.warehousesystem.benchmark;
+
+import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.service.CSVImportService;
+import com.example.warehousesystem.service.CsvExportService;
+import com.example.warehousesystem.service.ImportJob;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.SpecHints;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the csv exports of the warehouse and the articles, the score is the time per export
+ * of a data set with articles x locations warehouse entries
+ *
+ * exportWarehousesFromEntities is the baseline of the projection export, it writes the same csv from the warehouse
+ * entities like the export before the projection queries. Back then all collections of the entities were eager,
+ * so the baseline loads the warehouse entries with the fetch graph of their article, its reference data and their
+ * location and initializes the collections Article.warehouses, Location.warehouses and the articles of the category,
+ * currency and status like the eager fetching did, with one select per entity. The two lists of warehouse entries
+ * cannot be join fetched in the same query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CsvExportBenchmark {
+
+    @Param({"1000"})
+    public int articles;
+
+    @Param({"10"})
+    public int locations;
+
+    private ConfigurableApplicationContext context;
+    private CsvExportService csvExportService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("csvexport");
+        csvExportService = context.getBean(CsvExportService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        byte[] csv = SyntheticData.csv(articles, locations);
+        context.getBean(CSVImportService.class)
+                .saveAllEntitiesToDBFromCSV(new ByteArrayInputStream(csv), new ImportJob("benchmark.csv", csv.length));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void exportWarehouses() {
+        csvExportService.writeWarehouseToCsv(Writer.nullWriter());
+    }
+
+    @Benchmark
+    public void exportArticles() {
+        csvExportService.writeArticlesToCsv(Writer.nullWriter());
+    }
+
+    @Benchmark
+    public void exportWarehousesFromEntities() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (CSVPrinter csvPrinter = new CSVPrinter(Writer.nullWriter(), CSVFormat.DEFAULT)) {
+                csvPrinter.printRecord("Warehouse Id", "Quantity", "Article", "Category", "Amount", "CurrencyCode",
+                        "Country", "Status", "Aisle", "Shelf", "Tray");
+                for (Warehouse warehouse : findAllWithEagerCollections()) {
+                    csvPrinter.printRecord(warehouse.getId(), warehouse.getQuantity(),
+                            warehouse.getArticle().getDescription(), warehouse.getArticle().getCategory().getDescription(),
+                            warehouse.getArticle().getAmount(), warehouse.getArticle().getCurrency().getCurrencyCode(),
+                            warehouse.getArticle().getCurrency().getCountry(), warehouse.getArticle().getStatus().getDescription(),
+                            warehouse.getLocation().getAisle(), warehouse.getLocation().getShelf(), warehouse.getLocation().getTray());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * @return all warehouse entries with every association and collection loaded, like the eager mappings did
+     */
+    private List<Warehouse> findAllWithEagerCollections() {
+        EntityGraph<Warehouse> graph = entityManager.createEntityGraph(Warehouse.class);
+        graph.addSubgraph("article").addAttributeNodes("category", "currency", "status");
+        graph.addAttributeNodes("location");
+        List<Warehouse> warehouses = entityManager.createQuery("SELECT w FROM Warehouse w", Warehouse.class)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, graph)
+                .getResultList();
+        for (Warehouse warehouse : warehouses) {
+            Article article = warehouse.getArticle();
+            Hibernate.initialize(article.getWarehouses());
+            Hibernate.initialize(article.getCategory().getArticles());
+            Hibernate.initialize(article.getCurrency().getArticles());
+            Hibernate.initialize(article.getStatus().getArticles());
+            Hibernate.initialize(warehouse.getLocation().getWarehouses());
+        }
+        return warehouses;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.warehousesystem.benchmark;
+
+import com.example.warehousesystem.service.CSVImportService;
+import com.example.warehousesystem.service.ImportJob;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the csv import, the score is the time per imported row
+ *
+ * importCsv inserts the data set with its first invocation and updates the existing entries with the following ones,
+ * which is the common case of a warehouse re-importing its stock list. importNewCsv imports new articles with every
+ * invocation, so every row inserts an article, a warehouse entry, a stock movement and a total.
+ * A jdbc batch size of 1 sends every insert and update on its own, like the identity ids before the pooled
+ * table generator, which compares the import with and without JDBC batching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CsvImportBenchmark {
+    private static final int ROWS = 10_000;
+
+    @Param({"1000"})
+    public int articles;
+
+    @Param({"50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private CSVImportService csvImportService;
+    private byte[] csv;
+    private byte[] newCsv;
+    private int nextArticle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("csvimport",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        csvImportService = context.getBean(CSVImportService.class);
+        csv = SyntheticData.csv(articles, ROWS / articles);
+        nextArticle = articles;
+    }
+
+    @Setup(Level.Invocation)
+    public void createNewCsv() {
+        newCsv = SyntheticData.csv(nextArticle, articles, ROWS / articles);
+        nextArticle += articles;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportJob importCsv() {
+        ImportJob job = new ImportJob("benchmark.csv", csv.length);
+        csvImportService.saveAllEntitiesToDBFromCSV(new ByteArrayInputStream(csv), job);
+        return job;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportJob importNewCsv() {
+        ImportJob job = new ImportJob("benchmark.csv", newCsv.length);
+        csvImportService.saveAllEntitiesToDBFromCSV(new ByteArrayInputStream(newCsv), job);
+        return job;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.warehousesystem.benchmark;
+
+import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.Warehouse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the json serialization of one page of the list endpoints, the score is the time per page
+ * The object mapper is configured like the one of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<Warehouse> warehouses;
+    private List<Article> articles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        warehouses = SyntheticData.warehouses(pageSize, 1);
+        articles = warehouses.stream().map(Warehouse::getArticle).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeWarehousePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(warehouses);
+    }
+
+    @Benchmark
+    public byte[] serializeArticlePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(articles);
+    }
+}
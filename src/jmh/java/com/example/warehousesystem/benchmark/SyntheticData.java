@@ -0,0 +1,160 @@
+package com.example.warehousesystem.benchmark;
+
+import com.example.warehousesystem.entities.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates reproducible synthetic data for the benchmarks
+ *
+ * The data set consists of N articles stored at each of M locations, so it contains N x M warehouse entries.
+ * The values only depend on the indices, every run on every machine works on the same data.
+ */
+final class SyntheticData {
+    static final String CSV_HEADER = "Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity";
+    private static final int CATEGORIES = 20;
+    private static final String[][] CURRENCIES = {{"CHF", "Schweiz"}, {"EUR", "Deutschland"}, {"USD", "U.S.A."}};
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE"};
+    private static final int TRAYS_PER_SHELF = 10;
+    private static final int SHELVES_PER_AISLE = 100;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * @param articles number of articles
+     * @param locations number of locations
+     * @return a csv file for the import with articles x locations rows
+     */
+    static byte[] csv(int articles, int locations) {
+        return csv(0, articles, locations);
+    }
+
+    /**
+     * @param firstArticle index of the first article, a csv with other articles inserts new entries
+     * @param articles number of articles
+     * @param locations number of locations
+     * @return a csv file for the import with articles x locations rows
+     */
+    static byte[] csv(int firstArticle, int articles, int locations) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (int a = firstArticle; a < firstArticle + articles; a++) {
+            String[] currency = CURRENCIES[a % CURRENCIES.length];
+            for (int l = 0; l < locations; l++) {
+                csv.append(articleDescription(a)).append(',')
+                        .append(categoryDescription(a)).append(',')
+                        .append(amount(a)).append(',')
+                        .append(currency[0]).append(',')
+                        .append(currency[1]).append(',')
+                        .append(STATUSES[a % STATUSES.length]).append(',')
+                        .append(aisle(l)).append(',')
+                        .append(shelf(l)).append(',')
+                        .append(tray(l)).append(',')
+                        .append(quantity(a, l)).append('\n');
+            }
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * builds the entity graph of the data set in memory, with ids as if it was loaded from the database
+     * @param articles number of articles
+     * @param locations number of locations
+     * @return the articles x locations warehouse entries
+     */
+    static List<Warehouse> warehouses(int articles, int locations) {
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            Category category = new Category("Category " + c);
+            category.setId(c + 1);
+            categories.add(category);
+        }
+        List<Currency> currencies = new ArrayList<>();
+        for (String[] code : CURRENCIES) {
+            Currency currency = new Currency(code[0], code[1]);
+            currency.setId(currencies.size() + 1);
+            currencies.add(currency);
+        }
+        List<Status> statuses = new ArrayList<>();
+        for (String description : STATUSES) {
+            Status status = new Status(description);
+            status.setId(statuses.size() + 1);
+            statuses.add(status);
+        }
+        List<Location> allLocations = new ArrayList<>();
+        for (int l = 0; l < locations; l++) {
+            Location location = new Location(aisle(l), shelf(l), tray(l));
+            location.setId(l + 1);
+            allLocations.add(location);
+        }
+
+        List<Warehouse> warehouses = new ArrayList<>(articles * locations);
+        for (int a = 0; a < articles; a++) {
+            Article article = new Article(articleDescription(a), categories.get(a % CATEGORIES),
+                    currencies.get(a % currencies.size()), statuses.get(a % statuses.size()), amount(a));
+            article.setId(a + 1);
+            for (int l = 0; l < locations; l++) {
+                Warehouse warehouse = new Warehouse(article, allLocations.get(l), quantity(a, l));
+                warehouse.setId((long) a * locations + l + 1);
+                warehouses.add(warehouse);
+            }
+        }
+        return warehouses;
+    }
+
+    /**
+     * @param count number of barcode mappings
+     * @return barcode mappings with distinct valid EAN-13 codes
+     */
+    static List<BarcodeMapping> barcodeMappings(int count) {
+        List<BarcodeMapping> mappings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            mappings.add(new BarcodeMapping(ean(i), articleDescription(i)));
+        }
+        return mappings;
+    }
+
+    /**
+     * @param index index of the barcode mapping
+     * @return the EAN-13 code of the barcode mapping with the given index
+     */
+    static String ean(int index) {
+        String digits = String.format("760%09d", index);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    private static String articleDescription(int article) {
+        return String.format("Article %07d", article);
+    }
+
+    private static String categoryDescription(int article) {
+        return "Category " + article % CATEGORIES;
+    }
+
+    private static double amount(int article) {
+        return 1 + article % 500 / 4.0;
+    }
+
+    private static String aisle(int location) {
+        return String.valueOf((char) ('A' + location / (SHELVES_PER_AISLE * TRAYS_PER_SHELF) % 26))
+                + location / (26 * SHELVES_PER_AISLE * TRAYS_PER_SHELF);
+    }
+
+    private static int shelf(int location) {
+        return location / TRAYS_PER_SHELF % SHELVES_PER_AISLE + 1;
+    }
+
+    private static int tray(int location) {
+        return location % TRAYS_PER_SHELF + 1;
+    }
+
+    private static int quantity(int article, int location) {
+        return (article * 31 + location * 17) % 1000 + 1;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.warehousesystem.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Region factory of the Hibernate second level cache which stores the regions in Caffeine caches
+ *
+ * The JCache provider shares one cache manager per class loader, so every session factory of the jvm, e.g. the
+ * application contexts of the tests with their own databases, would see the cached entities of the others.
+ * This factory creates a cache manager of its own for every session factory instead, which is closed together with it.
+ * The regions are configured in application.conf.
+ */
+public class CaffeineRegionFactory extends JCacheRegionFactory {
+
+    @Override
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map<String, Object> properties) {
+        CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        return new CacheManagerImpl(cachingProvider, URI.create("warehouse-" + UUID.randomUUID()),
+                getClassLoader(cachingProvider), new Properties());
+    }
+}
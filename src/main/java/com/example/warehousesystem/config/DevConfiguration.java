@@ -2,6 +2,7 @@ package com.example.warehousesystem.config;
 
 import com.example.warehousesystem.entities.*;
 import com.example.warehousesystem.repository.*;
+import com.example.warehousesystem.service.StockLedgerService;
 import com.example.warehousesystem.utils.HasLogger;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
@@ -32,6 +33,8 @@ public class DevConfiguration implements HasLogger {
     private ArticleRepository articleRepository;
     @Autowired
     private WarehouseRepository warehouseRepository;
+    @Autowired
+    private StockLedgerService stockLedgerService;
 
 
     public DevConfiguration() {
@@ -211,6 +214,7 @@ public class DevConfiguration implements HasLogger {
     public void saveWarehouse(Warehouse warehouse){
         if (warehouseRepository.findWarehouseByArticleAndLocation(warehouse.getArticle(), warehouse.getLocation()).isEmpty()){
             warehouseRepository.save(warehouse);
+            stockLedgerService.recordMovement(warehouse, warehouse.getQuantity(), StockMovement.Reason.SEEDED);
         }
     }
 
@@ -0,0 +1,232 @@
+package com.example.warehousesystem.config;
+
+import com.example.warehousesystem.entities.BaseEntity;
+import com.example.warehousesystem.entities.StockMovement;
+import com.example.warehousesystem.repository.CategoryRepository;
+import com.example.warehousesystem.repository.CurrencyRepository;
+import com.example.warehousesystem.repository.StatusRepository;
+import com.example.warehousesystem.service.ReorderService;
+import com.example.warehousesystem.utils.HasLogger;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds a large synthetic data set in the dev profile, so performance problems show up locally
+ *
+ * The seeding is enabled with warehouse.seed.articles greater than zero and runs once the application is ready.
+ * It creates the given number of articles and locations and stores every article at warehouse.seed.stock-per-article
+ * locations with one stock movement per warehouse entry and the total quantity per article, the articles whose total
+ * is at or below order.quantity.limit are pending reorders. The articles reference the categories, currencies and
+ * statuses created by DevConfiguration.
+ * The rows are inserted with JDBC batches, the ids are reserved in one block per table from the table Id_Generator,
+ * so Hibernate continues after the seeded ids.
+ */
+@Component
+@Profile("dev")
+public class DevDataSeeder implements HasLogger {
+    static final String ARTICLE_PREFIX = "Seed article ";
+    private static final String ID_GENERATOR_TABLE = "id_generator";
+
+    private final Logger logger = getLogger();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final CurrencyRepository currencyRepository;
+    private final StatusRepository statusRepository;
+    private final ReorderService reorderService;
+
+    @Value("${warehouse.seed.articles:0}")
+    private int articles;
+
+    @Value("${warehouse.seed.locations:1000}")
+    private int locations;
+
+    @Value("${warehouse.seed.stock-per-article:2}")
+    private int stockPerArticle;
+
+    @Value("${warehouse.seed.batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * Custom constructor for the DevDataSeeder
+     * @param jdbcTemplate template for the batched inserts
+     * @param transactionManager commits every batch in its own transaction
+     * @param categoryRepository repository of the categories the articles are assigned to
+     * @param currencyRepository repository of the currencies the articles are assigned to
+     * @param statusRepository repository of the statuses the articles are assigned to
+     * @param reorderService decides which seeded totals are pending reorders
+     */
+    public DevDataSeeder(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         CategoryRepository categoryRepository, CurrencyRepository currencyRepository,
+                         StatusRepository statusRepository, ReorderService reorderService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoryRepository = categoryRepository;
+        this.currencyRepository = currencyRepository;
+        this.statusRepository = statusRepository;
+        this.reorderService = reorderService;
+    }
+
+    /**
+     * seeds the data set if it is enabled and the database does not contain it yet
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (articles <= 0) {
+            return;
+        }
+        if (isSeeded()) {
+            logger.info("synthetic data set already exists, seeding skipped");
+            return;
+        }
+        if (locations < stockPerArticle) {
+            throw new IllegalStateException("warehouse.seed.locations must be at least warehouse.seed.stock-per-article");
+        }
+        long start = System.currentTimeMillis();
+        long[] categoryIds = categoryRepository.findAll().stream().mapToLong(BaseEntity::getId).toArray();
+        long[] currencyIds = currencyRepository.findAll().stream().mapToLong(BaseEntity::getId).toArray();
+        long[] statusIds = statusRepository.findAll().stream().mapToLong(BaseEntity::getId).toArray();
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        long firstLocationId = reserveIds("location", locations);
+        insertInBatches("INSERT INTO location (id, version, created_timestamp, modified_timestamp, aisle, shelf, tray) " +
+                "VALUES (?, 1, ?, ?, ?, ?, ?)", locations, i -> new Object[]{
+                firstLocationId + i, timestamp, timestamp, "S" + i / 1000, i / 10 % 100 + 1, i % 10 + 1});
+
+        long firstArticleId = reserveIds("article", articles);
+        insertInBatches("INSERT INTO article (id, version, created_timestamp, modified_timestamp, description, amount, " +
+                "category_id, currency_id, status_id) VALUES (?, 1, ?, ?, ?, ?, ?, ?, ?)", articles, i -> new Object[]{
+                firstArticleId + i, timestamp, timestamp, articleDescription(i), 0.5 + i % 1000 / 2.0,
+                categoryIds[i % categoryIds.length], currencyIds[i % currencyIds.length], statusIds[i % statusIds.length]});
+
+        int stockRows = articles * stockPerArticle;
+        int locationStride = locations / stockPerArticle;
+        long firstWarehouseId = reserveIds("warehouse", stockRows);
+        insertInBatches("INSERT INTO warehouse (id, version, created_timestamp, modified_timestamp, quantity, " +
+                "article_id, location_id) VALUES (?, 1, ?, ?, ?, ?, ?)", stockRows, i -> {
+            int article = i / stockPerArticle;
+            int location = seededLocation(article, i % stockPerArticle, locationStride);
+            return new Object[]{firstWarehouseId + i, timestamp, timestamp, seededQuantity(article, location),
+                    firstArticleId + article, firstLocationId + location};
+        });
+
+        // the seeded quantities are the first movements of the stock ledger
+        LocalDateTime movedAt = LocalDateTime.now();
+        long firstMovementId = reserveIds("stock_movement", stockRows);
+        insertInBatches("INSERT INTO stock_movement (id, version, created_timestamp, modified_timestamp, article_id, " +
+                "location_id, delta, reason, moved_at) VALUES (?, 1, ?, ?, ?, ?, ?, ?, ?)", stockRows, i -> {
+            int article = i / stockPerArticle;
+            int location = seededLocation(article, i % stockPerArticle, locationStride);
+            return new Object[]{firstMovementId + i, timestamp, timestamp, firstArticleId + article,
+                    firstLocationId + location, seededQuantity(article, location), StockMovement.Reason.SEEDED.name(), movedAt};
+        });
+
+        long firstTotalId = reserveIds("article_stock", articles);
+        insertInBatches("INSERT INTO article_stock (id, version, created_timestamp, modified_timestamp, article_id, " +
+                "quantity) VALUES (?, 1, ?, ?, ?, ?)", articles, article -> new Object[]{
+                firstTotalId + article, timestamp, timestamp, firstArticleId + article, seededTotal(article, locationStride)});
+
+        // the low totals are pending reorders, as if their movements had crossed the order limit
+        List<Integer> lowArticles = new ArrayList<>();
+        for (int article = 0; article < articles; article++) {
+            if (reorderService.isBelowLimit(seededTotal(article, locationStride))) {
+                lowArticles.add(article);
+            }
+        }
+        long firstReorderId = reserveIds("pending_reorder", lowArticles.size());
+        insertInBatches("INSERT INTO pending_reorder (id, version, created_timestamp, modified_timestamp, article_id, " +
+                "detected_at) VALUES (?, 1, ?, ?, ?, ?)", lowArticles.size(), i -> new Object[]{
+                firstReorderId + i, timestamp, timestamp, firstArticleId + lowArticles.get(i), movedAt});
+
+        logger.info("seeded " + articles + " articles, " + locations + " locations and " + stockRows
+                + " warehouse entries in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * @return true if the first seeded article already exists
+     */
+    private boolean isSeeded() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article WHERE description = ?",
+                Integer.class, articleDescription(0));
+        return count != null && count > 0;
+    }
+
+    /**
+     * reserves a block of ids in the table Id_Generator which Hibernate uses for the entity table,
+     * creates the row of the table if Hibernate did not generate an id for it yet
+     * @param table the entity table
+     * @param count number of ids to reserve
+     * @return the first reserved id
+     */
+    private long reserveIds(String table, int count) {
+        Long next = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update("UPDATE " + ID_GENERATOR_TABLE + " SET " + TableGenerator.DEF_VALUE_COLUMN + " = "
+                    + TableGenerator.DEF_VALUE_COLUMN + " + ? WHERE " + TableGenerator.DEF_SEGMENT_COLUMN + " = ?", count, table) == 0) {
+                jdbcTemplate.update("INSERT INTO " + ID_GENERATOR_TABLE + " (" + TableGenerator.DEF_SEGMENT_COLUMN + ", "
+                        + TableGenerator.DEF_VALUE_COLUMN + ") VALUES (?, ?)", table, count + 1);
+            }
+            return jdbcTemplate.queryForObject("SELECT " + TableGenerator.DEF_VALUE_COLUMN + " FROM " + ID_GENERATOR_TABLE
+                    + " WHERE " + TableGenerator.DEF_SEGMENT_COLUMN + " = ?", Long.class, table);
+        });
+        // the id 0 is never used, it is the default value of a new entity
+        return Math.max(next - count, 1);
+    }
+
+    /**
+     * inserts the rows in batches, every batch is committed in its own transaction
+     * @param sql the insert statement
+     * @param rows number of rows
+     * @param row creates the values of the row with the given index
+     */
+    private void insertInBatches(String sql, int rows, RowValues row) {
+        for (int from = 0; from < rows; from += batchSize) {
+            int to = Math.min(from + batchSize, rows);
+            List<Object[]> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                batch.add(row.values(i));
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        }
+    }
+
+    private long seededTotal(int article, int locationStride) {
+        long total = 0;
+        for (int slot = 0; slot < stockPerArticle; slot++) {
+            total += seededQuantity(article, seededLocation(article, slot, locationStride));
+        }
+        return total;
+    }
+
+    private int seededLocation(int article, int slot, int locationStride) {
+        return (article + slot * locationStride) % locations;
+    }
+
+    private static int seededQuantity(int article, int location) {
+        return (article * 31 + location * 17) % 1000;
+    }
+
+    static String articleDescription(int article) {
+        return String.format("%s%07d", ARTICLE_PREFIX, article);
+    }
+
+    /**
+     * Creates the values of one row of a batch
+     */
+    @FunctionalInterface
+    private interface RowValues {
+        Object[] values(int index);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.warehousesystem.config;
+
+import com.example.warehousesystem.utils.HasLogger;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aligns the table Id_Generator with the ids which already exist, e.g. in a database whose ids were assigned by
+ * auto increment columns before the pooled table generator was introduced
+ *
+ * The alignment runs once the schema was created or updated and before the session factory is used, so no id block
+ * was handed out yet. The next value of every entity table is raised above its highest id, rounded up to the
+ * increment of the generator, the row of a table without one is created. Values which are already above the highest
+ * id are left as they are.
+ */
+@Component
+public class IdGeneratorAlignment implements HibernatePropertiesCustomizer, SessionFactoryObserver, HasLogger {
+    private final Logger logger = getLogger();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.SESSION_FACTORY_OBSERVER, this);
+    }
+
+    @Override
+    public void sessionFactoryCreated(SessionFactory factory) {
+        List<GeneratedTable> tables = new ArrayList<>();
+        ((SessionFactoryImplementor) factory).getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister instanceof AbstractEntityPersister entityPersister
+                    && entityPersister.getIdentifierGenerator() instanceof TableGenerator generator) {
+                tables.add(new GeneratedTable(entityPersister.getRootTableName(),
+                        entityPersister.getIdentifierColumnNames()[0], generator));
+            }
+        });
+        try (StatelessSession session = factory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.doWork(connection -> {
+                for (GeneratedTable table : tables) {
+                    align(connection, table);
+                }
+            });
+            transaction.commit();
+        }
+    }
+
+    /**
+     * raises the next value of the generator of the table above the highest id of the table
+     * @param connection connection of the transaction of the alignment
+     * @param table the entity table and its generator
+     * @throws SQLException if the table or the generator could not be read or written
+     */
+    private void align(Connection connection, GeneratedTable table) throws SQLException {
+        Long maxId = queryLong(connection, "SELECT MAX(" + table.idColumn() + ") FROM " + table.name());
+        if (maxId == null) {
+            return;
+        }
+        TableGenerator generator = table.generator();
+        long nextValue = (maxId / generator.getIncrementSize() + 1) * generator.getIncrementSize();
+        Long storedValue = queryLong(connection, "SELECT " + generator.getValueColumnName() + " FROM "
+                + generator.getTableName() + " WHERE " + generator.getSegmentColumnName() + " = ?", generator.getSegmentValue());
+        if (storedValue != null && storedValue > maxId) {
+            return;
+        }
+        String sql = storedValue == null
+                ? "INSERT INTO " + generator.getTableName() + " (" + generator.getValueColumnName() + ", "
+                        + generator.getSegmentColumnName() + ") VALUES (?, ?)"
+                : "UPDATE " + generator.getTableName() + " SET " + generator.getValueColumnName() + " = ? WHERE "
+                        + generator.getSegmentColumnName() + " = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, nextValue);
+            statement.setString(2, generator.getSegmentValue());
+            statement.executeUpdate();
+        }
+        logger.info("aligned the id generator of table " + table.name() + " to " + nextValue
+                + ", the highest existing id is " + maxId);
+    }
+
+    private static Long queryLong(Connection connection, String sql, String... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                long value = resultSet.getLong(1);
+                return resultSet.wasNull() ? null : value;
+            }
+        }
+    }
+
+    /**
+     * An entity table whose ids come from a table generator
+     * @param name physical name of the table
+     * @param idColumn physical name of the id column
+     * @param generator the generator of the ids
+     */
+    private record GeneratedTable(String name, String idColumn, TableGenerator generator) {
+    }
+}
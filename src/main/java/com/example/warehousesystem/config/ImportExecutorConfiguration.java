@@ -0,0 +1,35 @@
+package com.example.warehousesystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration of the executor which runs the csv imports outside the request threads
+ */
+@Configuration
+public class ImportExecutorConfiguration {
+
+    @Value("${csv.import.threads}")
+    private int threads;
+
+    @Value("${csv.import.queue.capacity}")
+    private int queueCapacity;
+
+    /**
+     * bounded executor for the csv imports, uploads are rejected when all threads are busy and the queue is full
+     * @return the executor for the csv imports
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("csv-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.warehousesystem.config;
+
+import com.example.warehousesystem.utils.HasLogger;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Checks at startup that every repository finder which looks up rows by a natural key or filters a table
+ * is backed by an index, so a missing index fails the startup instead of causing a full table scan per csv row
+ *
+ * The indexes are read from the JDBC metadata of the database, a lookup is backed if the leading columns of an index
+ * are exactly the columns of the lookup. The check runs before the other listeners of the ready event
+ * and can be disabled with warehouse.index-check.enabled=false.
+ * Every method which a repository declares is either a lookup or one of the UNFILTERED_FINDERS, SchemaIndexCheckTest
+ * fails for a new method which is in neither list.
+ */
+@Component
+public class SchemaIndexCheck implements HasLogger {
+
+    /**
+     * The lookups of the repository finders and the columns they filter by
+     */
+    static final List<IndexedLookup> LOOKUPS = List.of(
+            new IndexedLookup("ArticleRepository.findArticleByDescription", "article", "description"),
+            new IndexedLookup("ArticleRepository.findAllByDescriptionIn", "article", "description"),
+            new IndexedLookup("ArticleRepository.findPage(categoryId)", "article", "category_id", "id"),
+            new IndexedLookup("ArticleRepository.findPage(statusId)", "article", "status_id", "id"),
+            new IndexedLookup("BarcodeMappingRepository.findBarcodeMappingByEan", "barcode_mapping", "ean"),
+            new IndexedLookup("BarcodeMappingRepository.findAllByEanIn", "barcode_mapping", "ean"),
+            new IndexedLookup("BarcodeMappingRepository.findBarcodeMappingByEanAndDescription", "barcode_mapping", "ean", "description"),
+            new IndexedLookup("CategoryRepository.findCategoryByDescription", "category", "description"),
+            new IndexedLookup("CurrencyRepository.findCurrencyByCurrencyCodeAndCountry", "currency", "currency_code", "country"),
+            new IndexedLookup("LocationRepository.findLocationByAisleAndShelfAndTray", "location", "aisle", "shelf", "tray"),
+            new IndexedLookup("LocationRepository.findPage(aisle)", "location", "aisle", "id"),
+            new IndexedLookup("StatusRepository.findStatusByDescription", "status", "description"),
+            new IndexedLookup("WarehouseRepository.findWarehouseByArticleAndLocation", "warehouse", "article_id", "location_id"),
+            new IndexedLookup("WarehouseRepository.findAllByArticleIn", "warehouse", "article_id"),
+            new IndexedLookup("WarehouseRepository.findPage(aisle)", "warehouse", "location_id", "id"),
+            new IndexedLookup("WarehouseRepository.findPage(minQuantity)", "warehouse", "quantity", "id"),
+            new IndexedLookup("WarehouseRepository.findUnrecordedStock", "warehouse", "article_id", "location_id"),
+            new IndexedLookup("ArticleRepository.getAllArticlesWithLowQuantity", "article_stock", "quantity"),
+            new IndexedLookup("ArticleRepository.getPendingArticlesWithLowQuantity", "article_stock", "article_id"),
+            new IndexedLookup("ArticleStockRepository.findByArticleId", "article_stock", "article_id"),
+            new IndexedLookup("ArticleStockRepository.addToTotals", "article_stock", "article_id"),
+            new IndexedLookup("ArticleStockRepository.deleteByArticleId", "article_stock", "article_id"),
+            new IndexedLookup("PendingReorderRepository.findAllByArticleIdIn", "pending_reorder", "article_id"),
+            new IndexedLookup("PendingReorderRepository.deleteByArticleIdIn", "pending_reorder", "article_id"),
+            new IndexedLookup("StockMovementRepository.sumDeltas", "stock_movement", "article_id", "location_id", "moved_at"),
+            new IndexedLookup("StockMovementRepository.sumDeltasByArticleAndLocation", "stock_movement", "moved_at"),
+            new IndexedLookup("StockMovementRepository.findPage", "stock_movement", "article_id", "location_id"),
+            new IndexedLookup("StockSnapshotRepository.findFirstByArticleIdAndLocationIdAndTakenAtLessThanEqualOrderByTakenAtDesc",
+                    "stock_snapshot", "article_id", "location_id", "taken_at"),
+            new IndexedLookup("StockCompactionRepository.findLatestCompactedUntil", "stock_compaction", "compacted_until"),
+            new IndexedLookup("StockSnapshotRepository.findLatestByArticleIdIn", "stock_snapshot", "article_id"));
+
+    /**
+     * The repository methods which need no index of their own, because they read or write by primary key
+     * or read the whole table on purpose
+     */
+    static final Set<String> UNFILTERED_FINDERS = Set.of(
+            "ArticleRepository.findById", "ArticleRepository.deleteArticleById",
+            "WarehouseRepository.findById", "WarehouseRepository.adjustQuantity", "WarehouseRepository.deleteWarehousebyId",
+            "BarcodeMappingRepository.findByIdGreaterThanOrderByIdAsc", "CategoryRepository.findByIdGreaterThanOrderByIdAsc",
+            "CurrencyRepository.findByIdGreaterThanOrderByIdAsc", "StatusRepository.findByIdGreaterThanOrderByIdAsc",
+            "ArticleRepository.streamAllForExport", "BarcodeMappingRepository.streamAllForExport",
+            "CategoryRepository.streamAllForExport", "CurrencyRepository.streamAllForExport",
+            "LocationRepository.streamAllForExport", "LocationRepository.findAllIdsAndAislesAndShelvesAndTrays",
+            "StatusRepository.streamAllForExport",
+            "WarehouseRepository.streamAllForExport", "WarehouseRepository.sumQuantitiesByArticle");
+
+    private final Logger logger = getLogger();
+    private final DataSource dataSource;
+
+    @Value("${warehouse.index-check.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Custom constructor for the SchemaIndexCheck
+     * @param dataSource data source of the database which is checked
+     */
+    public SchemaIndexCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * checks the indexes of all lookups once the application is ready
+     * @throws IllegalStateException if a lookup is not backed by an index, the startup fails
+     * @throws SQLException if the metadata of the database could not be read
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndexes() throws SQLException {
+        if (!enabled) {
+            return;
+        }
+        List<IndexedLookup> unindexedLookups = findUnindexedLookups(LOOKUPS);
+        if (!unindexedLookups.isEmpty()) {
+            throw new IllegalStateException("The following lookups would scan the whole table, create the missing indexes: "
+                    + unindexedLookups);
+        }
+        logger.info("all " + LOOKUPS.size() + " lookups are backed by an index");
+    }
+
+    /**
+     * @param lookups the lookups to check
+     * @return the lookups whose columns are not the leading columns of any index
+     * @throws SQLException if the metadata of the database could not be read
+     */
+    List<IndexedLookup> findUnindexedLookups(List<IndexedLookup> lookups) throws SQLException {
+        List<IndexedLookup> unindexedLookups = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<List<String>>> indexesByTable = new HashMap<>();
+            for (IndexedLookup lookup : lookups) {
+                List<List<String>> indexes = indexesByTable.get(lookup.table());
+                if (indexes == null) {
+                    indexes = readIndexes(connection, metaData, lookup.table());
+                    indexesByTable.put(lookup.table(), indexes);
+                }
+                if (indexes.stream().noneMatch(lookup::isBackedBy)) {
+                    unindexedLookups.add(lookup);
+                }
+            }
+        }
+        return unindexedLookups;
+    }
+
+    /**
+     * @return the columns of every index of the table in the order of the index, in lower case
+     */
+    private List<List<String>> readIndexes(Connection connection, DatabaseMetaData metaData, String table) throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, TreeMap<Short, String>> columnsByIndex = new HashMap<>();
+        try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, true)) {
+            while (resultSet.next()) {
+                String indexName = resultSet.getString("INDEX_NAME");
+                String columnName = resultSet.getString("COLUMN_NAME");
+                if (indexName != null && columnName != null) {
+                    columnsByIndex.computeIfAbsent(indexName, name -> new TreeMap<>())
+                            .put(resultSet.getShort("ORDINAL_POSITION"), columnName.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return columnsByIndex.values().stream().map(columns -> List.copyOf(columns.values())).toList();
+    }
+
+    /**
+     * A lookup of a repository finder
+     * @param finder name of the finder
+     * @param table physical name of the table
+     * @param columns physical names of the columns the finder filters by, in lower case
+     */
+    record IndexedLookup(String finder, String table, List<String> columns) {
+
+        IndexedLookup(String finder, String table, String... columns) {
+            this(finder, table, List.of(columns));
+        }
+
+        /**
+         * @param indexColumns the columns of an index in the order of the index
+         * @return true if the leading columns of the index are the columns of this lookup
+         */
+        boolean isBackedBy(List<String> indexColumns) {
+            if (indexColumns.size() < columns.size()) {
+                return false;
+            }
+            Set<String> leadingColumns = new HashSet<>(indexColumns.subList(0, columns.size()));
+            return leadingColumns.equals(new HashSet<>(columns));
+        }
+
+        @Override
+        public String toString() {
+            return finder + " on " + table + columns;
+        }
+    }
+}
@@ -5,9 +5,11 @@ import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.ArticleService;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
@@ -35,13 +37,22 @@ public class ArticleController implements HasLogger {
     }
 
     /**
-     * GET endpoint to fetch all articles in the database
-     * @return a list of all articles
+     * GET endpoint to fetch one page of articles in the database ordered by id
+     * the cursor of the next page is returned in the X-Next-Cursor header if there are more entries
+     * @param after cursor of the previous page, omitted for the first page
+     * @param limit maximum number of entries of the page
+     * @param categoryId only articles of this category, optional
+     * @param statusId only articles with this status, optional
+     * @return a list of the articles of the page
      */
     @GetMapping
-    public List<Article> getAllArticles() {
-        logger.info("get all articles");
-        return  articleService.getAllArticles();
+    public ResponseEntity<List<Article>> getAllArticles(@RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit,
+                                                        @RequestParam(required = false) Long categoryId,
+                                                        @RequestParam(required = false) Long statusId)
+            throws InvalidFormatEntryException {
+        logger.info("get articles after cursor " + after);
+        return KeysetPagination.toResponse(articleService.getArticlePage(after, limit, categoryId, statusId));
     }
 
     /**
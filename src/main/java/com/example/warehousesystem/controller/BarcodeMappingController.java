@@ -1,14 +1,17 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.dto.ScanResult;
 import com.example.warehousesystem.entities.*;
 import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.*;
 import com.example.warehousesystem.utils.BarcodeHelper;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
@@ -31,6 +34,7 @@ public class BarcodeMappingController implements HasLogger {
     private final CurrencyService currencyService;
     private final StatusService statusService;
     private final CategoryService categoryService;
+    private final BarcodeScanService barcodeScanService;
 
     /**
      * Custom constructor for the Barcode Mapping Controller
@@ -40,24 +44,31 @@ public class BarcodeMappingController implements HasLogger {
      * @param currencyService currency service of the currency entity
      * @param statusService status service of the status entity
      * @param categoryService category service of the category entity
+     * @param barcodeScanService service for batches of barcode scans
      */
-    public BarcodeMappingController(BarcodeMappingService barcodeMappingService, ArticleService articleService,CurrencyService currencyService,StatusService statusService,CategoryService categoryService) {
+    public BarcodeMappingController(BarcodeMappingService barcodeMappingService, ArticleService articleService,CurrencyService currencyService,StatusService statusService,CategoryService categoryService,
+                                    BarcodeScanService barcodeScanService) {
         this.barcodeMappingService=barcodeMappingService;
         this.articleService = articleService;
         this.categoryService = categoryService;
         this.currencyService = currencyService;
         this.statusService = statusService;
-
+        this.barcodeScanService = barcodeScanService;
     }
 
     /**
-     * GET endpoint to fetch all barcode mappings in the database
-     * @return a list of all barcode mappings
+     * GET endpoint to fetch one page of barcode mappings in the database ordered by id
+     * the cursor of the next page is returned in the X-Next-Cursor header if there are more entries
+     * @param after cursor of the previous page, omitted for the first page
+     * @param limit maximum number of entries of the page
+     * @return a list of the barcode mappings of the page
      */
     @GetMapping
-    public List<BarcodeMapping> getAllBarcodeMappingEntries(){
-        logger.info("get all barcode mappings");
-        return barcodeMappingService.getAllBarcodeMappings();
+    public ResponseEntity<List<BarcodeMapping>> getAllBarcodeMappingEntries(@RequestParam(required = false) String after,
+                                                                            @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit)
+            throws InvalidFormatEntryException {
+        logger.info("get barcode mappings after cursor " + after);
+        return KeysetPagination.toResponse(barcodeMappingService.getBarcodeMappingPage(after, limit));
     }
 
     /**
@@ -98,6 +109,19 @@ public class BarcodeMappingController implements HasLogger {
        logger.info("Article with id "+insertedArticle.getId() +" successfully created!");
    }
 
+    /**
+     * POST endpoint to create the articles of a batch of scanned barcodes in one transaction,
+     * e.g. the scans a scanner buffered while it was offline
+     * @param barcodeHelpers the barcode objects in the order they were scanned
+     * @return one result per distinct ean with the outcome, the id of the article and the number of scans
+     * @throws InvalidFormatEntryException if the batch is empty or contains too many scans
+     */
+    @PostMapping("/scan/batch")
+    public List<ScanResult> scanNewArticles(@RequestBody List<BarcodeHelper> barcodeHelpers) throws InvalidFormatEntryException {
+        logger.info("scanning batch of " + barcodeHelpers.size() + " barcodes...");
+        return barcodeScanService.scanArticles(barcodeHelpers.stream().map(BarcodeHelper::getBarcodeNumber).toList());
+    }
+
     /**
      * POST endpoint to create a new barcode mapping in the database
      * @param barcodeMapping the barcode mapping object to be created
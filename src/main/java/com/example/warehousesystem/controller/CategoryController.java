@@ -1,12 +1,15 @@
 package com.example.warehousesystem.controller;
 
 import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.CategoryService;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
@@ -35,13 +38,18 @@ public class CategoryController implements HasLogger{
     }
 
     /**
-     * GET endpoint to fetch all categories in the database
-     * @return a list of all categories
+     * GET endpoint to fetch one page of categories in the database ordered by id
+     * the cursor of the next page is returned in the X-Next-Cursor header if there are more entries
+     * @param after cursor of the previous page, omitted for the first page
+     * @param limit maximum number of entries of the page
+     * @return a list of the categories of the page
      */
     @GetMapping
-    public List<Category> getAllCategoryEntries(){
-        logger.info("get all categories");
-        return categoryService.getAllCategories();
+    public ResponseEntity<List<Category>> getAllCategoryEntries(@RequestParam(required = false) String after,
+                                                                @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit)
+            throws InvalidFormatEntryException {
+        logger.info("get categories after cursor " + after);
+        return KeysetPagination.toResponse(categoryService.getCategoryPage(after, limit));
     }
 
     /**
@@ -2,13 +2,16 @@ package com.example.warehousesystem.controller;
 
 
 import com.example.warehousesystem.entities.Currency;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.CSVImportService;
 import com.example.warehousesystem.service.CurrencyService;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
@@ -41,13 +44,18 @@ public class CurrencyController implements HasLogger {
     }
 
     /**
-     * GET endpoint to fetch all currencies in the database
-     * @return a list of all currencies
+     * GET endpoint to fetch one page of currencies in the database ordered by id
+     * the cursor of the next page is returned in the X-Next-Cursor header if there are more entries
+     * @param after cursor of the previous page, omitted for the first page
+     * @param limit maximum number of entries of the page
+     * @return a list of the currencies of the page
      */
     @GetMapping
-    public List<Currency> getAllCurrencies() {
-        logger.info("returns all currencies");
-        return this.currencyService.getAllCurrencies();
+    public ResponseEntity<List<Currency>> getAllCurrencies(@RequestParam(required = false) String after,
+                                                           @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit)
+            throws InvalidFormatEntryException {
+        logger.info("returns currencies after cursor " + after);
+        return KeysetPagination.toResponse(currencyService.getCurrencyPage(after, limit));
     }
 
     /**
@@ -0,0 +1,66 @@
+package com.example.warehousesystem.controller;
+
+import com.example.warehousesystem.service.ImportJob;
+import com.example.warehousesystem.service.ImportJobService;
+import com.example.warehousesystem.utils.HasLogger;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controller class that provides endpoints to poll the progress of csv imports
+ * which were started by uploading a file to /v1/warehouses/upload
+ */
+@RestController
+@RequestMapping("/v1/imports")
+public class ImportJobController implements HasLogger {
+    private final Logger logger = getLogger();
+    private final ImportJobService importJobService;
+
+    /**
+     * Custom constructor for the import job controller
+     * @param importJobService service which runs the csv imports
+     */
+    public ImportJobController(ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    /**
+     * GET endpoint to fetch all import jobs
+     * @return a list of all import jobs
+     */
+    @GetMapping
+    public List<ImportJob> getAllImportJobs() {
+        logger.info("get all import jobs");
+        return importJobService.getAllJobs();
+    }
+
+    /**
+     * GET endpoint to fetch the progress of a specific import job
+     * @param id the id of the import job
+     * @return the import job with rows processed, rows per second, rows rejected and the estimated remaining time
+     */
+    @GetMapping("/{id}")
+    public ImportJob getImportJobById(@PathVariable String id) {
+        logger.info("get import job with id " + id);
+        return importJobService.getJob(id);
+    }
+
+    /**
+     * GET endpoint to fetch a csv-file with the rows a finished tolerant import rejected,
+     * every row contains the line number, the column and the reason followed by the original values
+     * @param id the id of the import job
+     * @param servletResponse encloses the csv-file in the response
+     */
+    @GetMapping("/{id}/rejects")
+    public void getRejectsAsCsv(@PathVariable String id, HttpServletResponse servletResponse) throws IOException {
+        logger.info("get csv with rejected rows of import job with id " + id);
+        importJobService.getRejectsCsv(id, servletResponse);
+    }
+}
@@ -2,12 +2,15 @@ package com.example.warehousesystem.controller;
 
 
 import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.LocationService;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
@@ -36,13 +39,20 @@ public class LocationController implements HasLogger {
     }
 
     /**
-     * GET endpoint to fetch all locations in the database
-     * @return a list of all locations
+     * GET endpoint to fetch one page of locations in the database ordered by id
+     * the cursor of the next page is returned in the X-Next-Cursor header if there are more entries
+     * @param after cursor of the previous page, omitted for the first page
+     * @param limit maximum number of entries of the page
+     * @param aisle only locations in this aisle, optional
+     * @return a list of the locations of the page
      */
     @GetMapping
-    public List<Location> getAllLocations() {
-        logger.info("returns all locations");
-        return this.locationService.getAllLocations();
+    public ResponseEntity<List<Location>> getAllLocations(@RequestParam(required = false) String after,
+                                                          @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit,
+                                                          @RequestParam(required = false) String aisle)
+            throws InvalidFormatEntryException {
+        logger.info("returns locations after cursor " + after);
+        return KeysetPagination.toResponse(locationService.getLocationPage(after, limit, aisle));
     }
 
     /**
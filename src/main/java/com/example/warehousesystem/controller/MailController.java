@@ -1,7 +1,9 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.entities.Article;
 import com.example.warehousesystem.exceptions.NoArticlesFoundForOrderException;
 import com.example.warehousesystem.service.MailService;
+import com.example.warehousesystem.service.ReorderService;
 import com.example.warehousesystem.utils.HasLogger;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,9 +25,8 @@ public class MailController implements HasLogger {
 
     private final Logger logger = getLogger();
     private final MailService mailService;
+    private final ReorderService reorderService;
 
-    @Value("${order.quantity.limit}")
-    private int quantityLimit;
     @Value("${order.customer.name}")
     private String customerName;
     @Value("${order.customer.email}")
@@ -33,19 +35,23 @@ public class MailController implements HasLogger {
     /**
      * Constructor for MailController
      * @param mailService mail service to be used
+     * @param reorderService service of the articles which have to be reordered
      */
-    public MailController(MailService mailService){
+    public MailController(MailService mailService, ReorderService reorderService){
         this.mailService = mailService;
+        this.reorderService = reorderService;
     }
 
     /**
-     * Sends mail with a message and with an attachment
+     * Sends mail with a message and with an attachment for the pending reorders,
+     * the articles stay pending if the mail could not be sent
      * @throws IOException file related exceptions
-     * @throws NoArticlesFoundForOrderException if no article is found for with the low quantity limit
+     * @throws NoArticlesFoundForOrderException if no pending article is found with the low quantity limit
      */
     @GetMapping
     public void sendMail() throws IOException, NoArticlesFoundForOrderException {
-        Map<String,String> articleMap = mailService.prepareArticlesForCsvOrder(quantityLimit);
+        List<Article> articles = reorderService.getArticlesToOrder();
+        Map<String,String> articleMap = mailService.prepareArticlesForCsvOrder(articles);
         mailService.createCsvOrderForMail(articleMap);
         if (articleMap.size() > 1) {
             logger.info("sending mail to "+ email);
@@ -53,6 +59,7 @@ public class MailController implements HasLogger {
                     "Damen und Herren"+"\n\n"+"Im Anhang finden Sie unsere Bestellung für jeweils 100 Stk."+"\n\n"+
                     "Vielen Dank und freundliche Grüsse"+
                     "\n"+customerName,mailService.createCsvOrderForMail(articleMap));
+            reorderService.completeReorders(articles);
         }
     }
 }
@@ -0,0 +1,54 @@
+package com.example.warehousesystem.controller;
+
+import com.example.warehousesystem.dto.CacheRegionStatistics;
+import com.example.warehousesystem.dto.MethodRetryStatistics;
+import com.example.warehousesystem.service.CacheStatisticsService;
+import com.example.warehousesystem.service.RetryStatisticsService;
+import com.example.warehousesystem.utils.HasLogger;
+import org.slf4j.Logger;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller class that provides endpoints with runtime statistics of the application
+ */
+@RestController
+@RequestMapping("/v1/statistics")
+public class StatisticsController implements HasLogger {
+    private final Logger logger = getLogger();
+    private final CacheStatisticsService cacheStatisticsService;
+    private final RetryStatisticsService retryStatisticsService;
+
+    /**
+     * Custom constructor for the statistics controller
+     * @param cacheStatisticsService service which reads the statistics of the second level cache
+     * @param retryStatisticsService service which counts the retries of the service methods after optimistic lock failures
+     */
+    public StatisticsController(CacheStatisticsService cacheStatisticsService, RetryStatisticsService retryStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.retryStatisticsService = retryStatisticsService;
+    }
+
+    /**
+     * GET endpoint to fetch the hit, miss and put counts of the second level cache
+     * @return the statistics of every cache region since the application was started
+     */
+    @GetMapping("/cache")
+    public List<CacheRegionStatistics> getCacheStatistics() {
+        logger.info("get second level cache statistics");
+        return cacheStatisticsService.getCacheRegionStatistics();
+    }
+
+    /**
+     * GET endpoint to fetch how often the service methods were retried after optimistic lock failures
+     * @return the calls, retries, recovered and exhausted calls of every retried method since the application was started
+     */
+    @GetMapping("/retries")
+    public List<MethodRetryStatistics> getRetryStatistics() {
+        logger.info("get optimistic lock retry statistics");
+        return retryStatisticsService.getRetryStatistics();
+    }
+}
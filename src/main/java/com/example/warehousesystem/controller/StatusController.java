@@ -1,12 +1,15 @@
 package com.example.warehousesystem.controller;
 
 import com.example.warehousesystem.entities.Status;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.StatusService;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
@@ -33,13 +36,18 @@ public class StatusController implements HasLogger {
         this.statusService = statusService;
     }
     /**
-     * GET endpoint to fetch all statuses in the database
-     * @return a list of all statuses
+     * GET endpoint to fetch one page of statuses in the database ordered by id
+     * the cursor of the next page is returned in the X-Next-Cursor header if there are more entries
+     * @param after cursor of the previous page, omitted for the first page
+     * @param limit maximum number of entries of the page
+     * @return a list of the statuses of the page
      */
     @GetMapping
-    public List<Status> getAllStatusEntries() {
-        logger.info("returns all categories");
-        return statusService.getAllStatus();
+    public ResponseEntity<List<Status>> getAllStatusEntries(@RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit)
+            throws InvalidFormatEntryException {
+        logger.info("returns statuses after cursor " + after);
+        return KeysetPagination.toResponse(statusService.getStatusPage(after, limit));
     }
     /**
      * GET endpoint to fetch a specific status by ID in the database
@@ -0,0 +1,69 @@
+package com.example.warehousesystem.controller;
+
+import com.example.warehousesystem.dto.StockLevel;
+import com.example.warehousesystem.entities.StockMovement;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import com.example.warehousesystem.service.StockLedgerService;
+import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
+import org.slf4j.Logger;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Controller class that provides endpoints for the history of the stock of an article at a location
+ */
+@RestController
+@RequestMapping("/v1/stockmovements")
+public class StockMovementController implements HasLogger {
+    private final Logger logger = getLogger();
+    private final StockLedgerService stockLedgerService;
+
+    /**
+     * Custom constructor for the stock movement controller
+     * @param stockLedgerService service for the ledger of the stock movements
+     */
+    public StockMovementController(StockLedgerService stockLedgerService) {
+        this.stockLedgerService = stockLedgerService;
+    }
+
+    /**
+     * GET endpoint to fetch one page of the movements of an article at a location ordered by id
+     * the cursor of the next page is returned in the X-Next-Cursor header if there are more movements
+     * @param articleId id of the article
+     * @param locationId id of the location
+     * @param after cursor of the previous page, omitted for the first page
+     * @param limit maximum number of movements of the page
+     * @return a list of the movements of the page
+     */
+    @GetMapping
+    public ResponseEntity<List<StockMovement>> getStockMovements(@RequestParam long articleId,
+                                                                 @RequestParam long locationId,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit)
+            throws InvalidFormatEntryException {
+        logger.info("get stock movements of article " + articleId + " at location " + locationId + " after cursor " + after);
+        return KeysetPagination.toResponse(stockLedgerService.getMovementPage(articleId, locationId, after, limit));
+    }
+
+    /**
+     * GET endpoint to fetch the quantity of an article at a location at a point in time
+     * @param articleId id of the article
+     * @param locationId id of the location
+     * @param at the point in time in ISO format, e.g. 2023-01-31T12:00:00, omitted for now
+     * @return the quantity at that time
+     */
+    @GetMapping("/stock")
+    public StockLevel getStockAt(@RequestParam long articleId, @RequestParam long locationId,
+                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        logger.info("get stock of article " + articleId + " at location " + locationId + " at " + at);
+        return stockLedgerService.getStockAt(articleId, locationId, at == null ? LocalDateTime.now() : at);
+    }
+}
@@ -1,19 +1,26 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.dto.StockAdjustment;
 import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InsufficientStockException;
 import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
-import com.example.warehousesystem.service.CSVImportService;
+import com.example.warehousesystem.service.ImportJob;
+import com.example.warehousesystem.service.ImportJobService;
 import com.example.warehousesystem.service.WarehouseService;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 import static com.example.warehousesystem.utils.CsvCreator.hasCSVFormat;
@@ -29,27 +36,42 @@ import static com.example.warehousesystem.utils.CsvCreator.hasCSVFormat;
 public class WarehouseController implements HasLogger {
     private final Logger logger = getLogger();
     private final WarehouseService warehouseService;
-    private final CSVImportService csvImportService;
+    private final ImportJobService importJobService;
 
     /**
      * Custom constructor for the warehouse controller
      * @param warehouseService service for the warehouse controller
-     * @param csvImportService service for the csv upload
+     * @param importJobService service which runs the csv uploads in the background
      */
-    public WarehouseController(WarehouseService warehouseService, CSVImportService csvImportService) {
+    public WarehouseController(WarehouseService warehouseService, ImportJobService importJobService) {
         this.warehouseService = warehouseService;
-        this.csvImportService = csvImportService;
+        this.importJobService = importJobService;
     }
 
     /**
-     * GET endpoint to fetch all warehouses entries in the database
-     * @return a list of all warehouses
+     * GET endpoint to fetch one page of warehouse entries in the database ordered by id
+     * the cursor of the next page is returned in the X-Next-Cursor header if there are more entries
+     * @param after cursor of the previous page, omitted for the first page
+     * @param limit maximum number of entries of the page
+     * @param categoryId only entries with articles of this category, optional
+     * @param statusId only entries with articles with this status, optional
+     * @param aisle only entries in this aisle, optional
+     * @param minQuantity only entries with at least this quantity, optional
+     * @param maxQuantity only entries with at most this quantity, optional
+     * @return a list of the warehouse entries of the page
      */
     @GetMapping
-    public List<Warehouse> getAllWarehouses() {
-
-        logger.info("get all warehouse entries");
-        return warehouseService.getAllWarehouses();
+    public ResponseEntity<List<Warehouse>> getAllWarehouses(@RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit,
+                                                            @RequestParam(required = false) Long categoryId,
+                                                            @RequestParam(required = false) Long statusId,
+                                                            @RequestParam(required = false) String aisle,
+                                                            @RequestParam(required = false) Integer minQuantity,
+                                                            @RequestParam(required = false) Integer maxQuantity)
+            throws InvalidFormatEntryException {
+        logger.info("get warehouse entries after cursor " + after);
+        return KeysetPagination.toResponse(
+                warehouseService.getWarehousePage(after, limit, categoryId, statusId, aisle, minQuantity, maxQuantity));
     }
 
     /**
@@ -85,6 +107,21 @@ public class WarehouseController implements HasLogger {
         logger.info("warehouse entry with id: " + id + " updated!");
     }
 
+    /**
+     * POST endpoint to add or remove pieces of a specific warehouse by ID without overwriting the quantity,
+     * concurrent adjustments of the same warehouse do not lose updates
+     * @param id the id of the warehouse that is to be adjusted
+     * @param adjustment the signed number of pieces in JSON, e.g. {"delta": -3}
+     * @throws if the delta is zero or if the warehouse has not enough pieces in stock
+     * @return the warehouse with the adjusted quantity
+     */
+    @PostMapping("/{id}/adjust")
+    public Warehouse adjustWarehouseById(@PathVariable long id, @RequestBody StockAdjustment adjustment)
+            throws InvalidFormatEntryException, InsufficientStockException {
+        logger.info("adjusting quantity of warehouse entry with id: " + id + " by " + adjustment.delta());
+        return warehouseService.adjustQuantity(id, adjustment.delta());
+    }
+
     /**
      * POST endpoint to create a new warehouse in the database
      * @param warehouse the warehouse in JSON to be created
@@ -102,18 +139,27 @@ public class WarehouseController implements HasLogger {
 
     /**
      * POST endpoint to upload a csv file to add or modify the whole warehouse with all it's dependencies
+     * the import runs in the background, its progress can be polled at the returned location
      * @param file the file from the request to this endpoint
+     * @param tolerant if true, invalid rows are collected in a rejects file instead of aborting the import
+     * @return 202 ACCEPTED with the import job, 503 SERVICE UNAVAILABLE if too many imports are queued
      */
     @PostMapping("/upload")
-    public ResponseEntity<String> uploadFile(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<Object> uploadFile(@RequestParam("file") MultipartFile file,
+                                             @RequestParam(value = "tolerant", defaultValue = "false") boolean tolerant) {
         String message;
 
         if (hasCSVFormat(file)) {
             try {
-                csvImportService.saveAllEntitiesToDBFromCSV(file);
-
-                message = "Uploaded the file successfully: " + file.getOriginalFilename();
-                return ResponseEntity.status(HttpStatus.OK).body(message);
+                ImportJob job = importJobService.submit(file, tolerant);
+
+                URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/v1/imports/{id}").buildAndExpand(job.getId()).toUri();
+                return ResponseEntity.accepted().location(location).body(job);
+            } catch (TaskRejectedException e) {
+                logger.warn("import of file " + file.getOriginalFilename() + " rejected, too many imports queued");
+                message = "Too many imports are running, please try again later: " + file.getOriginalFilename();
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(message);
             } catch (Exception e) {
                 message = "Could not upload the file: " + file.getOriginalFilename() + "!";
                 return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).body(message);
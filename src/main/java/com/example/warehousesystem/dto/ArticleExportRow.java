@@ -0,0 +1,13 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * One row of the article csv export, selected with a constructor expression
+ * @param id id of the article
+ * @param description description of the article
+ * @param category description of the category of the article
+ * @param amount value of the article
+ * @param currencyCode currency code of the article
+ * @param status description of the status of the article
+ */
+public record ArticleExportRow(long id, String description, String category, double amount, String currencyCode, String status) {
+}
@@ -0,0 +1,10 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * One row of the barcode mapping csv export, selected with a constructor expression
+ * @param id id of the barcode mapping
+ * @param ean ean of the article
+ * @param description description of the article
+ */
+public record BarcodeMappingExportRow(long id, String ean, String description) {
+}
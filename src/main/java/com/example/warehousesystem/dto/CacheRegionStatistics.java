@@ -0,0 +1,24 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * Hit, miss and put counts of one region of the second level cache since the application was started
+ * @param region name of the region as configured in application.conf
+ * @param hits number of lookups which were answered by the region
+ * @param misses number of lookups which had to read the database
+ * @param puts number of entries which were stored in the region
+ * @param hitRatio share of the lookups which were answered by the region, 0 if there were no lookups
+ */
+public record CacheRegionStatistics(String region, long hits, long misses, long puts, double hitRatio) {
+
+    /**
+     * @param region name of the region
+     * @param hits number of lookups which were answered by the region
+     * @param misses number of lookups which had to read the database
+     * @param puts number of entries which were stored in the region
+     * @return the statistics of the region with the hit ratio calculated from the hits and misses
+     */
+    public static CacheRegionStatistics of(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        return new CacheRegionStatistics(region, hits, misses, puts, lookups == 0 ? 0 : (double) hits / lookups);
+    }
+}
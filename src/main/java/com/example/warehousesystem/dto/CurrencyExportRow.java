@@ -0,0 +1,10 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * One row of the currency csv export, selected with a constructor expression
+ * @param id id of the currency
+ * @param currencyCode three character currency code
+ * @param country country of the currency
+ */
+public record CurrencyExportRow(long id, String currencyCode, String country) {
+}
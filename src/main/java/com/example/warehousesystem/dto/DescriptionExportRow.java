@@ -0,0 +1,9 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * One row of the category or status csv export, selected with a constructor expression
+ * @param id id of the category or status
+ * @param description description of the category or status
+ */
+public record DescriptionExportRow(long id, String description) {
+}
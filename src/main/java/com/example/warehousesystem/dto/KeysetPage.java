@@ -0,0 +1,12 @@
+package com.example.warehousesystem.dto;
+
+import java.util.List;
+
+/**
+ * One page of a list endpoint with keyset pagination
+ * @param items the entries of the page ordered by id
+ * @param nextCursor opaque cursor of the next page, null if this is the last page
+ * @param <T> type of the entries
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+}
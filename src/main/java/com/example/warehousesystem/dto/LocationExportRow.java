@@ -0,0 +1,11 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * One row of the location csv export, selected with a constructor expression
+ * @param id id of the location
+ * @param aisle aisle of the location
+ * @param shelf shelf of the location
+ * @param tray tray of the location
+ */
+public record LocationExportRow(long id, String aisle, int shelf, int tray) {
+}
@@ -0,0 +1,12 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * Retry counts of one service method annotated with RetryOnOptimisticLock since the application was started
+ * @param method name of the method with its class, e.g. WarehouseService.modifyWarehouseById
+ * @param invocations number of calls of the method
+ * @param retries number of attempts after an optimistic lock failure
+ * @param recovered number of calls which succeeded after at least one retry
+ * @param exhausted number of calls which failed after the last attempt
+ */
+public record MethodRetryStatistics(String method, long invocations, long retries, long recovered, long exhausted) {
+}
@@ -0,0 +1,18 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * Result of the scans of one ean in a batch of barcode scans
+ * @param ean the scanned ean
+ * @param outcome whether the article of the ean was created, already existed or the ean is unknown
+ * @param articleId id of the article of the ean, null if the ean has no barcode mapping
+ * @param scans number of times the ean was scanned in the batch
+ */
+public record ScanResult(String ean, Outcome outcome, Long articleId, int scans) {
+
+    /**
+     * Outcome of the scans of one ean
+     */
+    public enum Outcome {
+        CREATED, EXISTS, NOT_FOUND
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * Request body of a stock adjustment of a warehouse entry
+ * @param delta number of pieces which are added to the quantity, negative to remove pieces
+ */
+public record StockAdjustment(int delta) {
+}
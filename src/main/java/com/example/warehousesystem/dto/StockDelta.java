@@ -0,0 +1,10 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * Sum of the stock movements of one article at one location within a period
+ * @param articleId id of the article
+ * @param locationId id of the location
+ * @param delta sum of the deltas of the movements
+ */
+public record StockDelta(long articleId, long locationId, long delta) {
+}
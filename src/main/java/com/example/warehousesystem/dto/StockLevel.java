@@ -0,0 +1,14 @@
+package com.example.warehousesystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Quantity of an article at a location at a point in time
+ * @param articleId id of the article
+ * @param locationId id of the location
+ * @param at the point in time
+ * @param quantity quantity at that time, 0 if there was no stock
+ * @param replayedFrom time of the snapshot the quantity was calculated from, null if all movements were replayed
+ */
+public record StockLevel(long articleId, long locationId, LocalDateTime at, long quantity, LocalDateTime replayedFrom) {
+}
@@ -0,0 +1,11 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * Change of the total quantity of one article by the movements of one transaction
+ * @param articleId id of the article
+ * @param delta sum of the deltas of the movements which were added to the total
+ * @param quantity total quantity of the article after the delta was added
+ * @param created true if the total was created with the delta as its quantity, because the article had none yet
+ */
+public record TotalChange(long articleId, long delta, long quantity, boolean created) {
+}
@@ -0,0 +1,19 @@
+package com.example.warehousesystem.dto;
+
+/**
+ * One row of the warehouse csv export, selected with a constructor expression
+ * @param id id of the warehouse entry
+ * @param quantity quantity of the article at the location
+ * @param article description of the article
+ * @param category description of the category of the article
+ * @param amount value of the article
+ * @param currencyCode currency code of the article
+ * @param country country of the currency
+ * @param status description of the status of the article
+ * @param aisle aisle of the location
+ * @param shelf shelf of the location
+ * @param tray tray of the location
+ */
+public record WarehouseExportRow(long id, int quantity, String article, String category, double amount,
+                                 String currencyCode, String country, String status, String aisle, int shelf, int tray) {
+}
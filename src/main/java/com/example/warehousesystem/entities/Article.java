@@ -3,6 +3,7 @@ package com.example.warehousesystem.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
@@ -15,14 +16,26 @@ import java.util.List;
  *
  * Articles with their description, category, currency, status
  * and amount are stored in this entity
+ *
+ * The warehouse entries of an article are loaded lazily, queries which return articles to the client
+ * use the entity graph Article.referenceData to load category, currency and status in the same statement.
+ * Category and status are indexed together with the id for the filters of the list endpoint.
  */
 
 @NoArgsConstructor
 @Data
 @ToString
-@Table(name = "Article")
+@NamedEntityGraph(name = Article.REFERENCE_DATA_GRAPH, attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("currency"),
+        @NamedAttributeNode("status")
+})
+@Table(name = "Article", indexes = {@Index(name = "I_A_C_ID", columnList = "category_id, id"),
+        @Index(name = "I_A_S_ID", columnList = "status_id, id")})
 @Entity(name = "Article")
 public class Article extends BaseEntity{
+    public static final String REFERENCE_DATA_GRAPH = "Article.referenceData";
+
     @Column(
             name="Description",
             unique = true,
@@ -43,7 +56,9 @@ public class Article extends BaseEntity{
     private Status status;
 
     @JsonIgnore
-    @OneToMany(cascade = CascadeType.ALL,fetch = FetchType.EAGER,targetEntity = Warehouse.class,orphanRemoval = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(cascade = CascadeType.ALL,fetch = FetchType.LAZY,targetEntity = Warehouse.class,orphanRemoval = true)
     @JoinColumn(name = "Article_ID",referencedColumnName = "id")
     private List<Warehouse> warehouses = new ArrayList<>();
 
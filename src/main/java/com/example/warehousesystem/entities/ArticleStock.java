@@ -0,0 +1,41 @@
+package com.example.warehousesystem.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * This is the entity class for the article stock entity
+ *
+ * The total quantity of an article over all its locations, maintained incrementally by the StockLedgerService with
+ * every stock movement. The deltas are added with conditional updates right before the commit of a transaction,
+ * the total of a new article is inserted with its first delta in the same transaction.
+ * The quantity is indexed, so the low quantity query is a range scan over the totals instead of a join over all
+ * warehouse entries. The article is stored as a plain id, the total is deleted with the article.
+ */
+@NoArgsConstructor
+@Data
+@ToString
+@Table(name = "Article_Stock", uniqueConstraints = @UniqueConstraint(name = "U_AS_A", columnNames = "article_id"),
+        indexes = @Index(name = "I_AS_Q", columnList = "quantity"))
+@Entity(name = "ArticleStock")
+public class ArticleStock extends BaseEntity {
+
+    @Column(name = "Article_Id", nullable = false, updatable = false)
+    private long articleId;
+
+    @Column(name = "Quantity", nullable = false)
+    private long quantity;
+
+    /**
+     * Custom constructor for the article stock entity
+     * @param articleId id of the article
+     * @param quantity total quantity of the article over all locations
+     */
+    public ArticleStock(long articleId, long quantity) {
+        super();
+        this.articleId = articleId;
+        this.quantity = quantity;
+    }
+}
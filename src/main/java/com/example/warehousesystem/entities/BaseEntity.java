@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,6 +22,9 @@ import java.util.Date;
  * Base entity class for common fields in all entities
  *
  * Stores the id, version, created and modified timestamp for all entities
+ *
+ * The ids are allocated in blocks from the table Id_Generator (one row per entity table) instead of an identity column,
+ * so Hibernate can batch the inserts. This works the same way on H2 and MySQL.
  */
 
 @NoArgsConstructor
@@ -31,15 +36,24 @@ import java.util.Date;
 public abstract class BaseEntity {
     @Id
     @GeneratedValue(
-            strategy = GenerationType.IDENTITY
-
+            strategy = GenerationType.TABLE,
+            generator = "id_generator"
+    )
+    @GenericGenerator(
+            name = "id_generator",
+            strategy = "org.hibernate.id.enhanced.TableGenerator",
+            parameters = {
+                    @Parameter(name = "table_name", value = "Id_Generator"),
+                    @Parameter(name = "prefer_entity_table_as_segment_value", value = "true"),
+                    @Parameter(name = "increment_size", value = "50"),
+                    @Parameter(name = "optimizer", value = "pooled-lo")
+            }
     )
     @Column (
             name="Id",
             updatable = false,
             nullable = false,
-            unique = true,
-            insertable = false
+            unique = true
     )
     protected long id;
     @Version
@@ -3,9 +3,12 @@ package com.example.warehousesystem.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.NaturalId;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,6 +16,9 @@ import java.util.List;
  * This is the entity class for the category entity
  *
  * Categories with their description e.g. "shoes" are stored in this entity
+ *
+ * Categories are not kept in the second level cache, the services, the scan path and the csv import read them
+ * from the ReferenceDataCache
  */
 
 @NoArgsConstructor
@@ -21,6 +27,7 @@ import java.util.List;
 @Table(name = "Category")
 @Entity(name = "Category")
 public class Category extends BaseEntity{
+    @NaturalId(mutable = true)
     @Column(
             name="Description",
             nullable = false,
@@ -29,8 +36,10 @@ public class Category extends BaseEntity{
     private String description;
 
     @JsonIgnore
-    @OneToMany(mappedBy = "category",cascade = CascadeType.ALL,fetch = FetchType.EAGER,targetEntity = Article.class,orphanRemoval = true)
-    private List<Article> articles;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(mappedBy = "category",cascade = CascadeType.ALL,fetch = FetchType.LAZY,targetEntity = Article.class,orphanRemoval = true)
+    private List<Article> articles = new ArrayList<>();
 
     /**
      * Custom constructor for the category entity
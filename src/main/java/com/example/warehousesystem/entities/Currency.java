@@ -3,9 +3,12 @@ package com.example.warehousesystem.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.NaturalId;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,6 +17,9 @@ import java.util.List;
  *
  * Currencies and their currency code inklusive currency country are stored in this entity e.g. currency code "USD",
  * country "U.S.A."
+ *
+ * Currencies are not kept in the second level cache, the services, the scan path and the csv import read them
+ * from the ReferenceDataCache
  */
 @Data
 @NoArgsConstructor
@@ -22,11 +28,13 @@ import java.util.List;
 @Entity(name="Currency")
 public class Currency extends BaseEntity{
 
+    @NaturalId(mutable = true)
     @Column(
             name="CurrencyCode",
             nullable = false
     )
    private String currencyCode;
+    @NaturalId(mutable = true)
     @Column(
             name="Country",
             nullable = false
@@ -34,8 +42,10 @@ public class Currency extends BaseEntity{
     private String country;
 
     @JsonIgnore
-    @OneToMany(mappedBy = "currency",cascade = CascadeType.ALL,fetch = FetchType.EAGER,targetEntity = Article.class,orphanRemoval = true)
-    private List<Article> articles;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(mappedBy = "currency",cascade = CascadeType.ALL,fetch = FetchType.LAZY,targetEntity = Article.class,orphanRemoval = true)
+    private List<Article> articles = new ArrayList<>();
 
     /**
      * Custom constructor for the currency entity
@@ -3,9 +3,15 @@ package com.example.warehousesystem.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,24 +19,33 @@ import java.util.List;
  * This is the entity class for the location entity
  *
  * Locations with their aisle,shelf and tray alre stored in this entity
+ *
+ * Locations and their natural id are kept in the second level cache, see application.conf for its limits
  */
 
 @NoArgsConstructor
 @Data
 @ToString
-@Table(name="Location",uniqueConstraints = @UniqueConstraint(name= "U_A_S_T",columnNames = {"aisle","shelf","tray"}))
+@Table(name="Location",uniqueConstraints = @UniqueConstraint(name= "U_A_S_T",columnNames = {"aisle","shelf","tray"}),
+        indexes = @Index(name = "I_L_A_ID", columnList = "aisle, id"))
 @Entity(name="Location")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location")
+@NaturalIdCache(region = "location-natural-id")
 public class Location extends BaseEntity{
+    @NaturalId(mutable = true)
     @Column(
             name="Aisle",
             nullable = false
     )
     private String aisle;
+    @NaturalId(mutable = true)
     @Column(
             name="Shelf",
             nullable = false
     )
     private int shelf;
+    @NaturalId(mutable = true)
     @Column(
             name="Tray",
             nullable = false
@@ -38,8 +53,10 @@ public class Location extends BaseEntity{
     private int tray;
 
     @JsonIgnore
-    @OneToMany(mappedBy = "location",cascade = CascadeType.ALL,fetch = FetchType.EAGER,targetEntity = Warehouse.class,orphanRemoval = true)
-    private List<Warehouse> warehouses;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(mappedBy = "location",cascade = CascadeType.ALL,fetch = FetchType.LAZY,targetEntity = Warehouse.class,orphanRemoval = true)
+    private List<Warehouse> warehouses = new ArrayList<>();
 
     /**
      * Custom constructor for the location entity
@@ -0,0 +1,40 @@
+package com.example.warehousesystem.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * This is the entity class for the pending reorder entity
+ *
+ * An article whose total quantity dropped to or below order.quantity.limit and which was not ordered since.
+ * The StockLedgerService adds the article when a stock movement crosses the limit, the order mail drains the pending
+ * articles instead of scanning all totals. An article is pending at most once, the article is stored as a plain id.
+ */
+@NoArgsConstructor
+@Data
+@ToString
+@Table(name = "Pending_Reorder", uniqueConstraints = @UniqueConstraint(name = "U_PR_A", columnNames = "article_id"))
+@Entity(name = "PendingReorder")
+public class PendingReorder extends BaseEntity {
+
+    @Column(name = "Article_Id", nullable = false, updatable = false)
+    private long articleId;
+
+    @Column(name = "Detected_At", nullable = false, updatable = false)
+    private LocalDateTime detectedAt;
+
+    /**
+     * Custom constructor for the pending reorder entity
+     * @param articleId id of the article
+     * @param detectedAt time of the movement which crossed the limit
+     */
+    public PendingReorder(long articleId, LocalDateTime detectedAt) {
+        super();
+        this.articleId = articleId;
+        this.detectedAt = detectedAt;
+    }
+}
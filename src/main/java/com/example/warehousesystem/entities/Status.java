@@ -3,9 +3,12 @@ package com.example.warehousesystem.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.NaturalId;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,6 +16,9 @@ import java.util.List;
  * This is the entity class for the status entity
  *
  * Statuses and their description are stored in this entity e.g. status "active"
+ *
+ * Statuses are not kept in the second level cache, the services, the scan path and the csv import read them
+ * from the ReferenceDataCache
  */
 
 @NoArgsConstructor
@@ -22,6 +28,7 @@ import java.util.List;
 @Entity(name = "Status")
 public class Status extends BaseEntity{
 
+    @NaturalId(mutable = true)
     @Column(
             name="Description",
             nullable = false,
@@ -30,8 +37,10 @@ public class Status extends BaseEntity{
     private String description;
 
     @JsonIgnore
-    @OneToMany(mappedBy = "status",cascade = CascadeType.ALL,fetch = FetchType.EAGER,targetEntity = Article.class,orphanRemoval = true)
-    private List<Article> articles;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(mappedBy = "status",cascade = CascadeType.ALL,fetch = FetchType.LAZY,targetEntity = Article.class,orphanRemoval = true)
+    private List<Article> articles = new ArrayList<>();
 
     /**
      * Custom constructor for the status entity
@@ -0,0 +1,37 @@
+package com.example.warehousesystem.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * This is the entity class for the stock compaction entity
+ *
+ * A compaction is one completed run of StockLedgerService.compactSnapshots, it is saved after the snapshots of all
+ * chunks of the run were committed. The next run folds the movements after the latest completed compaction,
+ * so the snapshots of a run which stopped after some chunks are taken again by the next run.
+ */
+@NoArgsConstructor
+@Data
+@ToString
+@Immutable
+@Table(name = "Stock_Compaction", indexes = @Index(name = "I_SC_U", columnList = "compacted_until"))
+@Entity(name = "StockCompaction")
+public class StockCompaction extends BaseEntity {
+
+    @Column(name = "Compacted_Until", nullable = false, updatable = false)
+    private LocalDateTime compactedUntil;
+
+    /**
+     * Custom constructor for the stock compaction entity
+     * @param compactedUntil time of the snapshots of the run, all movements up to and including this time are folded
+     */
+    public StockCompaction(LocalDateTime compactedUntil) {
+        super();
+        this.compactedUntil = compactedUntil;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.warehousesystem.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * This is the entity class for the stock movement entity
+ *
+ * Every change of the quantity of a warehouse entry is recorded as one movement with the signed delta and the reason,
+ * the table is append only and its rows are never updated or deleted. The article and the location are stored as
+ * plain ids without foreign keys, so the history of a warehouse entry survives the deletion of its article or location.
+ * The movements are folded into StockSnapshot rows by the StockSnapshotTimer.
+ */
+@NoArgsConstructor
+@Data
+@ToString
+@Immutable
+@Table(name = "Stock_Movement", indexes = {
+        @Index(name = "I_SM_A_L_M", columnList = "article_id, location_id, moved_at"),
+        @Index(name = "I_SM_M", columnList = "moved_at")
+})
+@Entity(name = "StockMovement")
+public class StockMovement extends BaseEntity {
+
+    /**
+     * Cause of a stock movement
+     */
+    public enum Reason {
+        CREATED, MODIFIED, ADJUSTED, IMPORTED, DELETED, SEEDED
+    }
+
+    @Column(name = "Article_Id", nullable = false, updatable = false)
+    private long articleId;
+
+    @Column(name = "Location_Id", nullable = false, updatable = false)
+    private long locationId;
+
+    @Column(name = "Delta", nullable = false, updatable = false)
+    private int delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Reason", nullable = false, updatable = false, length = 20)
+    private Reason reason;
+
+    @Column(name = "Moved_At", nullable = false, updatable = false)
+    private LocalDateTime movedAt;
+
+    /**
+     * Custom constructor for the stock movement entity
+     * @param articleId id of the article of the warehouse entry
+     * @param locationId id of the location of the warehouse entry
+     * @param delta number of pieces which were added, negative if pieces were removed
+     * @param reason cause of the movement
+     * @param movedAt time of the movement
+     */
+    public StockMovement(long articleId, long locationId, int delta, Reason reason, LocalDateTime movedAt) {
+        super();
+        this.articleId = articleId;
+        this.locationId = locationId;
+        this.delta = delta;
+        this.reason = reason;
+        this.movedAt = movedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.warehousesystem.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * This is the entity class for the stock snapshot entity
+ *
+ * A snapshot is the quantity of an article at a location at a point in time, it is the quantity of the previous
+ * snapshot of the same article and location plus all stock movements since then. The snapshots are written by the
+ * StockSnapshotTimer for the warehouse entries which moved since its last run and are never updated, so the stock at
+ * any point in time is the nearest snapshot before it plus the movements of at most one period of the timer.
+ * The stock which existed before its first movement, e.g. in an updated database, is the opening snapshot taken
+ * at StockLedgerService.OPENING_TIME when the application starts.
+ */
+@NoArgsConstructor
+@Data
+@ToString
+@Immutable
+@Table(name = "Stock_Snapshot", indexes = {
+        @Index(name = "I_SS_A_L_T", columnList = "article_id, location_id, taken_at"),
+        @Index(name = "I_SS_T", columnList = "taken_at")
+})
+@Entity(name = "StockSnapshot")
+public class StockSnapshot extends BaseEntity {
+
+    @Column(name = "Article_Id", nullable = false, updatable = false)
+    private long articleId;
+
+    @Column(name = "Location_Id", nullable = false, updatable = false)
+    private long locationId;
+
+    @Column(name = "Quantity", nullable = false, updatable = false)
+    private long quantity;
+
+    @Column(name = "Taken_At", nullable = false, updatable = false)
+    private LocalDateTime takenAt;
+
+    /**
+     * Custom constructor for the stock snapshot entity
+     * @param articleId id of the article of the warehouse entry
+     * @param locationId id of the location of the warehouse entry
+     * @param quantity quantity of the article at the location at the time of the snapshot
+     * @param takenAt time of the snapshot, it includes all movements up to and including this time
+     */
+    public StockSnapshot(long articleId, long locationId, long quantity, LocalDateTime takenAt) {
+        super();
+        this.articleId = articleId;
+        this.locationId = locationId;
+        this.quantity = quantity;
+        this.takenAt = takenAt;
+    }
+}
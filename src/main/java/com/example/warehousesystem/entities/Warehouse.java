@@ -10,13 +10,27 @@ import lombok.ToString;
  * This is the entity class for the warehouse entity
  *
  * Warehouse with their article entries, the location of it and the quantity
+ *
+ * Queries which return warehouse entries to the client use the entity graph Warehouse.articleAndLocation
+ * to load the article with its reference data and the location in the same statement.
+ * The quantity and the location are indexed together with the id for the filters of the list endpoint.
  */
 @NoArgsConstructor
 @Data
 @ToString
-@Table(name = "Warehouse",uniqueConstraints = @UniqueConstraint(name= "U_A_L",columnNames = {"article_id","location_id"}))
+@NamedEntityGraph(name = Warehouse.ARTICLE_AND_LOCATION_GRAPH, attributeNodes = {
+        @NamedAttributeNode(value = "article", subgraph = "article"),
+        @NamedAttributeNode("location")
+}, subgraphs = @NamedSubgraph(name = "article", attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("currency"),
+        @NamedAttributeNode("status")
+}))
+@Table(name = "Warehouse",uniqueConstraints = @UniqueConstraint(name= "U_A_L",columnNames = {"article_id","location_id"}),
+        indexes = {@Index(name = "I_Q_ID", columnList = "quantity, id"), @Index(name = "I_W_L_ID", columnList = "location_id, id")})
 @Entity(name = "Warehouse")
 public class Warehouse extends BaseEntity{
+    public static final String ARTICLE_AND_LOCATION_GRAPH = "Warehouse.articleAndLocation";
 
     @ManyToOne(fetch= FetchType.EAGER)
     @JoinColumn(name="article_id",nullable = false,foreignKey = @ForeignKey(name = "articleId"))
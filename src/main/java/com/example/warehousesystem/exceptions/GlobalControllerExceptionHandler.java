@@ -3,6 +3,7 @@ package com.example.warehousesystem.exceptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -111,6 +112,28 @@ class GlobalControllerExceptionHandler {
         return new ResponseEntity<>(e.getMessage(),HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * This exception is thrown when a stock adjustment would make the quantity of a warehouse entry negative
+     * @param e the exception which was thrown
+     * @return ResponseEntity with the HHTPStatusCode of CONFLICT (409) and the exception message
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Object> handleInsufficientStockException(InsufficientStockException e){
+        logger.error("InsufficientStockException handler executed!");
+        return new ResponseEntity<>(e.getMessage(),HttpStatus.CONFLICT);
+    }
+
+    /**
+     * This exception is thrown when an entity was modified concurrently and the retries of the service did not succeed
+     * @param e the exception which was thrown
+     * @return ResponseEntity with the HHTPStatusCode of CONFLICT (409) and the exception message
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(OptimisticLockingFailureException e){
+        logger.error("OptimisticLockingFailureException handler executed!");
+        return new ResponseEntity<>(e.getMessage(),HttpStatus.CONFLICT);
+    }
+
     /**
      * This is the default method which is thrown when all exceptionHandler above do not match the exception.
      * This method has to be THE LAST ONE in the class.
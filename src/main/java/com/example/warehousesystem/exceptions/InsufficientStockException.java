@@ -0,0 +1,10 @@
+package com.example.warehousesystem.exceptions;
+
+/**
+ * Exception class when a stock adjustment would make the quantity of a warehouse entry negative
+ */
+public class InsufficientStockException extends Exception{
+    public InsufficientStockException(String message){
+        super(message);
+    }
+}
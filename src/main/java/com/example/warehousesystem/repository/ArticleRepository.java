@@ -1,35 +1,99 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.ArticleExportRow;
 import com.example.warehousesystem.entities.Article;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author dejan.kosic
  * This is the repository for the entity "Article"
  */
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, Long> {
+public interface ArticleRepository extends JpaRepository<Article, Long>, KeysetPageRepository {
     /**
      * Gets an article entry from the article table by description
      * @param description description of the article
      * @return Option with the article if it exists
      */
+    @EntityGraph(Article.REFERENCE_DATA_GRAPH)
     Optional<Article> findArticleByDescription(String description);
 
     /**
-     * Custom query for finding article entries which have a quantity under a certain limit
+     * Finds an article by id with its category, currency and status in one statement
+     * @param id id of the article
+     * @return Option with the article if it exists
+     */
+    @Override
+    @EntityGraph(Article.REFERENCE_DATA_GRAPH)
+    Optional<Article> findById(Long id);
+
+    /**
+     * Gets all articles with one of the given descriptions
+     * @param descriptions descriptions of the articles
+     * @return a list of all articles which were found
+     */
+    List<Article> findAllByDescriptionIn(Collection<String> descriptions);
+
+    /**
+     * Streams exactly the columns of the article csv export with one joined query, no entities are loaded.
+     * The rows are fetched forward-only in batches of the fetch size.
+     * Must be called inside a transaction and the stream must be closed.
+     * @return a stream of all articles as export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.warehousesystem.dto.ArticleExportRow(a.id, a.description, c.description, a.amount, cu.currencyCode, s.description) " +
+            "FROM Article a JOIN a.category c JOIN a.currency cu JOIN a.status s")
+    Stream<ArticleExportRow> streamAllForExport();
+
+    /**
+     * Finds one page of articles ordered by id, the page starts after the given id
+     * @param afterId id of the last entry of the previous page, 0 for the first page
+     * @param categoryId only articles of this category, null for all categories
+     * @param statusId only articles with this status, null for all statuses
+     * @param pageable limits the number of entries of the page
+     * @return the articles of the page
+     */
+    default List<Article> findPage(long afterId, Long categoryId, Long statusId, Pageable pageable) {
+        Specification<Article> filter = Specification.<Article>where(KeysetPageRepository.equal("category.id", categoryId))
+                .and(KeysetPageRepository.equal("status.id", statusId));
+        return findPage(Article.class, afterId, filter, pageable, Article.REFERENCE_DATA_GRAPH);
+    }
+
+    /**
+     * Custom query for finding article entries whose total quantity over all locations is under a certain limit,
+     * the totals are read from the indexed table ArticleStock
      * @param quantityLimit quantity limit which should be checked
      * @return a list of all article entries which fulfill the condition
      */
-    @Query("SELECT a FROM Article a inner join Warehouse w on a.id=w.article.id where w.quantity <= :quantityLimit")
+    @EntityGraph(Article.REFERENCE_DATA_GRAPH)
+    @Query("SELECT a FROM ArticleStock s JOIN Article a ON a.id = s.articleId WHERE s.quantity <= :quantityLimit")
     List<Article> getAllArticlesWithLowQuantity(double quantityLimit);
 
+    /**
+     * Custom query for getting the articles which are pending for a reorder and whose total quantity is still lower
+     * than or equal to the quantity limit, reads only the pending reorders instead of all totals
+     * @param quantityLimit quantity limit which should be checked
+     * @return a list of the pending articles which fulfill the condition
+     */
+    @EntityGraph(Article.REFERENCE_DATA_GRAPH)
+    @Query("SELECT a FROM Article a JOIN PendingReorder p ON p.articleId = a.id JOIN ArticleStock s ON s.articleId = a.id "
+            + "WHERE s.quantity <= :quantityLimit ORDER BY a.id")
+    List<Article> getPendingArticlesWithLowQuantity(double quantityLimit);
+
     /**
      * Custom query for deleting article by id
      * @param id id of the article entry
@@ -0,0 +1,25 @@
+package com.example.warehousesystem.repository;
+
+import com.example.warehousesystem.entities.ArticleStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ArticleStockRepository extends JpaRepository<ArticleStock, Long>, ArticleTotalRepository {
+    /**
+     * Finds the total quantity of an article
+     * @param articleId id of the article
+     * @return Option with the total if the article has one
+     */
+    Optional<ArticleStock> findByArticleId(long articleId);
+
+    /**
+     * Custom query for deleting the total quantity of an article
+     * @param articleId id of the article
+     */
+    @Modifying
+    @Query("DELETE FROM ArticleStock s WHERE s.articleId = :articleId")
+    void deleteByArticleId(long articleId);
+}
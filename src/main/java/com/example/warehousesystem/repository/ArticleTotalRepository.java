@@ -0,0 +1,24 @@
+package com.example.warehousesystem.repository;
+
+import com.example.warehousesystem.dto.TotalChange;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Repository fragment which adds the deltas of the stock movements to the totals of the articles
+ *
+ * The totals are changed with conditional updates, quantity = quantity + delta, instead of being read and locked
+ * first, so the row of a total is only locked from its update until the commit. The missing totals are inserted
+ * in the same transaction, a total which a concurrent transaction inserted first is updated instead.
+ */
+public interface ArticleTotalRepository {
+    /**
+     * Adds the deltas to the totals of the articles with one batch of updates and inserts the missing totals with
+     * their delta as quantity, has to be called in a transaction. The totals are changed in the order of the map,
+     * so concurrent transactions lock them in the same order.
+     * @param deltasByArticle sum of the deltas by article id, ordered by article id
+     * @return the changes of the totals with the quantities after the deltas were added
+     */
+    List<TotalChange> addToTotals(SortedMap<Long, Long> deltasByArticle);
+}
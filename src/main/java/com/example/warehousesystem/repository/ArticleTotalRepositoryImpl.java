@@ -0,0 +1,158 @@
+package com.example.warehousesystem.repository;
+
+import com.example.warehousesystem.dto.TotalChange;
+import com.example.warehousesystem.entities.ArticleStock;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Implementation of the ArticleTotalRepository fragment with JDBC batches in the transaction of the caller,
+ * the ids of the new totals come from the id generator of Hibernate
+ */
+public class ArticleTotalRepositoryImpl implements ArticleTotalRepository {
+    private static final String UPDATE_TOTAL = "UPDATE article_stock SET quantity = quantity + :delta, "
+            + "version = version + 1, modified_timestamp = :modified WHERE article_id = :articleId";
+    private static final String INSERT_TOTAL = "INSERT INTO article_stock (id, version, created_timestamp, "
+            + "modified_timestamp, article_id, quantity) VALUES (:id, 1, :modified, :modified, :articleId, :delta)";
+    private static final String FIND_TOTALS = "SELECT article_id, id, quantity FROM article_stock "
+            + "WHERE article_id IN (:articleIds)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Custom constructor for the ArticleTotalRepositoryImpl
+     * @param jdbcTemplate runs the statements on the connection of the transaction of the caller
+     */
+    public ArticleTotalRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<TotalChange> addToTotals(SortedMap<Long, Long> deltasByArticle) {
+        String modifiedTimestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        List<Long> articleIds = new ArrayList<>(deltasByArticle.keySet());
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_TOTAL, articleIds.stream()
+                .map(articleId -> totalParameters(articleId, deltasByArticle.get(articleId), modifiedTimestamp))
+                .toArray(MapSqlParameterSource[]::new));
+        // the update counts tell the missing totals, a total which a concurrent transaction committed after the update
+        // would already be found by a query and would then be missing the delta
+        List<Long> missingArticleIds = new ArrayList<>();
+        for (int i = 0; i < articleIds.size(); i++) {
+            if (updated[i] == 0) {
+                missingArticleIds.add(articleIds.get(i));
+            }
+        }
+        Set<Long> createdArticleIds = missingArticleIds.isEmpty() ? Set.of()
+                : insertTotals(missingArticleIds, deltasByArticle, modifiedTimestamp);
+        Map<Long, StoredTotal> totals = createdArticleIds.size() == articleIds.size() ? Map.of()
+                : findTotals(articleIds.stream().filter(articleId -> !createdArticleIds.contains(articleId)).toList());
+        List<TotalChange> changes = new ArrayList<>(deltasByArticle.size());
+        deltasByArticle.forEach((articleId, delta) -> changes.add(createdArticleIds.contains(articleId)
+                ? new TotalChange(articleId, delta, delta, true)
+                : new TotalChange(articleId, delta, totals.get(articleId).quantity(), false)));
+        return changes;
+    }
+
+    /**
+     * inserts the missing totals with their delta as quantity in one batch. If a concurrent transaction inserted
+     * one of the totals first, the batch fails on the unique constraint of the article. The rows of the batch which
+     * were inserted nevertheless are recognized by their id, the deltas of the other ones are added one by one.
+     * @param articleIds ids of the articles without a total
+     * @param deltasByArticle sum of the deltas by article id
+     * @param modifiedTimestamp timestamp of the change
+     * @return the ids of the articles whose total was inserted
+     */
+    private Set<Long> insertTotals(List<Long> articleIds, Map<Long, Long> deltasByArticle, String modifiedTimestamp) {
+        Map<Long, Long> idsByArticle = new LinkedHashMap<>();
+        for (Long articleId : articleIds) {
+            idsByArticle.put(articleId, nextId(articleId));
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_TOTAL, articleIds.stream()
+                    .map(articleId -> totalParameters(articleId, deltasByArticle.get(articleId), modifiedTimestamp)
+                            .addValue("id", idsByArticle.get(articleId)))
+                    .toArray(MapSqlParameterSource[]::new));
+            return new HashSet<>(articleIds);
+        } catch (DuplicateKeyException e) {
+            Map<Long, StoredTotal> stored = findTotals(articleIds);
+            Set<Long> createdArticleIds = new HashSet<>();
+            for (Long articleId : articleIds) {
+                MapSqlParameterSource parameters = totalParameters(articleId, deltasByArticle.get(articleId),
+                        modifiedTimestamp).addValue("id", idsByArticle.get(articleId));
+                StoredTotal total = stored.get(articleId);
+                boolean inserted = total != null && total.id() == idsByArticle.get(articleId);
+                if (inserted || addOrInsertTotal(parameters)) {
+                    createdArticleIds.add(articleId);
+                }
+            }
+            return createdArticleIds;
+        }
+    }
+
+    /**
+     * adds the delta to the total of the article or inserts it if there is none. The total which a concurrent
+     * transaction inserted, but did not commit yet, is not found by the update and depending on the database also
+     * fails the insert right away, so both are repeated until the other transaction is done.
+     * @param parameters parameters of the total
+     * @return true if the total was inserted, false if the delta was added to the total of another transaction
+     */
+    private boolean addOrInsertTotal(MapSqlParameterSource parameters) {
+        while (jdbcTemplate.update(UPDATE_TOTAL, parameters) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_TOTAL, parameters);
+                return true;
+            } catch (DuplicateKeyException insertedConcurrently) {
+                Thread.onSpinWait();
+            }
+        }
+        return false;
+    }
+
+    private Map<Long, StoredTotal> findTotals(Collection<Long> articleIds) {
+        Map<Long, StoredTotal> totals = new HashMap<>();
+        jdbcTemplate.query(FIND_TOTALS, new MapSqlParameterSource("articleIds", articleIds), resultSet -> {
+            totals.put(resultSet.getLong("article_id"),
+                    new StoredTotal(resultSet.getLong("id"), resultSet.getLong("quantity")));
+        });
+        return totals;
+    }
+
+    /**
+     * @param articleId id of the article of the new total
+     * @return the next id of the table of the totals from the id generator which Hibernate uses for its inserts
+     */
+    private long nextId(long articleId) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        ArticleStock total = new ArticleStock(articleId, 0);
+        return (Long) session.getEntityPersister(null, total).getIdentifierGenerator().generate(session, total);
+    }
+
+    private static MapSqlParameterSource totalParameters(long articleId, long delta, String modifiedTimestamp) {
+        return new MapSqlParameterSource()
+                .addValue("articleId", articleId)
+                .addValue("delta", delta)
+                .addValue("modified", modifiedTimestamp);
+    }
+
+    private record StoredTotal(long id, long quantity) {
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.BarcodeMappingExportRow;
 import com.example.warehousesystem.entities.BarcodeMapping;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author dejan.kosic
@@ -27,4 +36,28 @@ public interface BarcodeMappingRepository extends JpaRepository<BarcodeMapping,L
  * @return Option with the barcode mapping entity if it exists
  */
     Optional<BarcodeMapping> findBarcodeMappingByEan(String ean);
+
+    /**
+     * Finds the barcode mappings of several eans with one query
+     * @param eans eans of the barcode mappings
+     * @return the barcode mappings with one of the eans
+     */
+    List<BarcodeMapping> findAllByEanIn(Collection<String> eans);
+
+    /**
+     * Streams exactly the columns of the barcode mapping csv export, no entities are loaded
+     * Must be called inside a transaction and the stream must be closed.
+     * @return a stream of all barcode mappings as export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.warehousesystem.dto.BarcodeMappingExportRow(b.id, b.ean, b.description) FROM BarcodeMapping b")
+    Stream<BarcodeMappingExportRow> streamAllForExport();
+
+    /**
+     * Finds one page of barcode mappings ordered by id, the page starts after the given id
+     * @param afterId id of the last entry of the previous page, 0 for the first page
+     * @param pageable limits the number of entries of the page
+     * @return the barcode mappings of the page
+     */
+    List<BarcodeMapping> findByIdGreaterThanOrderByIdAsc(long afterId, Pageable pageable);
 }
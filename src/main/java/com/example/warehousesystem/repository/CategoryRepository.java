@@ -1,21 +1,48 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.DescriptionExportRow;
 import com.example.warehousesystem.entities.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author dejan.kosic
  * This is the repository for the entity "Category"
  */
 @Repository
-public interface CategoryRepository extends JpaRepository<Category,Long> {
+public interface CategoryRepository extends JpaRepository<Category,Long>, NaturalIdRepository {
     /**
-     * Find a category by description
+     * Find a category by description, the description is the natural id of the category
      * @param description description of the category which should be found
      * @return Option with the category if it exists
      */
-    Optional<Category> findCategoryByDescription(String description);
+    default Optional<Category> findCategoryByDescription(String description) {
+        return findBySimpleNaturalId(Category.class, description);
+    }
+
+    /**
+     * Streams exactly the columns of the category csv export, no entities are loaded
+     * Must be called inside a transaction and the stream must be closed.
+     * @return a stream of all categories as export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.warehousesystem.dto.DescriptionExportRow(c.id, c.description) FROM Category c")
+    Stream<DescriptionExportRow> streamAllForExport();
+
+    /**
+     * Finds one page of categories ordered by id, the page starts after the given id
+     * @param afterId id of the last entry of the previous page, 0 for the first page
+     * @param pageable limits the number of entries of the page
+     * @return the categories of the page
+     */
+    List<Category> findByIdGreaterThanOrderByIdAsc(long afterId, Pageable pageable);
 }
@@ -1,22 +1,50 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.CurrencyExportRow;
 import com.example.warehousesystem.entities.Currency;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author dejan.kosic
  * This is the entity for the Table "Article"
  */
 @Repository
-public interface CurrencyRepository extends JpaRepository<Currency,Long> {
+public interface CurrencyRepository extends JpaRepository<Currency,Long>, NaturalIdRepository {
     /**
-     * Find currency by currency code and country name
+     * Find currency by currency code and country name, both together are the natural id of the currency
      * @param currencyCode three character currency code for the currency
      * @param country country name for the currency
      * @return Option with the currency if it exists
      */
-    Optional<Currency> findCurrencyByCurrencyCodeAndCountry(String currencyCode, String country);
+    default Optional<Currency> findCurrencyByCurrencyCodeAndCountry(String currencyCode, String country) {
+        return findByNaturalId(Currency.class, Map.of("currencyCode", currencyCode, "country", country));
+    }
+
+    /**
+     * Streams exactly the columns of the currency csv export, no entities are loaded
+     * Must be called inside a transaction and the stream must be closed.
+     * @return a stream of all currencies as export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.warehousesystem.dto.CurrencyExportRow(c.id, c.currencyCode, c.country) FROM Currency c")
+    Stream<CurrencyExportRow> streamAllForExport();
+
+    /**
+     * Finds one page of currencies ordered by id, the page starts after the given id
+     * @param afterId id of the last entry of the previous page, 0 for the first page
+     * @param pageable limits the number of entries of the page
+     * @return the currencies of the page
+     */
+    List<Currency> findByIdGreaterThanOrderByIdAsc(long afterId, Pageable pageable);
 }
@@ -0,0 +1,73 @@
+package com.example.warehousesystem.repository;
+
+import com.example.warehousesystem.entities.BaseEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository fragment which loads one page of a list endpoint with optional filters
+ *
+ * Only the filters which are set become part of the statement, so the database can use the composite index of a
+ * filter column and the id for the filter and the ordering, instead of a catch-all predicate like
+ * (:x IS NULL OR x = :x) which hides the filter column from the optimizer.
+ * Like the finders of SimpleJpaRepository the pages are read in a read only transaction if none is active.
+ */
+@Transactional(readOnly = true)
+public interface KeysetPageRepository {
+    /**
+     * Loads the entities with an id greater than afterId which match the filter, ordered by id
+     * @param entityClass class of the entity
+     * @param afterId id of the last entry of the previous page, 0 for the first page
+     * @param filter the filters which are set, combined with Specification.where(..).and(..), null for no filter
+     * @param pageable limits the number of entries of the page
+     * @param entityGraph name of the entity graph which is fetched with the entities, null for none
+     * @return the entities of the page
+     * @param <T> type of the entity
+     */
+    <T extends BaseEntity> List<T> findPage(Class<T> entityClass, long afterId, Specification<T> filter,
+                                            Pageable pageable, String entityGraph);
+
+    /**
+     * @param path attribute path of the filter, e.g. "article.category.id"
+     * @param value value the attribute has to be equal to, null if the filter is not set
+     * @return the filter, null if the value is null
+     * @param <T> type of the entity
+     */
+    static <T> Specification<T> equal(String path, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(KeysetPageRepositoryImpl.path(root, path), value);
+    }
+
+    /**
+     * @param path attribute path of the filter
+     * @param value lowest value of the attribute, null if the filter is not set
+     * @return the filter, null if the value is null
+     * @param <T> type of the entity
+     */
+    static <T> Specification<T> atLeast(String path, Integer value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.greaterThanOrEqualTo(KeysetPageRepositoryImpl.path(root, path), value);
+    }
+
+    /**
+     * @param path attribute path of the filter
+     * @param value highest value of the attribute, null if the filter is not set
+     * @return the filter, null if the value is null
+     * @param <T> type of the entity
+     */
+    static <T> Specification<T> atMost(String path, Integer value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.lessThanOrEqualTo(KeysetPageRepositoryImpl.path(root, path), value);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.warehousesystem.repository;
+
+import com.example.warehousesystem.entities.BaseEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Implementation of the KeysetPageRepository fragment with the criteria api
+ */
+public class KeysetPageRepositoryImpl implements KeysetPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <T extends BaseEntity> List<T> findPage(Class<T> entityClass, long afterId, Specification<T> filter,
+                                                   Pageable pageable, String entityGraph) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        Predicate predicate = criteriaBuilder.greaterThan(root.get("id"), afterId);
+        if (filter != null) {
+            Predicate filterPredicate = filter.toPredicate(root, query, criteriaBuilder);
+            if (filterPredicate != null) {
+                predicate = criteriaBuilder.and(predicate, filterPredicate);
+            }
+        }
+        query.select(root).where(predicate).orderBy(criteriaBuilder.asc(root.get("id")));
+        TypedQuery<T> typedQuery = entityManager.createQuery(query).setMaxResults(pageable.getPageSize());
+        if (entityGraph != null) {
+            typedQuery.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(entityGraph));
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * @param root root of the query
+     * @param path attribute path separated by dots
+     * @return the path of the attribute, associations on the way are joined implicitly
+     * @param <Y> type of the attribute
+     */
+    static <Y> Path<Y> path(Root<?> root, String path) {
+        Path<?> current = root;
+        for (String attribute : path.split("\\.")) {
+            current = current.get(attribute);
+        }
+        @SuppressWarnings("unchecked")
+        Path<Y> attributePath = (Path<Y>) current;
+        return attributePath;
+    }
+}
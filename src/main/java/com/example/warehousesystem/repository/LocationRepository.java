@@ -1,23 +1,61 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.LocationExportRow;
 import com.example.warehousesystem.entities.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author dejan.kosic
  * This is the repository for the entity "Location"
  */
 @Repository
-public interface LocationRepository extends JpaRepository<Location,Long> {
+public interface LocationRepository extends JpaRepository<Location,Long>, NaturalIdRepository, KeysetPageRepository {
     /**
-     * Finds the location by aisle,shelf and tray
+     * Finds the location by aisle,shelf and tray, the three together are the natural id of the location
      * @param aisle aisle of the location
      * @param shelf shelf of the location
      * @param tray tray of the location
      * @return Option with the location if it exists
      */
-    Optional<Location> findLocationByAisleAndShelfAndTray(String aisle, int shelf, int tray);
+    default Optional<Location> findLocationByAisleAndShelfAndTray(String aisle, int shelf, int tray) {
+        return findByNaturalId(Location.class, Map.of("aisle", aisle, "shelf", shelf, "tray", tray));
+    }
+
+    /**
+     * Gets the id, aisle, shelf and tray of all locations without loading the entities
+     * @return a list of arrays with the id at index 0, the aisle at index 1, the shelf at index 2 and the tray at index 3
+     */
+    @Query("SELECT l.id, l.aisle, l.shelf, l.tray FROM Location l")
+    List<Object[]> findAllIdsAndAislesAndShelvesAndTrays();
+
+    /**
+     * Streams exactly the columns of the location csv export, no entities are loaded
+     * Must be called inside a transaction and the stream must be closed.
+     * @return a stream of all locations as export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.warehousesystem.dto.LocationExportRow(l.id, l.aisle, l.shelf, l.tray) FROM Location l")
+    Stream<LocationExportRow> streamAllForExport();
+
+    /**
+     * Finds one page of locations ordered by id, the page starts after the given id
+     * @param afterId id of the last entry of the previous page, 0 for the first page
+     * @param aisle only locations in this aisle, null for all aisles
+     * @param pageable limits the number of entries of the page
+     * @return the locations of the page
+     */
+    default List<Location> findPage(long afterId, String aisle, Pageable pageable) {
+        return findPage(Location.class, afterId, KeysetPageRepository.equal("aisle", aisle), pageable, null);
+    }
 }
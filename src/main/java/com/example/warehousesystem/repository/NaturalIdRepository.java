@@ -0,0 +1,35 @@
+package com.example.warehousesystem.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository fragment which loads entities by their natural id instead of a query
+ *
+ * If the entity and its natural id are kept in the second level cache, e.g. the locations, the natural id is resolved
+ * through the natural id cache of Hibernate and the entity itself through the second level cache, so a cached lookup
+ * does not access the database. The other entities are looked up by the unique index of their natural id.
+ * Like the finders of SimpleJpaRepository the lookups run in a read only transaction if none is active.
+ */
+@Transactional(readOnly = true)
+public interface NaturalIdRepository {
+    /**
+     * Loads an entity by its natural id if the natural id consists of one attribute
+     * @param entityClass class of the entity, it must have exactly one attribute annotated with @NaturalId
+     * @param naturalId value of the natural id
+     * @return Option with the entity if it exists
+     * @param <T> type of the entity
+     */
+    <T> Optional<T> findBySimpleNaturalId(Class<T> entityClass, Object naturalId);
+
+    /**
+     * Loads an entity by its natural id
+     * @param entityClass class of the entity
+     * @param naturalId the values of all attributes of the natural id by attribute name
+     * @return Option with the entity if it exists
+     * @param <T> type of the entity
+     */
+    <T> Optional<T> findByNaturalId(Class<T> entityClass, Map<String, Object> naturalId);
+}
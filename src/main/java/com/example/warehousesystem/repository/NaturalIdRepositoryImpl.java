@@ -0,0 +1,30 @@
+package com.example.warehousesystem.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.NaturalIdLoadAccess;
+import org.hibernate.Session;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of the NaturalIdRepository fragment with the natural id api of the Hibernate session
+ */
+public class NaturalIdRepositoryImpl implements NaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <T> Optional<T> findBySimpleNaturalId(Class<T> entityClass, Object naturalId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(entityClass).loadOptional(naturalId);
+    }
+
+    @Override
+    public <T> Optional<T> findByNaturalId(Class<T> entityClass, Map<String, Object> naturalId) {
+        NaturalIdLoadAccess<T> loadAccess = entityManager.unwrap(Session.class).byNaturalId(entityClass);
+        naturalId.forEach(loadAccess::using);
+        return loadAccess.loadOptional();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.warehousesystem.repository;
+
+import com.example.warehousesystem.entities.PendingReorder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PendingReorderRepository extends JpaRepository<PendingReorder, Long> {
+    /**
+     * Finds the pending reorders of the given articles
+     * @param articleIds ids of the articles
+     * @return the pending reorders of the articles which have one
+     */
+    List<PendingReorder> findAllByArticleIdIn(Collection<Long> articleIds);
+
+    /**
+     * Custom query for deleting the pending reorders of the given articles
+     * @param articleIds ids of the articles
+     */
+    @Modifying
+    @Query("DELETE FROM PendingReorder p WHERE p.articleId IN :articleIds")
+    void deleteByArticleIdIn(Collection<Long> articleIds);
+}
@@ -1,21 +1,48 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.DescriptionExportRow;
 import com.example.warehousesystem.entities.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author dejan.kosic
  * This is the repository for the entity "Status"
  */
 @Repository
-public interface StatusRepository extends JpaRepository<Status,Long> {
+public interface StatusRepository extends JpaRepository<Status,Long>, NaturalIdRepository {
     /**
-     * Finds status entry by description
+     * Finds status entry by description, the description is the natural id of the status
      * @param description description of the status
      * @return container Option with the status if it exists
      */
-    Optional<Status> findStatusByDescription(String description);
+    default Optional<Status> findStatusByDescription(String description) {
+        return findBySimpleNaturalId(Status.class, description);
+    }
+
+    /**
+     * Streams exactly the columns of the status csv export, no entities are loaded
+     * Must be called inside a transaction and the stream must be closed.
+     * @return a stream of all statuses as export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.warehousesystem.dto.DescriptionExportRow(s.id, s.description) FROM Status s")
+    Stream<DescriptionExportRow> streamAllForExport();
+
+    /**
+     * Finds one page of statuses ordered by id, the page starts after the given id
+     * @param afterId id of the last entry of the previous page, 0 for the first page
+     * @param pageable limits the number of entries of the page
+     * @return the statuses of the page
+     */
+    List<Status> findByIdGreaterThanOrderByIdAsc(long afterId, Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package com.example.warehousesystem.repository;
+
+import com.example.warehousesystem.entities.StockCompaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface StockCompactionRepository extends JpaRepository<StockCompaction, Long> {
+    /**
+     * @return the time of the latest completed compaction, empty if no compaction was completed yet
+     */
+    @Query("SELECT MAX(c.compactedUntil) FROM StockCompaction c")
+    Optional<LocalDateTime> findLatestCompactedUntil();
+}
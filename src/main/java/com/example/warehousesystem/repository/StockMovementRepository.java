@@ -0,0 +1,53 @@
+package com.example.warehousesystem.repository;
+
+import com.example.warehousesystem.dto.StockDelta;
+import com.example.warehousesystem.entities.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+    /**
+     * Sums the movements of one article at one location within a period
+     * @param articleId id of the article
+     * @param locationId id of the location
+     * @param from the period starts after this time, null for all movements up to the end
+     * @param to the period ends with this time
+     * @return sum of the deltas, 0 if there were no movements
+     */
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM StockMovement m WHERE m.articleId = :articleId " +
+            "AND m.locationId = :locationId AND (:from IS NULL OR m.movedAt > :from) AND m.movedAt <= :to")
+    long sumDeltas(long articleId, long locationId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Sums the movements within a period for one chunk of the articles and locations which moved,
+     * ordered by article and location
+     * @param from the period starts after this time
+     * @param to the period ends with this time
+     * @param afterArticleId article of the last sum of the previous chunk, 0 for the first chunk
+     * @param afterLocationId location of the last sum of the previous chunk, 0 for the first chunk
+     * @param pageable limits the number of sums of the chunk
+     * @return the sums of the deltas by article and location
+     */
+    @Query("SELECT new com.example.warehousesystem.dto.StockDelta(m.articleId, m.locationId, SUM(m.delta)) " +
+            "FROM StockMovement m WHERE m.movedAt > :from AND m.movedAt <= :to " +
+            "AND (m.articleId > :afterArticleId OR (m.articleId = :afterArticleId AND m.locationId > :afterLocationId)) " +
+            "GROUP BY m.articleId, m.locationId ORDER BY m.articleId, m.locationId")
+    List<StockDelta> sumDeltasByArticleAndLocation(LocalDateTime from, LocalDateTime to, long afterArticleId,
+                                                   long afterLocationId, Pageable pageable);
+
+    /**
+     * Finds one page of the movements of an article at a location ordered by id, the page starts after the given id
+     * @param articleId id of the article
+     * @param locationId id of the location
+     * @param afterId id of the last movement of the previous page, 0 for the first page
+     * @param pageable limits the number of movements of the page
+     * @return the movements of the page
+     */
+    @Query("SELECT m FROM StockMovement m WHERE m.articleId = :articleId AND m.locationId = :locationId " +
+            "AND m.id > :afterId ORDER BY m.id")
+    List<StockMovement> findPage(long articleId, long locationId, long afterId, Pageable pageable);
+}
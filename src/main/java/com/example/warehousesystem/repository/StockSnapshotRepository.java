@@ -0,0 +1,33 @@
+package com.example.warehousesystem.repository;
+
+import com.example.warehousesystem.entities.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+    /**
+     * Finds the latest snapshot of an article at a location which was taken at or before the given time
+     * @param articleId id of the article
+     * @param locationId id of the location
+     * @param at the snapshot was taken at or before this time
+     * @return Option with the snapshot if one exists
+     */
+    Optional<StockSnapshot> findFirstByArticleIdAndLocationIdAndTakenAtLessThanEqualOrderByTakenAtDesc(
+            long articleId, long locationId, LocalDateTime at);
+
+    /**
+     * Finds the latest snapshot of every location of the given articles which was taken at or before the given time
+     * @param articleIds ids of the articles
+     * @param at the snapshots were taken at or before this time
+     * @return the latest snapshot per article and location
+     */
+    @Query("SELECT s FROM StockSnapshot s WHERE s.articleId IN :articleIds AND s.takenAt = " +
+            "(SELECT MAX(l.takenAt) FROM StockSnapshot l WHERE l.articleId = s.articleId AND l.locationId = s.locationId " +
+            "AND l.takenAt <= :at)")
+    List<StockSnapshot> findLatestByArticleIdIn(Collection<Long> articleIds, LocalDateTime at);
+}
@@ -1,23 +1,124 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.StockDelta;
+import com.example.warehousesystem.dto.WarehouseExportRow;
 import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.ArticleStock;
 import com.example.warehousesystem.entities.Location;
 import com.example.warehousesystem.entities.Warehouse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface WarehouseRepository extends JpaRepository<Warehouse,Long> {
+public interface WarehouseRepository extends JpaRepository<Warehouse,Long>, KeysetPageRepository {
     /**
      * Finds warehouse entry by article and location
      * @param article article of the warehouse entry
      * @param location location of the warehouse entry
      * @return Option with the warhouse if it exists
      */
+    @EntityGraph(Warehouse.ARTICLE_AND_LOCATION_GRAPH)
     Optional<Warehouse> findWarehouseByArticleAndLocation(Article article, Location location);
 
+    /**
+     * Finds a warehouse entry by id with its article and location in one statement
+     * @param id id of the warehouse entry
+     * @return Option with the warehouse if it exists
+     */
+    @Override
+    @EntityGraph(Warehouse.ARTICLE_AND_LOCATION_GRAPH)
+    Optional<Warehouse> findById(Long id);
+
+    /**
+     * Finds all warehouse entries of the given articles
+     * @param articles articles of the warehouse entries
+     * @return a list of all warehouse entries of the articles
+     */
+    List<Warehouse> findAllByArticleIn(Collection<Article> articles);
+
+    /**
+     * Streams exactly the columns of the warehouse csv export with one joined query, no entities are loaded.
+     * The rows are fetched forward-only in batches of the fetch size.
+     * Must be called inside a transaction and the stream must be closed.
+     * @return a stream of all warehouse entries as export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.warehousesystem.dto.WarehouseExportRow(w.id, w.quantity, a.description, c.description, a.amount, " +
+            "cu.currencyCode, cu.country, s.description, l.aisle, l.shelf, l.tray) " +
+            "FROM Warehouse w JOIN w.article a JOIN a.category c JOIN a.currency cu JOIN a.status s JOIN w.location l")
+    Stream<WarehouseExportRow> streamAllForExport();
+
+    /**
+     * Finds one page of warehouse entries ordered by id, the page starts after the given id
+     * @param afterId id of the last entry of the previous page, 0 for the first page
+     * @param categoryId only entries with articles of this category, null for all categories
+     * @param statusId only entries with articles with this status, null for all statuses
+     * @param aisle only entries in this aisle, null for all aisles
+     * @param minQuantity only entries with at least this quantity, null for no lower bound
+     * @param maxQuantity only entries with at most this quantity, null for no upper bound
+     * @param pageable limits the number of entries of the page
+     * @return the warehouse entries of the page
+     */
+    default List<Warehouse> findPage(long afterId, Long categoryId, Long statusId, String aisle,
+                                     Integer minQuantity, Integer maxQuantity, Pageable pageable) {
+        Specification<Warehouse> filter = Specification.<Warehouse>where(KeysetPageRepository.equal("article.category.id", categoryId))
+                .and(KeysetPageRepository.equal("article.status.id", statusId))
+                .and(KeysetPageRepository.equal("location.aisle", aisle))
+                .and(KeysetPageRepository.atLeast("quantity", minQuantity))
+                .and(KeysetPageRepository.atMost("quantity", maxQuantity));
+        return findPage(Warehouse.class, afterId, filter, pageable, Warehouse.ARTICLE_AND_LOCATION_GRAPH);
+    }
+
+    /**
+     * Adds the delta to the quantity of a warehouse entry with one conditional update, without reading the entry before.
+     * Concurrent adjustments of the same entry wait for each other's row lock instead of failing with an optimistic
+     * lock exception. The version is increased, so a concurrent modification of the loaded entity still fails.
+     * @param id id of the warehouse entry
+     * @param delta number of pieces to add, negative to remove pieces
+     * @param modifiedTimestamp new modified timestamp of the entry
+     * @return 1 if the entry was adjusted, 0 if it does not exist or its quantity would become negative
+     */
+    @Modifying
+    @Query("UPDATE Warehouse w SET w.quantity = w.quantity + :delta, w.version = w.version + 1, " +
+            "w.modifiedTimestamp = :modifiedTimestamp WHERE w.id = :id AND w.quantity + :delta >= 0")
+    int adjustQuantity(long id, int delta, String modifiedTimestamp);
+
+    /**
+     * Sums the quantities of all warehouse entries by article, used to build the totals of ArticleStock once
+     * @return the total quantity of every article which has warehouse entries, not yet saved
+     */
+    @Query("SELECT new com.example.warehousesystem.entities.ArticleStock(w.article.id, SUM(w.quantity)) " +
+            "FROM Warehouse w GROUP BY w.article.id")
+    List<ArticleStock> sumQuantitiesByArticle();
+
+    /**
+     * Finds one chunk of the warehouse entries without a stock snapshot whose quantity is not the sum of their
+     * stock movements, ordered by article and location, used to take the opening snapshots of the stock ledger
+     * @param afterArticleId article of the last entry of the previous chunk, 0 for the first chunk
+     * @param afterLocationId location of the last entry of the previous chunk, 0 for the first chunk
+     * @param pageable limits the number of entries of the chunk
+     * @return the quantity of every entry which is not recorded as movement, as delta
+     */
+    @Query("SELECT new com.example.warehousesystem.dto.StockDelta(w.article.id, w.location.id, " +
+            "w.quantity - COALESCE(SUM(m.delta), 0)) FROM Warehouse w " +
+            "LEFT JOIN StockMovement m ON m.articleId = w.article.id AND m.locationId = w.location.id " +
+            "WHERE (w.article.id > :afterArticleId OR (w.article.id = :afterArticleId AND w.location.id > :afterLocationId)) " +
+            "AND NOT EXISTS (SELECT s.id FROM StockSnapshot s WHERE s.articleId = w.article.id AND s.locationId = w.location.id) " +
+            "GROUP BY w.article.id, w.location.id, w.quantity HAVING w.quantity <> COALESCE(SUM(m.delta), 0) " +
+            "ORDER BY w.article.id, w.location.id")
+    List<StockDelta> findUnrecordedStock(long afterArticleId, long afterLocationId, Pageable pageable);
+
     /**
      * Custom query to deleting warehouse entry by id
      * @param id id of the warehouse entry
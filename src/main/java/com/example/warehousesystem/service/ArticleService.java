@@ -1,11 +1,16 @@
 package com.example.warehousesystem.service;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.StockMovement;
+import com.example.warehousesystem.entities.Warehouse;
 import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.ArticleRepository;
+import com.example.warehousesystem.repository.PendingReorderRepository;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -32,13 +37,24 @@ public class ArticleService implements HasLogger {
 
     private final CsvExportService csvExportService;
 
+    private final PendingReorderRepository pendingReorderRepository;
+
+    private final StockLedgerService stockLedgerService;
+
 
     /**
-     * Gets a list of all articles
-     * @return a list of all articles
+     * Gets one page of articles ordered by id
+     * @param after cursor of the previous page, null for the first page
+     * @param limit maximum number of entries of the page
+     * @param categoryId only articles of this category, null for all categories
+     * @param statusId only articles with this status, null for all statuses
+     * @return the articles of the page and the cursor of the next page
+     * @throws InvalidFormatEntryException if the cursor or the limit is invalid
      */
-    public List<Article> getAllArticles(){
-        return articleRepository.findAll();
+    public KeysetPage<Article> getArticlePage(String after, int limit, Long categoryId, Long statusId) throws InvalidFormatEntryException {
+        List<Article> entries = articleRepository.findPage(KeysetPagination.afterId(after), categoryId, statusId,
+                KeysetPagination.limit(limit));
+        return KeysetPagination.toPage(entries, limit);
     }
 
     /**
@@ -87,6 +103,7 @@ public class ArticleService implements HasLogger {
      * @param article new article object
      * @param id id of the article which is to be modified
      */
+    @RetryOnOptimisticLock
     public void modifyArticleById(Article article, Long id) throws InvalidFormatEntryException {
         Article updatedArticle = articleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Article does not exist with id: " + id));
@@ -108,15 +125,20 @@ public class ArticleService implements HasLogger {
     }
 
     /**
-     * Deletes an article by id
+     * Deletes an article by id, the removal of the stock of its warehouse entries is recorded in the stock ledger
      * @param id id of the article to be deleted
      */
     @Transactional
     public void deleteArticleById(long id) {
-        articleRepository.findById(id)
+        Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Article does not exist with id: " + id));
         logger.info("article with id " + id + " found and deleting...");
+        for (Warehouse warehouse : article.getWarehouses()) {
+            stockLedgerService.recordMovement(warehouse, -warehouse.getQuantity(), StockMovement.Reason.DELETED);
+        }
         articleRepository.deleteArticleById(id);
+        stockLedgerService.deleteArticleTotal(id);
+        pendingReorderRepository.deleteByArticleIdIn(List.of(id));
     }
 
 }
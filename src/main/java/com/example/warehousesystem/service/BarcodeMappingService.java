@@ -1,10 +1,13 @@
 package com.example.warehousesystem.service;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.BarcodeMapping;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.BarcodeMappingRepository;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -13,28 +16,46 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * @author dejan.kosic
  * Service class for the barcode mapping controller
+ *
+ * Lookups by ean are read through an in-memory index, every write through this service removes the affected eans
+ * from the index. The index is local to this instance, it does not see writes of other instances.
  */
 @Service
 @AllArgsConstructor
 public class BarcodeMappingService implements HasLogger {
 
     private final Logger logger = getLogger();
+    private static final int EAN_QUERY_SIZE = 1000;
+    private final EanIndex eanIndex = new EanIndex();
 
     private final BarcodeMappingRepository barcodeMappingRepository;
     private final CsvExportService csvExportService;
 
     /**
-     * Gets a list of all barcode mappings
-     * @return list of all barcode mappings
+     * Gets one page of barcode mappings ordered by id
+     * @param after cursor of the previous page, null for the first page
+     * @param limit maximum number of entries of the page
+     * @return the barcode mappings of the page and the cursor of the next page
+     * @throws InvalidFormatEntryException if the cursor or the limit is invalid
      */
-    public List<BarcodeMapping> getAllBarcodeMappings(){
-        return barcodeMappingRepository.findAll();
+    public KeysetPage<BarcodeMapping> getBarcodeMappingPage(String after, int limit) throws InvalidFormatEntryException {
+        List<BarcodeMapping> entries = barcodeMappingRepository.findByIdGreaterThanOrderByIdAsc(KeysetPagination.afterId(after),
+                KeysetPagination.limit(limit));
+        return KeysetPagination.toPage(entries, limit);
     }
 
     /**
@@ -52,10 +73,61 @@ public class BarcodeMappingService implements HasLogger {
      * @return barcode mapping with provided ean
      */
     public BarcodeMapping getBarcodeMappingByEan(String ean){
-        return barcodeMappingRepository.findBarcodeMappingByEan(ean).orElseThrow(()->
+        long key = EanIndex.toKey(ean);
+        if (key != EanIndex.NOT_INDEXABLE) {
+            BarcodeMapping indexed = eanIndex.get(key);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+        long modificationCount = eanIndex.modificationCount();
+        BarcodeMapping barcodeMapping = barcodeMappingRepository.findBarcodeMappingByEan(ean).orElseThrow(()->
                 new ResourceNotFoundException("barcode mapping does not exist with ean: " + ean));
-
+        if (key != EanIndex.NOT_INDEXABLE) {
+            eanIndex.putIfUnmodified(key, barcodeMapping, modificationCount);
+        }
+        return barcodeMapping;
+    }
+    /**
+     * Gets the barcode mappings of several eans, the eans which are not indexed yet are loaded with one query
+     * per EAN_QUERY_SIZE eans. An ean which belongs to several barcode mappings is resolved to the first one
+     * by id and is not indexed.
+     * @param eans eans of the barcode mappings
+     * @return the barcode mappings by ean, eans without barcode mapping are missing
+     */
+    public Map<String, BarcodeMapping> getBarcodeMappingsByEans(Collection<String> eans) {
+        Map<String, BarcodeMapping> barcodeMappings = new HashMap<>();
+        List<String> missingEans = new ArrayList<>();
+        for (String ean : new LinkedHashSet<>(eans)) {
+            long key = EanIndex.toKey(ean);
+            BarcodeMapping indexed = key == EanIndex.NOT_INDEXABLE ? null : eanIndex.get(key);
+            if (indexed != null) {
+                barcodeMappings.put(ean, indexed);
+            } else {
+                missingEans.add(ean);
+            }
+        }
+        long modificationCount = eanIndex.modificationCount();
+        for (int from = 0; from < missingEans.size(); from += EAN_QUERY_SIZE) {
+            List<BarcodeMapping> found = new ArrayList<>(barcodeMappingRepository.findAllByEanIn(
+                    missingEans.subList(from, Math.min(from + EAN_QUERY_SIZE, missingEans.size()))));
+            found.sort(Comparator.comparing(BarcodeMapping::getId));
+            Set<String> ambiguousEans = new HashSet<>();
+            for (BarcodeMapping barcodeMapping : found) {
+                if (barcodeMappings.putIfAbsent(barcodeMapping.getEan(), barcodeMapping) != null) {
+                    ambiguousEans.add(barcodeMapping.getEan());
+                }
+            }
+            for (BarcodeMapping barcodeMapping : found) {
+                long key = EanIndex.toKey(barcodeMapping.getEan());
+                if (key != EanIndex.NOT_INDEXABLE && !ambiguousEans.contains(barcodeMapping.getEan())) {
+                    eanIndex.putIfUnmodified(key, barcodeMapping, modificationCount);
+                }
+            }
+        }
+        return barcodeMappings;
     }
+
     /**
      * Adding a new barcode mapping to database
      * @param barcodeMapping barcode mapping to be added
@@ -68,6 +140,7 @@ public class BarcodeMappingService implements HasLogger {
             throw new RecordAlreadyExistsException("barcode mapping already exists in database!");
         }
         barcodeMappingRepository.save(barcodeMapping);
+        removeFromEanIndex(barcodeMapping.getEan());
         return barcodeMappingRepository.findBarcodeMappingByEanAndDescription(barcodeMapping.getEan(),barcodeMapping.getDescription()).get();
 
     }
@@ -78,14 +151,18 @@ public class BarcodeMappingService implements HasLogger {
      * @param id id of the barcode mapping which is to be modified
      *
      */
+    @RetryOnOptimisticLock
     public void modifyBarcodeMappingById(BarcodeMapping barcodeMapping,Long id){
         BarcodeMapping updatedBarcodeMapping = barcodeMappingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("barcode mapping does not exist with id: " + id));
+        String previousEan = updatedBarcodeMapping.getEan();
         updatedBarcodeMapping.setEan(barcodeMapping.getEan());
         updatedBarcodeMapping.setDescription(barcodeMapping.getDescription());
         updatedBarcodeMapping.setModifiedTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         logger.info("barcode mapping with id "+ id+" found and updating...");
         barcodeMappingRepository.save(updatedBarcodeMapping);
+        removeFromEanIndex(previousEan);
+        removeFromEanIndex(updatedBarcodeMapping.getEan());
     }
 
     /**
@@ -93,10 +170,11 @@ public class BarcodeMappingService implements HasLogger {
      * @param id id of the barcode mapping to be deleted
      */
     public void deleteBarcodeMappingById(long id){
-        barcodeMappingRepository.findById(id)
+        BarcodeMapping barcodeMapping = barcodeMappingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("barcode mapping does not exist with id: " + id));
         logger.info("barcode mapping with id "+ id+" found and deleting...");
         barcodeMappingRepository.deleteById(id);
+        removeFromEanIndex(barcodeMapping.getEan());
     }
 
     /**
@@ -109,4 +187,11 @@ public class BarcodeMappingService implements HasLogger {
         servletResponse.addHeader("Content-Disposition","attachment; filename=\"BarcodeMapping.csv\"");
         csvExportService.writeBarcodeMappingToCsv(servletResponse.getWriter());
     }
+
+    private void removeFromEanIndex(String ean) {
+        long key = EanIndex.toKey(ean);
+        if (key != EanIndex.NOT_INDEXABLE) {
+            eanIndex.remove(key);
+        }
+    }
 }
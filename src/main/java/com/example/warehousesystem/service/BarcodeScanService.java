@@ -0,0 +1,103 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.dto.ScanResult;
+import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.BarcodeMapping;
+import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.entities.Currency;
+import com.example.warehousesystem.entities.Status;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import com.example.warehousesystem.repository.ArticleRepository;
+import com.example.warehousesystem.utils.HasLogger;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for batches of barcode scans which scanners buffered while they were offline
+ *
+ * A batch resolves all eans, the existing articles and the default reference data with a few queries
+ * and inserts the missing articles with batched writes in one transaction.
+ */
+@Service
+@AllArgsConstructor
+public class BarcodeScanService implements HasLogger {
+    public static final int MAX_SCANS = 10_000;
+    private static final int DESCRIPTION_QUERY_SIZE = 1000;
+
+    private final Logger logger = getLogger();
+    private final BarcodeMappingService barcodeMappingService;
+    private final ArticleRepository articleRepository;
+    private final CategoryService categoryService;
+    private final CurrencyService currencyService;
+    private final StatusService statusService;
+
+    /**
+     * Creates the articles of a batch of scanned eans like single scans do, an article is only created once
+     * for all scans of its description and articles which already exist are left unchanged
+     * @param eans the scanned eans in the order they were scanned, an ean may be scanned several times
+     * @return one result per distinct ean in the order of the first scan
+     * @throws InvalidFormatEntryException if the batch is empty or has more than MAX_SCANS scans
+     */
+    @Transactional
+    public List<ScanResult> scanArticles(List<String> eans) throws InvalidFormatEntryException {
+        if (eans == null || eans.isEmpty() || eans.size() > MAX_SCANS) {
+            throw new InvalidFormatEntryException("A batch must contain between 1 and " + MAX_SCANS + " scans!");
+        }
+        Map<String, Integer> scansByEan = new LinkedHashMap<>();
+        for (String ean : eans) {
+            scansByEan.merge(ean, 1, Integer::sum);
+        }
+        Map<String, BarcodeMapping> barcodeMappings = barcodeMappingService.getBarcodeMappingsByEans(scansByEan.keySet());
+        List<String> descriptions = barcodeMappings.values().stream().map(BarcodeMapping::getDescription).distinct().toList();
+        Map<String, Article> existingArticles = findArticlesByDescription(descriptions);
+
+        Map<String, Article> createdArticles = new HashMap<>();
+        List<String> missingDescriptions = descriptions.stream().filter(d -> !existingArticles.containsKey(d)).toList();
+        if (!missingDescriptions.isEmpty()) {
+            Category category = categoryService.getCategoryById(1);
+            Currency currency = currencyService.getCurrencyById(1);
+            Status status = statusService.getStatusById(1);
+            for (String description : missingDescriptions) {
+                createdArticles.put(description, new Article(description, category, currency, status, 1.00));
+            }
+            articleRepository.saveAll(createdArticles.values());
+        }
+
+        List<ScanResult> results = new ArrayList<>(scansByEan.size());
+        scansByEan.forEach((ean, scans) -> {
+            BarcodeMapping barcodeMapping = barcodeMappings.get(ean);
+            if (barcodeMapping == null) {
+                results.add(new ScanResult(ean, ScanResult.Outcome.NOT_FOUND, null, scans));
+                return;
+            }
+            Article created = createdArticles.get(barcodeMapping.getDescription());
+            if (created != null) {
+                results.add(new ScanResult(ean, ScanResult.Outcome.CREATED, created.getId(), scans));
+            } else {
+                results.add(new ScanResult(ean, ScanResult.Outcome.EXISTS,
+                        existingArticles.get(barcodeMapping.getDescription()).getId(), scans));
+            }
+        });
+        logger.info("batch of " + eans.size() + " scans created " + createdArticles.size() + " articles");
+        return results;
+    }
+
+    private Map<String, Article> findArticlesByDescription(List<String> descriptions) {
+        Map<String, Article> articles = new HashMap<>();
+        for (int from = 0; from < descriptions.size(); from += DESCRIPTION_QUERY_SIZE) {
+            for (Article article : articleRepository.findAllByDescriptionIn(
+                    descriptions.subList(from, Math.min(from + DESCRIPTION_QUERY_SIZE, descriptions.size())))) {
+                articles.put(article.getDescription(), article);
+            }
+        }
+        return articles;
+    }
+}
@@ -6,18 +6,30 @@ import com.example.warehousesystem.utils.HasLogger;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.io.input.CountingInputStream;
 import org.slf4j.Logger;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 /**
  * @author yasmin.rosskopf
  * This service persists the content of a csv File to the database
@@ -31,6 +43,18 @@ public class CSVImportService implements HasLogger {
     final LocationRepository locationRepository;
     final StatusRepository statusRepository;
     final ArticleRepository articleRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final StockLedgerService stockLedgerService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final List<String> COLUMNS = List.of("Article", "Category", "Amount", "CurrencyCode", "Country", "Status", "Aisle", "Shelf", "Tray", "Quantity");
+    private static final Set<String> INTEGER_COLUMNS = Set.of("Shelf", "Tray", "Quantity");
+
+    @Value("${csv.import.chunk.size}")
+    private int chunkSize;
+
+    @Value("${csv.import.parallelism}")
+    private int parallelism;
 
     /**
      * Custom constructor for the StatusController
@@ -40,40 +64,268 @@ public class CSVImportService implements HasLogger {
      * @param locationRepository repository of the entity location
      * @param statusRepository repository of the entity status
      * @param articleRepository repository of the entity article
+     * @param referenceDataCache application wide cache of the categories, currencies and statuses
+     * @param stockLedgerService service which records the imported quantities as stock movements
+     * @param transactionManager transaction manager used to commit every chunk of rows separately
      */
-    public CSVImportService(CurrencyRepository currencyRepository, WarehouseRepository warehouseRepository, CategoryRepository categoryRepository, LocationRepository locationRepository, StatusRepository statusRepository, ArticleRepository articleRepository) {
+    public CSVImportService(CurrencyRepository currencyRepository, WarehouseRepository warehouseRepository, CategoryRepository categoryRepository, LocationRepository locationRepository, StatusRepository statusRepository, ArticleRepository articleRepository, ReferenceDataCache referenceDataCache, StockLedgerService stockLedgerService, PlatformTransactionManager transactionManager) {
         this.currencyRepository = currencyRepository;
         this.warehouseRepository = warehouseRepository;
         this.categoryRepository = categoryRepository;
         this.locationRepository = locationRepository;
         this.statusRepository = statusRepository;
         this.articleRepository = articleRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.stockLedgerService = stockLedgerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
-     * loops through all rows in the csv file and orchestrates the instantiation of all objects
+     * imports the content of an uploaded csv file in the calling thread
      * @param file the csv file that was uploaded
      */
     public void saveAllEntitiesToDBFromCSV(MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream()) {
+            saveAllEntitiesToDBFromCSV(inputStream, new ImportJob(file.getOriginalFilename(), file.getSize()));
+        } catch (IOException e) {
+            throw new RuntimeException("fail to store csv data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * loops through all rows in the csv file and orchestrates the instantiation of all objects
+     * the rows are read lazily from the parser and committed in chunks of csv.import.chunk.size rows,
+     * so the memory usage does not depend on the size of the file.
+     * If csv.import.parallelism is greater than one, the chunks are split into partitions which are saved concurrently.
+     * If the job is tolerant, invalid rows are written to the rejects file of the job instead of aborting the import.
+     * Gzip compressed files are decompressed while they are read.
+     * @param inputStream the content of the csv file, optionally gzip compressed
+     * @param job the import job which is updated after every committed chunk
+     * @throws IllegalArgumentException if a column is missing in the header of the csv file
+     */
+    public void saveAllEntitiesToDBFromCSV(InputStream inputStream, ImportJob job) {
         log.info("starts importing csv ");
-        try (BufferedReader fileReader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
+        CountingInputStream countingInputStream = new CountingInputStream(inputStream);
+        try (BufferedReader fileReader = new BufferedReader(new InputStreamReader(decompressIfGzip(countingInputStream), StandardCharsets.UTF_8));
              CSVParser csvParser = new CSVParser(fileReader,
-                     CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build())) {
+                     CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build());
+             ImportRejects rejects = job.isTolerant()
+                     ? new ImportRejects(Files.newBufferedWriter(job.getRejectsFile(), StandardCharsets.UTF_8), csvParser.getHeaderNames(), job)
+                     : null) {
 
-            // iterates through every single line in the csv file
-            Iterable<CSVRecord> csvRecords = csvParser.getRecords();
+            validateHeader(csvParser.getHeaderNames());
+            ImportReferenceCache referenceCache = new ImportReferenceCache(referenceDataCache, categoryRepository, currencyRepository, statusRepository, locationRepository);
+            Consumer<List<CSVRecord>> chunkConsumer;
+            PartitionedImport partitionedImport = null;
+            if (parallelism > 1) {
+                partitionedImport = new PartitionedImport(parallelism, referenceCache, rejects, job);
+                chunkConsumer = partitionedImport::dispatch;
+            } else {
+                chunkConsumer = chunk -> job.addProcessedRows(saveRows(chunk, rejects,
+                        rows -> saveCreatingReferenceData(referenceCache, () -> saveChunk(rows, referenceCache))).size());
+            }
 
-            // for every csvRecord (one row in the csv-file) this extracts new objects for currency, category, status and article
-            // and saves it into the DB. If the object already exists, the object gets updated.
-            for (CSVRecord csvRecord : csvRecords) {
-                createWarehouseFromCSV(csvRecord,
-                        createLocationFromCSV(csvRecord),
-                        createArticleFromCSV(csvRecord));
+            try {
+                // iterates through every single line in the csv file, only one chunk of records is held in memory
+                List<CSVRecord> chunk = new ArrayList<>(chunkSize);
+                long lastLine = csvParser.getCurrentLineNumber();
+                for (CSVRecord csvRecord : csvParser) {
+                    if (rejects != null) {
+                        // a row starts on the line after the previous one, a quoted value may span several lines
+                        rejects.startsAtLine(csvRecord, lastLine + 1);
+                        lastLine = csvParser.getCurrentLineNumber();
+                        if (!isValidRecord(csvRecord, rejects)) {
+                            continue;
+                        }
+                    }
+                    chunk.add(csvRecord);
+                    if (chunk.size() >= chunkSize) {
+                        chunkConsumer.accept(chunk);
+                        job.updateBytesRead(countingInputStream.getByteCount());
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    chunkConsumer.accept(chunk);
+                    job.updateBytesRead(countingInputStream.getByteCount());
+                }
+            } finally {
+                if (partitionedImport != null) {
+                    partitionedImport.finish();
+                }
             }
+            log.info("created " + referenceCache.getCreatedEntries() + " new reference data entries");
         } catch (IOException e) {
             throw new RuntimeException("fail to store csv data: " + e.getMessage());
         }
-        log.info("successfully saved csv content to database");
+        log.info("successfully saved csv content to database, " + job.getRowsRejected() + " rows rejected");
+    }
+
+    /**
+     * decompresses a gzip compressed csv file while it is read, the compression is detected by the gzip magic number
+     * @param inputStream the content of the csv file
+     * @return a stream of the uncompressed content
+     * @throws IOException if the start of the file could not be read
+     */
+    private InputStream decompressIfGzip(InputStream inputStream) throws IOException {
+        BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream);
+        bufferedInputStream.mark(2);
+        int magic = bufferedInputStream.read() | (bufferedInputStream.read() << 8);
+        bufferedInputStream.reset();
+        if (magic == GZIPInputStream.GZIP_MAGIC) {
+            return new GZIPInputStream(bufferedInputStream);
+        }
+        return bufferedInputStream;
+    }
+
+    /**
+     * checks that the header of the csv file contains all columns of the import
+     * @param headerNames the header of the csv file
+     * @throws IllegalArgumentException if a column is missing
+     */
+    private void validateHeader(List<String> headerNames) {
+        List<String> missingColumns = new ArrayList<>(COLUMNS);
+        missingColumns.removeAll(headerNames);
+        if (!missingColumns.isEmpty()) {
+            throw new IllegalArgumentException("csv file is missing the columns " + missingColumns);
+        }
+    }
+
+    /**
+     * checks that a row has all values and that the numeric values can be parsed, invalid rows are rejected
+     * @param csvRecord the current row of the csv file
+     * @param rejects the rejected rows of this import
+     * @return true if the row is valid
+     */
+    private boolean isValidRecord(CSVRecord csvRecord, ImportRejects rejects) {
+        if (!csvRecord.isConsistent()) {
+            rejects.reject(csvRecord, "", "row has " + csvRecord.size() + " columns, expected " + csvRecord.getParser().getHeaderNames().size());
+            return false;
+        }
+        for (String column : COLUMNS) {
+            String value = csvRecord.get(column);
+            if (value == null || value.isBlank()) {
+                rejects.reject(csvRecord, column, "value is missing");
+                return false;
+            }
+            try {
+                if (INTEGER_COLUMNS.contains(column)) {
+                    Integer.parseInt(value);
+                } else if (column.equals("Amount")) {
+                    Double.parseDouble(value);
+                }
+            } catch (NumberFormatException e) {
+                rejects.reject(csvRecord, column, "'" + value + "' is not a valid number");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * saves rows with the given action. In a tolerant import a failed action is repeated for every single row
+     * and the rows which still fail are rejected.
+     * @param rows the rows to save
+     * @param rejects the rejected rows of this import, null if the import is not tolerant
+     * @param action saves the given rows in one transaction
+     * @return the rows which were saved
+     */
+    private List<CSVRecord> saveRows(List<CSVRecord> rows, ImportRejects rejects, Consumer<List<CSVRecord>> action) {
+        if (rejects == null) {
+            action.accept(rows);
+            return rows;
+        }
+        try {
+            action.accept(rows);
+            return rows;
+        } catch (RuntimeException e) {
+            log.warn("could not save chunk, saving its rows one by one: " + e.getMessage());
+        }
+        List<CSVRecord> savedRows = new ArrayList<>();
+        for (CSVRecord csvRecord : rows) {
+            try {
+                action.accept(List.of(csvRecord));
+                savedRows.add(csvRecord);
+            } catch (RuntimeException e) {
+                rejects.reject(csvRecord, "", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+        return savedRows;
+    }
+
+    /**
+     * runs an action which may create reference data, the created entries are removed from the cache
+     * if the transaction of the action was rolled back
+     * @param referenceCache the lookup cache for the reference data of this import
+     * @param action the action which runs in its own transaction
+     */
+    private void saveCreatingReferenceData(ImportReferenceCache referenceCache, Runnable action) {
+        try {
+            action.run();
+            referenceCache.commitCreatedEntries();
+        } catch (RuntimeException e) {
+            referenceCache.discardCreatedEntries();
+            throw e;
+        }
+    }
+
+    /**
+     * persists a chunk of rows in its own transaction
+     * for every csvRecord (one row in the csv-file) this extracts new objects for currency, category, status and article
+     * and saves it into the DB. If the object already exists, the object gets updated.
+     * The existing articles and warehouses of the chunk are loaded with one query each, new entries are inserted and
+     * existing entries are updated in JDBC batches when the transaction commits.
+     * @param chunk the rows of the csv file belonging to this chunk
+     * @param referenceCache the lookup cache for the reference data of this import
+     */
+    private void saveChunk(List<CSVRecord> chunk, ImportReferenceCache referenceCache) {
+        transactionTemplate.executeWithoutResult(transactionStatus -> {
+            Map<String, Article> articles = findArticlesOfChunk(chunk);
+            Map<WarehouseKey, Warehouse> warehouses = findWarehousesOfArticles(articles.values());
+            List<StockMovement> movements = new ArrayList<>();
+
+            for (CSVRecord csvRecord : chunk) {
+                createWarehouseFromCSV(csvRecord,
+                        createLocationFromCSV(csvRecord, referenceCache),
+                        createArticleFromCSV(csvRecord, referenceCache, articles),
+                        warehouses, movements);
+            }
+            stockLedgerService.recordMovements(movements);
+        });
+        log.debug("saved chunk of " + chunk.size() + " csv rows");
+    }
+
+    /**
+     * loads all articles of a chunk which already exist in the database with one query
+     * @param chunk the rows of the csv file belonging to this chunk
+     * @return the existing articles mapped by their description
+     */
+    private Map<String, Article> findArticlesOfChunk(List<CSVRecord> chunk) {
+        Set<String> descriptions = new HashSet<>();
+        for (CSVRecord csvRecord : chunk) {
+            descriptions.add(csvRecord.get("Article"));
+        }
+        Map<String, Article> articles = new HashMap<>();
+        for (Article article : articleRepository.findAllByDescriptionIn(descriptions)) {
+            articles.put(article.getDescription(), article);
+        }
+        return articles;
+    }
+
+    /**
+     * loads all warehouse entries of the given articles with one query
+     * @param articles the existing articles of the chunk
+     * @return the existing warehouse entries mapped by article and location
+     */
+    private Map<WarehouseKey, Warehouse> findWarehousesOfArticles(Collection<Article> articles) {
+        Map<WarehouseKey, Warehouse> warehouses = new HashMap<>();
+        if (articles.isEmpty()) {
+            return warehouses;
+        }
+        for (Warehouse warehouse : warehouseRepository.findAllByArticleIn(articles)) {
+            warehouses.put(new WarehouseKey(warehouse.getArticle().getId(), warehouse.getLocation().getId()), warehouse);
+        }
+        return warehouses;
     }
 
     /**
@@ -81,124 +333,223 @@ public class CSVImportService implements HasLogger {
      * @param csvRecord the current row of the csv file
      * @param location the location that was already persisted belonging to this warehouse-entry
      * @param article the article that was already persisted belonging to this warehouse-entre
+     * @param warehouses the warehouse entries of the chunk mapped by article and location
+     * @param movements the stock movements of the chunk, they are recorded together at the end of the chunk
      */
-    private void createWarehouseFromCSV(CSVRecord csvRecord, Location location, Article article) {
-        Warehouse warehouse = new Warehouse(
-                article, location,
-                Integer.parseInt(csvRecord.get("Quantity"))
-        );
+    private void createWarehouseFromCSV(CSVRecord csvRecord, Location location, Article article,
+                                        Map<WarehouseKey, Warehouse> warehouses, List<StockMovement> movements) {
+        int quantity = Integer.parseInt(csvRecord.get("Quantity"));
+        WarehouseKey key = new WarehouseKey(article.getId(), location.getId());
 
         // this extracts new objects for warehouse
         // and saves it into the DB. If the warehouse already exists, the existing warehouse gets updated.
-        if (warehouseRepository.findWarehouseByArticleAndLocation(article, location).isEmpty()) {
+        // The change of the quantity is recorded as a stock movement.
+        Warehouse existingWarehouse = warehouses.get(key);
+        if (existingWarehouse == null) {
+            Warehouse warehouse = new Warehouse(article, location, quantity);
             warehouseRepository.save(warehouse);
+            warehouses.put(key, warehouse);
+            movements.add(new StockMovement(key.articleId(), key.locationId(), quantity, StockMovement.Reason.IMPORTED,
+                    LocalDateTime.now()));
         } else {
-            Warehouse updatedWarehouse = warehouseRepository.findWarehouseByArticleAndLocation(article, location).get();
-            updatedWarehouse.setLocation(warehouse.getLocation());
-            updatedWarehouse.setQuantity(warehouse.getQuantity());
-            updatedWarehouse.setArticle(warehouse.getArticle());
-            updatedWarehouse.setModifiedTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            warehouseRepository.save(updatedWarehouse);
+            movements.add(new StockMovement(key.articleId(), key.locationId(), quantity - existingWarehouse.getQuantity(),
+                    StockMovement.Reason.IMPORTED, LocalDateTime.now()));
+            existingWarehouse.setQuantity(quantity);
+            existingWarehouse.setModifiedTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         }
     }
 
     /**
      * persists an article from a csv into the database
      * @param csvRecord the current row of the csv file
+     * @param referenceCache the lookup cache for the reference data of this import
+     * @param articles the articles of the chunk mapped by their description
      */
-    private Article createArticleFromCSV(CSVRecord csvRecord) {
+    private Article createArticleFromCSV(CSVRecord csvRecord, ImportReferenceCache referenceCache, Map<String, Article> articles) {
 
         Article article = new Article(
                 csvRecord.get("Article"),
-                createCategoryFromCSV(csvRecord),
-                createCurrencyFromCSV(csvRecord),
-                createStatusFromCSV(csvRecord),
+                referenceCache.getCategory(csvRecord.get("Category")),
+                referenceCache.getCurrency(csvRecord.get("CurrencyCode"), csvRecord.get("Country")),
+                referenceCache.getStatus(csvRecord.get("Status")),
                 Double.parseDouble(csvRecord.get("Amount")));
 
-        if (articleRepository.findArticleByDescription(article.getDescription()).isEmpty()) {
+        Article updatedArticle = articles.get(article.getDescription());
+        if (updatedArticle == null) {
+            // the insert is deferred until the chunk is flushed, the table generator assigns the id right away
             articleRepository.save(article);
+            articles.put(article.getDescription(), article);
         } else {
-            Article updatedArticle = articleRepository.findArticleByDescription(article.getDescription()).get();
-
-            updatedArticle.setDescription(article.getDescription());
             updatedArticle.setCategory(article.getCategory());
             updatedArticle.setStatus(article.getStatus());
             updatedArticle.setCurrency(article.getCurrency());
             updatedArticle.setAmount(article.getAmount());
             updatedArticle.setModifiedTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-
-            articleRepository.save(updatedArticle);
             article = updatedArticle;
         }
         return article;
     }
 
     /**
-     * persists a status from a csv into the database
+     * resolves the location of a csv row, the location is persisted if it does not exist yet
      * @param csvRecord the current row of the csv file
+     * @param referenceCache the lookup cache for the reference data of this import
      */
-    private Status createStatusFromCSV(CSVRecord csvRecord) {
-        Status status = new Status(csvRecord.get("Status"));
-
-        Optional<Status> optionalStatus = statusRepository.findStatusByDescription(status.getDescription());
-
-        return saveToRepo(statusRepository, optionalStatus, status);
-    }
-
-    /**
-     * persists a location from a csv into the database
-     * @param csvRecord the current row of the csv file
-     */
-    private Location createLocationFromCSV(CSVRecord csvRecord) {
-        Location location = new Location(
+    private Location createLocationFromCSV(CSVRecord csvRecord, ImportReferenceCache referenceCache) {
+        return referenceCache.getLocation(
                 csvRecord.get("Aisle"),
                 Integer.parseInt(csvRecord.get("Shelf")),
                 Integer.parseInt(csvRecord.get("Tray"))
         );
-        Optional<Location> optionalLocation = locationRepository.findLocationByAisleAndShelfAndTray(location.getAisle(), location.getShelf(), location.getTray());
-
-        return saveToRepo(locationRepository, optionalLocation, location);
     }
 
     /**
-     * persists a category from a csv into the database
-     * @param csvRecord the current row of the csv file
+     * creates the category, currency, status and location of every row of a chunk which do not exist yet
+     * @param chunk the rows of the csv file belonging to this chunk
+     * @param referenceCache the lookup cache for the reference data of this import
      */
-    private Category createCategoryFromCSV(CSVRecord csvRecord) {
-        Category cat = new Category(
-                csvRecord.get("Category")
-        );
-
-        Optional<Category> optionalCategory = categoryRepository.findCategoryByDescription(cat.getDescription());
-
-        return saveToRepo(categoryRepository, optionalCategory, cat);
+    private void saveReferenceDataOfChunk(List<CSVRecord> chunk, ImportReferenceCache referenceCache) {
+        transactionTemplate.executeWithoutResult(transactionStatus -> {
+            for (CSVRecord csvRecord : chunk) {
+                referenceCache.getCategory(csvRecord.get("Category"));
+                referenceCache.getCurrency(csvRecord.get("CurrencyCode"), csvRecord.get("Country"));
+                referenceCache.getStatus(csvRecord.get("Status"));
+                createLocationFromCSV(csvRecord, referenceCache);
+            }
+        });
     }
 
     /**
-     * persists a currency from a csv into the database
-     * @param csvRecord the current row of the csv file
+     * Saves the chunks of one import concurrently in csv.import.parallelism partitions
+     *
+     * The rows are assigned to a partition by the hash of their article description, so all rows of an article and
+     * therefore of an article and location pair are saved by the same thread in the order of the file. Every
+     * partition commits its rows in its own transactions and never touches the articles or warehouses of another one.
+     * The shared reference data is created by the reading thread in a separate transaction before a chunk is handed to
+     * the partitions, so the partitions only read it and cannot deadlock on inserting the same category, currency,
+     * status or location.
      */
-    private Currency createCurrencyFromCSV(CSVRecord csvRecord) {
-        Currency currency = new Currency(
-                csvRecord.get("CurrencyCode"),
-                csvRecord.get("Country")
-        );
-        Optional<Currency> optionalCurrency = currencyRepository.findCurrencyByCurrencyCodeAndCountry(currency.getCurrencyCode(), currency.getCountry());
+    private class PartitionedImport {
+        private static final int QUEUED_CHUNKS_PER_PARTITION = 2;
+
+        private final ImportReferenceCache referenceCache;
+        private final ImportRejects rejects;
+        private final ImportJob job;
+        private final List<BlockingQueue<List<CSVRecord>>> queues = new ArrayList<>();
+        private final List<CSVRecord> endOfImport = new ArrayList<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final ExecutorService executor;
+
+        /**
+         * starts one thread for every partition
+         * @param partitions number of partitions
+         * @param referenceCache the lookup cache for the reference data of this import
+         * @param rejects the rejected rows of this import, null if the import is not tolerant
+         * @param job the import job which is updated after every committed chunk
+         */
+        PartitionedImport(int partitions, ImportReferenceCache referenceCache, ImportRejects rejects, ImportJob job) {
+            this.referenceCache = referenceCache;
+            this.rejects = rejects;
+            this.job = job;
+            this.executor = Executors.newFixedThreadPool(partitions, new CustomizableThreadFactory("csv-import-partition-"));
+            for (int i = 0; i < partitions; i++) {
+                BlockingQueue<List<CSVRecord>> queue = new ArrayBlockingQueue<>(QUEUED_CHUNKS_PER_PARTITION);
+                queues.add(queue);
+                executor.execute(() -> savePartition(queue));
+            }
+        }
+
+        /**
+         * saves the reference data of a chunk and hands its rows to the partitions,
+         * blocks while the queue of a partition is full
+         * @param chunk the rows of the csv file belonging to this chunk
+         */
+        void dispatch(List<CSVRecord> chunk) {
+            throwFailure();
+            List<CSVRecord> resolvedRows = saveRows(chunk, rejects,
+                    rows -> saveCreatingReferenceData(referenceCache, () -> saveReferenceDataOfChunk(rows, referenceCache)));
+
+            List<List<CSVRecord>> partitions = new ArrayList<>(queues.size());
+            for (int i = 0; i < queues.size(); i++) {
+                partitions.add(new ArrayList<>());
+            }
+            for (CSVRecord csvRecord : resolvedRows) {
+                partitions.get(Math.floorMod(csvRecord.get("Article").hashCode(), queues.size())).add(csvRecord);
+            }
+            for (int i = 0; i < queues.size(); i++) {
+                if (!partitions.get(i).isEmpty()) {
+                    put(queues.get(i), partitions.get(i));
+                }
+            }
+        }
 
-        return saveToRepo(currencyRepository, optionalCurrency, currency);
+        /**
+         * waits until all partitions saved their remaining rows
+         * @throws RuntimeException the first exception of a partition
+         */
+        void finish() {
+            for (BlockingQueue<List<CSVRecord>> queue : queues) {
+                put(queue, endOfImport);
+            }
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.info("waiting for the partitions of the csv import");
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("csv import was interrupted");
+            }
+            throwFailure();
+        }
+
+        /**
+         * saves the chunks of one partition until the end of the import,
+         * after a failure the remaining chunks are discarded so the reading thread is not blocked
+         * @param queue the chunks of this partition
+         */
+        private void savePartition(BlockingQueue<List<CSVRecord>> queue) {
+            try {
+                List<CSVRecord> rows;
+                while ((rows = queue.take()) != endOfImport) {
+                    if (failure.get() != null) {
+                        continue;
+                    }
+                    try {
+                        job.addProcessedRows(saveRows(rows, rejects, partition -> saveChunk(partition, referenceCache)).size());
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void put(BlockingQueue<List<CSVRecord>> queue, List<CSVRecord> rows) {
+            try {
+                queue.put(rows);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("csv import was interrupted");
+            }
+        }
+
+        private void throwFailure() {
+            RuntimeException e = failure.get();
+            if (e != null) {
+                throw e;
+            }
+        }
     }
 
     /**
-     * checks if entity already exists in the database and either save it as new or updates the existing one
-     * @param repo the repository to use for database interaction
-     * @param entryFromDatabase the same entry from the database that already exists or not
-     * @param newEntry the entry from the csv to persist or update the entryFromDatabase
-     * @return the entity that is saved or updated to the database
+     * natural key of a warehouse entry
+     * @param articleId id of the article
+     * @param locationId id of the location
      */
-    private <Repo extends JpaRepository, Entity extends BaseEntity> Entity saveToRepo(Repo repo, Optional<Entity> entryFromDatabase, Entity newEntry) {
-        if (entryFromDatabase.isEmpty()) {
-            return (Entity) repo.save(newEntry);
-        }
-        return entryFromDatabase.get();
+    private record WarehouseKey(long articleId, long locationId) {
     }
-}
\ No newline at end of file
+}
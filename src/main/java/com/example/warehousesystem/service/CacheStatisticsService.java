@@ -0,0 +1,41 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.dto.CacheRegionStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Service class which reads the statistics of the regions of the Hibernate second level cache,
+ * the statistics are only collected with hibernate.generate_statistics=true
+ */
+@Service
+public class CacheStatisticsService {
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Custom constructor for the CacheStatisticsService
+     * @param entityManagerFactory factory of the Hibernate session factory which owns the second level cache
+     */
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @return the statistics of every region of the second level cache ordered by region name
+     */
+    public List<CacheRegionStatistics> getCacheRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted()
+                .map(region -> {
+                    org.hibernate.stat.CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+                    return CacheRegionStatistics.of(region, regionStatistics.getHitCount(),
+                            regionStatistics.getMissCount(), regionStatistics.getPutCount());
+                })
+                .toList();
+    }
+}
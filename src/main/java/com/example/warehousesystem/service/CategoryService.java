@@ -1,10 +1,13 @@
 package com.example.warehousesystem.service;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.CategoryRepository;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -30,13 +33,19 @@ public class CategoryService implements HasLogger {
     private final Logger logger = getLogger();
     private final CategoryRepository categoryRepository;
     private final CsvExportService csvExportService;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
-     * Gets a list of all categories
-     * @return list of all categories
+     * Gets one page of categories ordered by id
+     * @param after cursor of the previous page, null for the first page
+     * @param limit maximum number of entries of the page
+     * @return the categories of the page and the cursor of the next page
+     * @throws InvalidFormatEntryException if the cursor or the limit is invalid
      */
-    public List<Category> getAllCategories(){
-        return categoryRepository.findAll();
+    public KeysetPage<Category> getCategoryPage(String after, int limit) throws InvalidFormatEntryException {
+        List<Category> entries = categoryRepository.findByIdGreaterThanOrderByIdAsc(KeysetPagination.afterId(after),
+                KeysetPagination.limit(limit));
+        return KeysetPagination.toPage(entries, limit);
     }
 
     /**
@@ -45,7 +54,7 @@ public class CategoryService implements HasLogger {
      * @return category with provided id
      */
     public Category getCategoryById(long id){
-        return categoryRepository.findById(id).orElseThrow(()->
+        return referenceDataCache.getCategoryById(id).orElseThrow(()->
         new ResourceNotFoundException("Category does not exist with id: " + id));
     }
 
@@ -61,6 +70,7 @@ public class CategoryService implements HasLogger {
             throw new RecordAlreadyExistsException("Category already exists in database!");
         }
         categoryRepository.save(category);
+        referenceDataCache.invalidateCategories();
         return categoryRepository.findCategoryByDescription(category.getDescription()).get();
 
     }
@@ -70,6 +80,7 @@ public class CategoryService implements HasLogger {
      * @param category modified category object
      * @param id id of the category which is to be modified
      */
+    @RetryOnOptimisticLock
     public void modifyCategoryById(Category category,Long id){
         Category updatedCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category does not exist with id: " + id));
@@ -77,6 +88,7 @@ public class CategoryService implements HasLogger {
         updatedCategory.setModifiedTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         logger.info("category with id "+ id+" found and updating...");
         categoryRepository.save(updatedCategory);
+        referenceDataCache.invalidateCategories();
     }
 
     /**
@@ -88,6 +100,7 @@ public class CategoryService implements HasLogger {
                 .orElseThrow(() -> new ResourceNotFoundException("Category does not exist with id: " + id));
         logger.info("category with id "+ id+" found and deleting...");
         categoryRepository.deleteById(id);
+        referenceDataCache.invalidateCategories();
     }
     
     /**
@@ -1,6 +1,6 @@
 package com.example.warehousesystem.service;
 
-import com.example.warehousesystem.entities.*;
+import com.example.warehousesystem.dto.*;
 import com.example.warehousesystem.repository.*;
 import com.example.warehousesystem.utils.HasLogger;
 import lombok.AllArgsConstructor;
@@ -8,17 +8,23 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * @author dejan.kosic
  * CSVExport Service class which provides csv writing capability for all entities
+ *
+ * Every export streams exactly its columns with one projection query, so no entities and none of their eager
+ * associations are loaded and the memory usage does not depend on the number of rows.
  */
 @AllArgsConstructor
 @Service
+@Transactional(readOnly = true)
 public class CsvExportService implements HasLogger {
     private final Logger log = getLogger();
 
@@ -37,17 +43,19 @@ public class CsvExportService implements HasLogger {
      */
     public void writeArticlesToCsv(Writer writer) {
 
-        List<Article> articles = articleRepository.findAll();
-        try (CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+        try (Stream<ArticleExportRow> articles = articleRepository.streamAllForExport();
+             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
             csvPrinter.printRecord("Article Id", "Description", "Category Description", "Amount", "Currency", "Status");
-            for (Article Article : articles) {
+            csvPrinter.flush();
+            for (Iterator<ArticleExportRow> iterator = articles.iterator(); iterator.hasNext(); ) {
+                ArticleExportRow article = iterator.next();
                 csvPrinter.printRecord(
-                        Article.getId(),
-                        Article.getDescription(),
-                        Article.getCategory().getDescription(),
-                        Article.getAmount(),
-                        Article.getCurrency().getCurrencyCode(),
-                        Article.getStatus().getDescription()
+                        article.id(),
+                        article.description(),
+                        article.category(),
+                        article.amount(),
+                        article.currencyCode(),
+                        article.status()
                 );
             }
         } catch (IOException e) {
@@ -61,11 +69,12 @@ public class CsvExportService implements HasLogger {
      */
     public void writeCurrenciesToCsv(Writer writer) {
 
-        List<Currency> currencies = currencyRepository.findAll();
-        try (CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+        try (Stream<CurrencyExportRow> currencies = currencyRepository.streamAllForExport();
+             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
             csvPrinter.printRecord("Currency Id", "Code", "Country");
-            for (Currency currency : currencies) {
-                csvPrinter.printRecord(currency.getId(), currency.getCurrencyCode(), currency.getCountry());
+            for (Iterator<CurrencyExportRow> iterator = currencies.iterator(); iterator.hasNext(); ) {
+                CurrencyExportRow currency = iterator.next();
+                csvPrinter.printRecord(currency.id(), currency.currencyCode(), currency.country());
             }
         } catch (IOException e) {
             log.error("Error writing CSV ", e);
@@ -78,11 +87,12 @@ public class CsvExportService implements HasLogger {
      */
     public void writeLocationsToCsv(Writer writer) {
 
-        List<Location> locations = locationRepository.findAll();
-        try (CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+        try (Stream<LocationExportRow> locations = locationRepository.streamAllForExport();
+             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
             csvPrinter.printRecord("Location Id", "Aisle", "Shelf", "Tray");
-            for (Location location : locations) {
-                csvPrinter.printRecord(location.getId(), location.getAisle(), location.getShelf(), location.getTray());
+            for (Iterator<LocationExportRow> iterator = locations.iterator(); iterator.hasNext(); ) {
+                LocationExportRow location = iterator.next();
+                csvPrinter.printRecord(location.id(), location.aisle(), location.shelf(), location.tray());
             }
         } catch (IOException e) {
             log.error("Error writing CSV ", e);
@@ -94,11 +104,12 @@ public class CsvExportService implements HasLogger {
      * @param writer the printwriter of the HTTP servlet response
      */
     public void writeBarcodeMappingToCsv(Writer writer) {
-        List<BarcodeMapping> barocdeMappingList = barcodeMappingRepository.findAll();
-        try (CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+        try (Stream<BarcodeMappingExportRow> barcodeMappings = barcodeMappingRepository.streamAllForExport();
+             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
             csvPrinter.printRecord("Barcode Id", "EAN", "Description");
-            for (BarcodeMapping barcodeMapping : barocdeMappingList) {
-                csvPrinter.printRecord(barcodeMapping.getId(), barcodeMapping.getEan(),barcodeMapping.getDescription());
+            for (Iterator<BarcodeMappingExportRow> iterator = barcodeMappings.iterator(); iterator.hasNext(); ) {
+                BarcodeMappingExportRow barcodeMapping = iterator.next();
+                csvPrinter.printRecord(barcodeMapping.id(), barcodeMapping.ean(), barcodeMapping.description());
             }
         } catch (IOException e) {
             log.error("Error writing CSV ", e);
@@ -111,11 +122,12 @@ public class CsvExportService implements HasLogger {
      */
     public void writeCategoriesToCsv(Writer writer) {
 
-        List<Category> categories = categoryRepository.findAll();
-        try (CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+        try (Stream<DescriptionExportRow> categories = categoryRepository.streamAllForExport();
+             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
             csvPrinter.printRecord("Category Id", "Description");
-            for (Category category : categories) {
-                csvPrinter.printRecord(category.getId(), category.getDescription());
+            for (Iterator<DescriptionExportRow> iterator = categories.iterator(); iterator.hasNext(); ) {
+                DescriptionExportRow category = iterator.next();
+                csvPrinter.printRecord(category.id(), category.description());
             }
         } catch (IOException e) {
             log.error("Error writing CSV ", e);
@@ -128,11 +140,12 @@ public class CsvExportService implements HasLogger {
      */
     public void writeStatusToCsv(Writer writer) {
 
-        List<Status> statusList = statusRepository.findAll();
-        try (CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+        try (Stream<DescriptionExportRow> statusList = statusRepository.streamAllForExport();
+             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
             csvPrinter.printRecord("Status Id", "Description");
-            for (Status status : statusList) {
-                csvPrinter.printRecord(status.getId(), status.getDescription());
+            for (Iterator<DescriptionExportRow> iterator = statusList.iterator(); iterator.hasNext(); ) {
+                DescriptionExportRow status = iterator.next();
+                csvPrinter.printRecord(status.id(), status.description());
             }
         } catch (IOException e) {
             log.error("Error writing CSV ", e);
@@ -145,22 +158,24 @@ public class CsvExportService implements HasLogger {
      */
     public void writeWarehouseToCsv(Writer writer) {
 
-        List<Warehouse> warehouses = warehouseRepository.findAll();
-        try (CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+        try (Stream<WarehouseExportRow> warehouses = warehouseRepository.streamAllForExport();
+             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
             csvPrinter.printRecord("Warehouse Id", "Quantity", "Article", "Category", "Amount", "CurrencyCode", "Country", "Status", "Aisle", "Shelf","Tray");
-            for (Warehouse warehouse : warehouses) {
+            csvPrinter.flush();
+            for (Iterator<WarehouseExportRow> iterator = warehouses.iterator(); iterator.hasNext(); ) {
+                WarehouseExportRow warehouse = iterator.next();
                 csvPrinter.printRecord(
-                        warehouse.getId(),
-                        warehouse.getQuantity(),
-                        warehouse.getArticle().getDescription(),
-                        warehouse.getArticle().getCategory().getDescription(),
-                        warehouse.getArticle().getAmount(),
-                        warehouse.getArticle().getCurrency().getCurrencyCode(),
-                        warehouse.getArticle().getCurrency().getCountry(),
-                        warehouse.getArticle().getStatus().getDescription(),
-                        warehouse.getLocation().getAisle(),
-                        warehouse.getLocation().getShelf(),
-                        warehouse.getLocation().getTray()
+                        warehouse.id(),
+                        warehouse.quantity(),
+                        warehouse.article(),
+                        warehouse.category(),
+                        warehouse.amount(),
+                        warehouse.currencyCode(),
+                        warehouse.country(),
+                        warehouse.status(),
+                        warehouse.aisle(),
+                        warehouse.shelf(),
+                        warehouse.tray()
                 );
             }
         } catch (IOException e) {
@@ -1,10 +1,13 @@
 package com.example.warehousesystem.service;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Currency;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.CurrencyRepository;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -27,13 +30,19 @@ public class CurrencyService implements HasLogger {
     private final CurrencyRepository currencyRepository;
 
     private final CsvExportService csvExportService;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
-     * Gets a list of all currencies
-     * @return list of all currencies
+     * Gets one page of currencies ordered by id
+     * @param after cursor of the previous page, null for the first page
+     * @param limit maximum number of entries of the page
+     * @return the currencies of the page and the cursor of the next page
+     * @throws InvalidFormatEntryException if the cursor or the limit is invalid
      */
-    public List<Currency> getAllCurrencies(){
-        return currencyRepository.findAll();
+    public KeysetPage<Currency> getCurrencyPage(String after, int limit) throws InvalidFormatEntryException {
+        List<Currency> entries = currencyRepository.findByIdGreaterThanOrderByIdAsc(KeysetPagination.afterId(after),
+                KeysetPagination.limit(limit));
+        return KeysetPagination.toPage(entries, limit);
     }
 
     /**
@@ -42,7 +51,7 @@ public class CurrencyService implements HasLogger {
      * @return currency with provided id
      */
     public Currency getCurrencyById(long id){
-        return currencyRepository.findById(id).orElseThrow(() ->
+        return referenceDataCache.getCurrencyById(id).orElseThrow(() ->
         new ResourceNotFoundException("Currency does not exist with id: " + id));
     }
     /**
@@ -69,6 +78,7 @@ public class CurrencyService implements HasLogger {
             throw new RecordAlreadyExistsException("Currency already exists in database!");
         }
         currencyRepository.save(currency);
+        referenceDataCache.invalidateCurrencies();
         return currencyRepository.findCurrencyByCurrencyCodeAndCountry(currency.getCurrencyCode(),currency.getCountry()).get();
 
     }
@@ -78,6 +88,7 @@ public class CurrencyService implements HasLogger {
      * @param currency modified currency object
      * @param id id of the currency to be modified
      */
+    @RetryOnOptimisticLock
     public void modifyCurrencyById(Currency currency, Long id) {
         Currency updatedCurrency = currencyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Currency does not exist with id: " + id));
@@ -87,6 +98,7 @@ public class CurrencyService implements HasLogger {
         updatedCurrency.setModifiedTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         logger.info("currency with id "+ id+" found and updating...");
         currencyRepository.save(updatedCurrency);
+        referenceDataCache.invalidateCurrencies();
     }
 
     /**
@@ -98,6 +110,7 @@ public class CurrencyService implements HasLogger {
                 .orElseThrow(() -> new ResourceNotFoundException("Currency does not exist with id: " + id));
         logger.info("currency with id "+ id+" found and deleting...");
         currencyRepository.deleteById(id);
+        referenceDataCache.invalidateCurrencies();
     }
 
 }
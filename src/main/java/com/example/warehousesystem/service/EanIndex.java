@@ -0,0 +1,144 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.entities.BarcodeMapping;
+
+/**
+ * In-memory index of the barcode mappings by their ean
+ *
+ * EANs with up to 17 digits are packed into a primitive long key (the digits times 32 plus the number of digits,
+ * so leading zeros stay significant) and stored in an open-addressing hash map with linear probing,
+ * other EANs are not indexed. The key 0 marks an empty slot, removed entries are backward-shifted so no tombstones remain.
+ * Every removal increments the modification count, a mapping loaded from the database is only added if no removal
+ * happened since the lookup started, so a concurrent modification can not leave a stale entry behind.
+ */
+class EanIndex {
+    static final long NOT_INDEXABLE = 0;
+    private static final int MAX_DIGITS = 17;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private BarcodeMapping[] values = new BarcodeMapping[INITIAL_CAPACITY];
+    private int size = 0;
+    private long modificationCount = 0;
+
+    /**
+     * @param ean the ean of a barcode mapping
+     * @return the packed key of the ean, NOT_INDEXABLE if the ean is empty, too long or contains other chars than digits
+     */
+    static long toKey(String ean) {
+        if (ean == null || ean.isEmpty() || ean.length() > MAX_DIGITS) {
+            return NOT_INDEXABLE;
+        }
+        long digits = 0;
+        for (int i = 0; i < ean.length(); i++) {
+            char c = ean.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_INDEXABLE;
+            }
+            digits = digits * 10 + (c - '0');
+        }
+        return digits * 32 + ean.length();
+    }
+
+    /**
+     * @param key packed key of an ean
+     * @return the indexed barcode mapping, null if the ean is not indexed
+     */
+    synchronized BarcodeMapping get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the modification count, to be passed to putIfUnmodified
+     */
+    synchronized long modificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * adds a barcode mapping if no entry was removed since the modification count was read
+     * @param key packed key of the ean of the barcode mapping
+     * @param barcodeMapping the barcode mapping loaded from the database
+     * @param expectedModificationCount the modification count read before the barcode mapping was loaded
+     */
+    synchronized void putIfUnmodified(long key, BarcodeMapping barcodeMapping, long expectedModificationCount) {
+        if (modificationCount != expectedModificationCount) {
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = barcodeMapping;
+    }
+
+    /**
+     * removes the barcode mapping of an ean
+     * @param key packed key of the ean
+     */
+    synchronized void remove(long key) {
+        modificationCount++;
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == 0) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // shifts the following entries of the probe sequence back into the freed slot
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        keys[free] = 0;
+        values[free] = null;
+        size--;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        BarcodeMapping[] oldValues = values;
+        keys = new long[capacity];
+        values = new BarcodeMapping[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.warehousesystem.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one csv import which runs in the background
+ *
+ * The counters are updated by the import thread after every committed chunk and read by the polling endpoint,
+ * the estimated remaining time is derived from the bytes of the file which were read so far.
+ * A tolerant import writes the rows it rejects to a rejects file which can be downloaded after the import.
+ */
+@Getter
+public class ImportJob {
+
+    /**
+     * Lifecycle of an import job
+     */
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String fileName;
+    private final long fileSize;
+    private final Instant submittedAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long bytesRead;
+    private volatile String errorMessage;
+    @JsonIgnore
+    private final Path rejectsFile;
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong rowsRejected = new AtomicLong();
+
+    /**
+     * Creates a queued import job
+     * @param fileName original name of the uploaded file
+     * @param fileSize size of the uploaded file in bytes
+     */
+    public ImportJob(String fileName, long fileSize) {
+        this(fileName, fileSize, null);
+    }
+
+    /**
+     * Creates a queued import job
+     * @param fileName original name of the uploaded file
+     * @param fileSize size of the uploaded file in bytes
+     * @param rejectsFile file for the rejected rows of a tolerant import, null if the import aborts at the first invalid row
+     */
+    public ImportJob(String fileName, long fileSize, Path rejectsFile) {
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.rejectsFile = rejectsFile;
+    }
+
+    /**
+     * marks the job as running
+     */
+    void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    /**
+     * marks the job as successfully completed
+     */
+    void complete() {
+        bytesRead = fileSize;
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    /**
+     * marks the job as failed
+     * @param errorMessage the reason why the import failed
+     */
+    void fail(String errorMessage) {
+        this.errorMessage = errorMessage;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    /**
+     * records the progress after a chunk of rows was committed
+     * @param rows number of rows which were committed
+     */
+    void addProcessedRows(int rows) {
+        rowsProcessed.addAndGet(rows);
+    }
+
+    /**
+     * records how far the file was read
+     * @param bytesRead number of bytes of the file which were read so far
+     */
+    void updateBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    /**
+     * records a row which could not be imported
+     */
+    void addRejectedRow() {
+        rowsRejected.incrementAndGet();
+    }
+
+    /**
+     * @return true if invalid rows are rejected instead of aborting the import
+     */
+    public boolean isTolerant() {
+        return rejectsFile != null;
+    }
+
+    /**
+     * @return true if the job is not running anymore
+     */
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    /**
+     * @return the average number of committed rows per second since the job was started
+     */
+    public double getRowsPerSecond() {
+        long millis = getElapsedMillis();
+        return millis <= 0 ? 0 : getRowsProcessed() * 1000.0 / millis;
+    }
+
+    /**
+     * @return the estimated remaining seconds, null if the job is not running or no progress was made yet
+     */
+    public Long getEtaSeconds() {
+        long read = bytesRead;
+        if (status != Status.RUNNING || read <= 0) {
+            return null;
+        }
+        long remainingBytes = Math.max(0, fileSize - read);
+        return getElapsedMillis() * remainingBytes / read / 1000;
+    }
+
+    private long getElapsedMillis() {
+        Instant start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(start, end).toMillis();
+    }
+}
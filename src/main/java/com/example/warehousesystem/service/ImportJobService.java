@@ -0,0 +1,179 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.exceptions.ResourceNotFoundException;
+import com.example.warehousesystem.utils.HasLogger;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This service runs csv imports in the background and keeps track of their progress
+ *
+ * The uploaded file is copied to a temporary file before the request returns, so the import does not depend
+ * on the multipart request anymore. The jobs are only kept in memory of this instance.
+ */
+@Service
+public class ImportJobService implements HasLogger {
+    private final Logger logger = getLogger();
+    private final CSVImportService csvImportService;
+    private final TaskExecutor importExecutor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${csv.import.jobs.retained}")
+    private int retainedJobs;
+
+    /**
+     * Custom constructor for the ImportJobService
+     * @param csvImportService service which imports the content of a csv file
+     * @param importExecutor bounded executor which runs the imports
+     */
+    public ImportJobService(CSVImportService csvImportService, @Qualifier("importExecutor") TaskExecutor importExecutor) {
+        this.csvImportService = csvImportService;
+        this.importExecutor = importExecutor;
+    }
+
+    /**
+     * copies the uploaded file and submits its import to the executor
+     * @param file the csv file that was uploaded
+     * @param tolerant true if invalid rows are collected in a rejects file instead of aborting the import
+     * @throws IOException if the file could not be copied
+     * @throws TaskRejectedException if too many imports are already queued
+     * @return the queued import job
+     */
+    public ImportJob submit(MultipartFile file, boolean tolerant) throws IOException {
+        Path tempFile = Files.createTempFile("csv-import-", ".csv");
+        Path rejectsFile = null;
+        try {
+            file.transferTo(tempFile);
+            if (tolerant) {
+                rejectsFile = Files.createTempFile("csv-import-rejects-", ".csv");
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(file.getOriginalFilename(), Files.size(tempFile), rejectsFile);
+        jobs.put(job.getId(), job);
+        try {
+            importExecutor.execute(() -> runJob(job, tempFile));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(tempFile);
+            deleteRejectsFile(job);
+            throw e;
+        }
+        logger.info("queued import job " + job.getId() + " for file " + job.getFileName());
+        evictFinishedJobs();
+        return job;
+    }
+
+    /**
+     * Gets an import job by its id
+     * @param id the id of the import job
+     * @throws ResourceNotFoundException if the job does not exist or was already evicted
+     * @return the import job
+     */
+    public ImportJob getJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job with id " + id + " not found.");
+        }
+        return job;
+    }
+
+    /**
+     * writes the rejected rows of a finished tolerant import job to the response
+     * @param id the id of the import job
+     * @param servletResponse encloses the csv-file in the response
+     * @throws ResourceNotFoundException if the job does not exist, is not tolerant or is not finished yet
+     */
+    public void getRejectsCsv(String id, HttpServletResponse servletResponse) throws IOException {
+        ImportJob job = getJob(id);
+        if (!job.isTolerant() || !job.isFinished()) {
+            throw new ResourceNotFoundException("Import job with id " + id + " has no rejects file.");
+        }
+        servletResponse.setContentType("text/csv");
+        servletResponse.addHeader("Content-Disposition", "attachment; filename=\"rejects-" + id + ".csv\"");
+        Files.copy(job.getRejectsFile(), servletResponse.getOutputStream());
+    }
+
+    /**
+     * @return all import jobs which are known to this instance
+     */
+    public List<ImportJob> getAllJobs() {
+        List<ImportJob> allJobs = new ArrayList<>(jobs.values());
+        allJobs.sort(Comparator.comparing(ImportJob::getSubmittedAt));
+        return allJobs;
+    }
+
+    /**
+     * imports the copied file and deletes it afterwards
+     * @param job the job which tracks the progress
+     * @param tempFile the copy of the uploaded file
+     */
+    private void runJob(ImportJob job, Path tempFile) {
+        job.start();
+        logger.info("started import job " + job.getId());
+        try (InputStream inputStream = Files.newInputStream(tempFile)) {
+            csvImportService.saveAllEntitiesToDBFromCSV(inputStream, job);
+            job.complete();
+            logger.info("import job " + job.getId() + " completed with " + job.getRowsProcessed() + " rows, "
+                    + job.getRowsRejected() + " rows rejected");
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            logger.error("import job " + job.getId() + " failed: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                logger.warn("could not delete temporary file " + tempFile);
+            }
+        }
+    }
+
+    /**
+     * removes the oldest finished jobs as soon as more than csv.import.jobs.retained jobs are kept
+     */
+    private void evictFinishedJobs() {
+        int surplus = jobs.size() - retainedJobs;
+        if (surplus <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(ImportJob::isFinished)
+                .sorted(Comparator.comparing(ImportJob::getFinishedAt))
+                .limit(surplus)
+                .toList()
+                .forEach(job -> {
+                    jobs.remove(job.getId());
+                    deleteRejectsFile(job);
+                });
+    }
+
+    private void deleteRejectsFile(ImportJob job) {
+        if (job.getRejectsFile() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(job.getRejectsFile());
+        } catch (IOException e) {
+            logger.warn("could not delete rejects file " + job.getRejectsFile());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.entities.Currency;
+import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.Status;
+import com.example.warehousesystem.repository.CategoryRepository;
+import com.example.warehousesystem.repository.CurrencyRepository;
+import com.example.warehousesystem.repository.LocationRepository;
+import com.example.warehousesystem.repository.StatusRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup cache for the reference data (category, currency, status and location) of one csv import
+ *
+ * The ids of all existing locations are preloaded with one query and mapped by their natural key, categories,
+ * currencies and statuses are resolved through the application wide ReferenceDataCache on their first use.
+ * Rows are resolved as references without a database round-trip; only keys which do not exist yet are inserted.
+ * An instance must only be used for a single import and must be called inside a transaction.
+ * Missing keys must only be created by one thread at a time, lookups of existing keys may run concurrently.
+ * After the transaction which created keys ended, the creating thread must either commit or discard them.
+ */
+class ImportReferenceCache {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final CategoryRepository categoryRepository;
+    private final CurrencyRepository currencyRepository;
+    private final StatusRepository statusRepository;
+    private final LocationRepository locationRepository;
+
+    private final Map<String, Long> categoryIds = new ConcurrentHashMap<>();
+    private final Map<CurrencyKey, Long> currencyIds = new ConcurrentHashMap<>();
+    private final Map<String, Long> statusIds = new ConcurrentHashMap<>();
+    private final Map<LocationKey, Long> locationIds = new ConcurrentHashMap<>();
+
+    private final List<Runnable> uncommittedEntries = new ArrayList<>();
+    private int createdEntries = 0;
+
+    /**
+     * Creates the cache and preloads the natural keys of all existing locations
+     * @param referenceDataCache application wide cache of the categories, currencies and statuses
+     * @param categoryRepository repository of the entity category
+     * @param currencyRepository repository of the entity currency
+     * @param statusRepository repository of the entity status
+     * @param locationRepository repository of the entity location
+     */
+    ImportReferenceCache(ReferenceDataCache referenceDataCache, CategoryRepository categoryRepository,
+                         CurrencyRepository currencyRepository, StatusRepository statusRepository,
+                         LocationRepository locationRepository) {
+        this.referenceDataCache = referenceDataCache;
+        this.categoryRepository = categoryRepository;
+        this.currencyRepository = currencyRepository;
+        this.statusRepository = statusRepository;
+        this.locationRepository = locationRepository;
+
+        for (Object[] row : locationRepository.findAllIdsAndAislesAndShelvesAndTrays()) {
+            locationIds.put(new LocationKey((String) row[1], (Integer) row[2], (Integer) row[3]), (Long) row[0]);
+        }
+    }
+
+    /**
+     * Gets the category with the given description, creates it if it does not exist yet
+     * @param description description of the category
+     * @return a reference to the category
+     */
+    Category getCategory(String description) {
+        Long id = categoryIds.computeIfAbsent(description,
+                d -> referenceDataCache.getCategoryByDescription(d).map(Category::getId).orElse(null));
+        if (id == null) {
+            id = categoryRepository.save(new Category(description)).getId();
+            categoryIds.put(description, id);
+            uncommittedEntries.add(() -> categoryIds.remove(description));
+            createdEntries++;
+        }
+        return categoryRepository.getReferenceById(id);
+    }
+
+    /**
+     * Gets the currency with the given currency code and country, creates it if it does not exist yet
+     * @param currencyCode three character currency code of the currency
+     * @param country country name of the currency
+     * @return a reference to the currency
+     */
+    Currency getCurrency(String currencyCode, String country) {
+        CurrencyKey key = new CurrencyKey(currencyCode, country);
+        Long id = currencyIds.computeIfAbsent(key, k -> referenceDataCache
+                .getCurrencyByCurrencyCodeAndCountry(currencyCode, country).map(Currency::getId).orElse(null));
+        if (id == null) {
+            id = currencyRepository.save(new Currency(currencyCode, country)).getId();
+            currencyIds.put(key, id);
+            uncommittedEntries.add(() -> currencyIds.remove(key));
+            createdEntries++;
+        }
+        return currencyRepository.getReferenceById(id);
+    }
+
+    /**
+     * Gets the status with the given description, creates it if it does not exist yet
+     * @param description description of the status
+     * @return a reference to the status
+     */
+    Status getStatus(String description) {
+        Long id = statusIds.computeIfAbsent(description,
+                d -> referenceDataCache.getStatusByDescription(d).map(Status::getId).orElse(null));
+        if (id == null) {
+            id = statusRepository.save(new Status(description)).getId();
+            statusIds.put(description, id);
+            uncommittedEntries.add(() -> statusIds.remove(description));
+            createdEntries++;
+        }
+        return statusRepository.getReferenceById(id);
+    }
+
+    /**
+     * Gets the location with the given aisle, shelf and tray, creates it if it does not exist yet
+     * @param aisle aisle of the location
+     * @param shelf shelf of the location
+     * @param tray tray of the location
+     * @return a reference to the location
+     */
+    Location getLocation(String aisle, int shelf, int tray) {
+        LocationKey key = new LocationKey(aisle, shelf, tray);
+        Long id = locationIds.get(key);
+        if (id == null) {
+            id = locationRepository.save(new Location(aisle, shelf, tray)).getId();
+            locationIds.put(key, id);
+            uncommittedEntries.add(() -> locationIds.remove(key));
+            createdEntries++;
+        }
+        return locationRepository.getReferenceById(id);
+    }
+
+    /**
+     * marks the entries which were created since the last commit or rollback as committed
+     */
+    void commitCreatedEntries() {
+        uncommittedEntries.clear();
+    }
+
+    /**
+     * forgets the entries which were created since the last commit or rollback because their transaction was
+     * rolled back, so they are created again when they are needed
+     */
+    void discardCreatedEntries() {
+        uncommittedEntries.forEach(Runnable::run);
+        createdEntries -= uncommittedEntries.size();
+        uncommittedEntries.clear();
+    }
+
+    /**
+     * @return the number of reference data rows which were inserted by this import
+     */
+    int getCreatedEntries() {
+        return createdEntries;
+    }
+
+    private record CurrencyKey(String currencyCode, String country) {
+    }
+
+    private record LocationKey(String aisle, int shelf, int tray) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.warehousesystem.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Collects the rows of a tolerant csv import which could not be imported
+ *
+ * Every rejected row is written with the line on which it starts, the column and the reason followed by its original
+ * values, so the rejects file can be corrected and uploaded again. Rows may be rejected by several threads concurrently.
+ */
+class ImportRejects implements Closeable {
+
+    private final CSVPrinter csvPrinter;
+    private final ImportJob job;
+    private final NavigableMap<Long, Long> lineOffsets = new TreeMap<>();
+
+    /**
+     * Creates the rejects file and writes its header
+     * @param writer the writer of the rejects file
+     * @param headerNames the header of the imported csv file
+     * @param job the import job which counts the rejected rows
+     * @throws IOException if the header could not be written
+     */
+    ImportRejects(Writer writer, List<String> headerNames, ImportJob job) throws IOException {
+        this.csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT);
+        this.job = job;
+        List<String> header = new ArrayList<>(List.of("Line", "Column", "Reason"));
+        header.addAll(headerNames);
+        csvPrinter.printRecord(header);
+    }
+
+    /**
+     * writes a rejected row to the rejects file
+     * @param csvRecord the rejected row
+     * @param column the column which caused the rejection, empty if the whole row was rejected
+     * @param reason the reason of the rejection
+     */
+    synchronized void reject(CSVRecord csvRecord, String column, String reason) {
+        List<String> values = new ArrayList<>(List.of(String.valueOf(getLineNumber(csvRecord)), column, reason));
+        values.addAll(csvRecord.toList());
+        try {
+            csvPrinter.printRecord(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not write rejected row", e);
+        }
+        job.addRejectedRow();
+    }
+
+    /**
+     * notes the line on which a row starts when it is read, must be called for the rows in the order of the file.
+     * Only the record numbers at which the distance between record number and line changes are kept, e.g. after
+     * a quoted value which spans several lines, so the memory does not grow with the size of the file.
+     * @param csvRecord the row which was read
+     * @param lineNumber the line of the csv file on which the row starts
+     */
+    synchronized void startsAtLine(CSVRecord csvRecord, long lineNumber) {
+        long offset = lineNumber - csvRecord.getRecordNumber();
+        Map.Entry<Long, Long> last = lineOffsets.lastEntry();
+        if ((last == null ? 1 : last.getValue()) != offset) {
+            lineOffsets.put(csvRecord.getRecordNumber(), offset);
+        }
+    }
+
+    /**
+     * @param csvRecord a row of the csv file
+     * @return the line on which the row starts in the csv file, the header is line 1
+     */
+    synchronized long getLineNumber(CSVRecord csvRecord) {
+        Map.Entry<Long, Long> offset = lineOffsets.floorEntry(csvRecord.getRecordNumber());
+        return csvRecord.getRecordNumber() + (offset == null ? 1 : offset.getValue());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        csvPrinter.close(true);
+    }
+}
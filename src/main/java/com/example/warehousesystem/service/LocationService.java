@@ -1,14 +1,20 @@
 package com.example.warehousesystem.service;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.StockMovement;
+import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.LocationRepository;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.time.Instant;
@@ -29,13 +35,20 @@ public class LocationService implements HasLogger {
     private final Logger logger = getLogger();
     private final LocationRepository locationRepository;
     private CsvExportService csvExportService;
+    private final StockLedgerService stockLedgerService;
 
     /**
-     * Gets a list of all locations
-     * @return list of all locations
+     * Gets one page of locations ordered by id
+     * @param after cursor of the previous page, null for the first page
+     * @param limit maximum number of entries of the page
+     * @param aisle only locations in this aisle, null for all aisles
+     * @return the locations of the page and the cursor of the next page
+     * @throws InvalidFormatEntryException if the cursor or the limit is invalid
      */
-    public List<Location> getAllLocations(){
-        return locationRepository.findAll();
+    public KeysetPage<Location> getLocationPage(String after, int limit, String aisle) throws InvalidFormatEntryException {
+        List<Location> entries = locationRepository.findPage(KeysetPagination.afterId(after), aisle,
+                KeysetPagination.limit(limit));
+        return KeysetPagination.toPage(entries, limit);
     }
 
     /**
@@ -67,6 +80,7 @@ public class LocationService implements HasLogger {
      * @param location modified location object
      * @param id id of the location to be modified
      */
+    @RetryOnOptimisticLock
     public void modifyLocationById(Location location, Long id) {
         Location updatedLocation = locationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Location does not exist with id: " + id));
@@ -80,16 +94,20 @@ public class LocationService implements HasLogger {
     }
 
     /**
-     * deletes a location with provided id
+     * deletes a location with provided id, the removal of the stock of its warehouse entries is recorded in the stock ledger
      * @param id id of the location to be deleted
      */
+    @Transactional
     public void deleteLocationById(long id){
-        locationRepository.findById(id).
+        Location location = locationRepository.findById(id).
                 orElseThrow(() -> new ResourceNotFoundException("Location does not exist with id: " + id));
         logger.info("location with id "+ id+" found and deleting...");
+        for (Warehouse warehouse : location.getWarehouses()) {
+            stockLedgerService.recordMovement(warehouse, -warehouse.getQuantity(), StockMovement.Reason.DELETED);
+        }
         locationRepository.deleteById(id);
     }
-    
+
     /**
      * Saves locations to csv and adds file to HTTP servlet response
      * @param servletResponse HTTP servlet response tho attach the csv file to
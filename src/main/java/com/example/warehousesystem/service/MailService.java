@@ -4,7 +4,6 @@ package com.example.warehousesystem.service;
 
 import com.example.warehousesystem.entities.Article;
 import com.example.warehousesystem.exceptions.NoArticlesFoundForOrderException;
-import com.example.warehousesystem.repository.ArticleRepository;
 import com.example.warehousesystem.utils.CsvCreator;
 import com.example.warehousesystem.utils.HasLogger;
 import jakarta.mail.MessagingException;
@@ -41,16 +40,12 @@ public class MailService implements HasLogger {
 
     private final JavaMailSender mailSender;
 
-    private final ArticleRepository articleRepository;
-
     /**
      * Constructor for the mail service
      * @param mailSender mail sender object with relevant configs
-     * @param articleRepository articles repository for the article order
      */
-    public MailService(JavaMailSender mailSender, ArticleRepository articleRepository) {
+    public MailService(JavaMailSender mailSender) {
         this.mailSender = mailSender;
-        this.articleRepository = articleRepository;
     }
 
     /**
@@ -96,11 +91,10 @@ public class MailService implements HasLogger {
 
     /**
      * Prepares the articles which should be put on the order
-     * @param quantityLimit the quantity limit under which the articles should be ordered
+     * @param articleList the articles to order, see ReorderService
      * @return articles for the order
      */
-    public Map<String,String> prepareArticlesForCsvOrder(int quantityLimit) throws NoArticlesFoundForOrderException{
-        List<Article> articleList = articleRepository.getAllArticlesWithLowQuantity(quantityLimit);
+    public Map<String,String> prepareArticlesForCsvOrder(List<Article> articleList) throws NoArticlesFoundForOrderException{
         LinkedHashMap<String,String> articleMap = new LinkedHashMap<>();
         articleMap.put("Article_No","Description");
         for (Article article : articleList){
@@ -110,7 +104,7 @@ public class MailService implements HasLogger {
             log.info("Articles were found for order!");
         }
         else{
-            log.error("No Articles found to order!");
+            log.info("No Articles found to order!");
             throw new NoArticlesFoundForOrderException("No Articles found to order!");
         }
         return  articleMap;
@@ -16,6 +16,7 @@ import java.util.TimerTask;
  * @author yasmin.rosskopf
  * A component that is started at the startup of the application
  * It starts running a background thread to recurrently send an email
+ * Every run drains the pending reorders, so a run without pending articles sends no mail and reads no totals
  */
 @Component
 public class MailTimer implements HasLogger {
@@ -51,7 +52,9 @@ public class MailTimer implements HasLogger {
                 try {
                     mailController.sendMail();
                     logger.info("Automatic mail was sent");
-                } catch (IOException | NoArticlesFoundForOrderException e ) {
+                } catch (NoArticlesFoundForOrderException e) {
+                    logger.info("no mail was sent, " + e.getMessage());
+                } catch (IOException e) {
                     logger.error("mail was not sent due to " + e.getMessage());
                 }
             }
@@ -0,0 +1,92 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.utils.HasLogger;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Calls the methods annotated with RetryOnOptimisticLock again when they fail with an optimistic lock failure,
+ * i.e. another request modified the same entity since it was read
+ *
+ * The aspect is ordered right before the transaction interceptor, so every attempt runs in a new transaction
+ * and reads the current version of the entities. Between the attempts it waits a random time of up to the backoff
+ * of the attempt, so the conflicting requests do not collide again. Once all attempts failed the last failure is thrown.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticLockRetryAspect implements HasLogger {
+    private final Logger logger = getLogger();
+    private final RetryStatisticsService retryStatisticsService;
+
+    /**
+     * Custom constructor for the OptimisticLockRetryAspect
+     * @param retryStatisticsService service which counts the retries per method
+     */
+    public OptimisticLockRetryAspect(RetryStatisticsService retryStatisticsService) {
+        this.retryStatisticsService = retryStatisticsService;
+    }
+
+    /**
+     * calls the annotated method until it succeeds, fails with another exception or the attempts are exhausted
+     * @param joinPoint the call of the annotated method
+     * @param retryOnOptimisticLock the annotation of the method with its attempts and backoff
+     * @return the result of the successful attempt
+     * @throws Throwable the exception of the method, the optimistic lock failure of the last attempt if all failed
+     */
+    @Around("@annotation(retryOnOptimisticLock)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retryOnOptimisticLock) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        retryStatisticsService.recordInvocation(method);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    retryStatisticsService.recordRecovery(method);
+                }
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= retryOnOptimisticLock.maxAttempts()) {
+                    retryStatisticsService.recordExhaustion(method);
+                    logger.warn(method + " failed after " + attempt + " attempts: " + e.getMessage());
+                    throw e;
+                }
+                retryStatisticsService.recordRetry(method);
+                logger.info(method + " failed with an optimistic lock failure, attempt " + attempt + " is retried");
+                backOff(backoffMillis(attempt, retryOnOptimisticLock), e);
+            }
+        }
+    }
+
+    /**
+     * @param attempt number of the attempt which failed, starting with 1
+     * @param retryOnOptimisticLock the annotation with the backoff of the method
+     * @return a random backoff between the half and the full upper bound of the attempt
+     */
+    static long backoffMillis(int attempt, RetryOnOptimisticLock retryOnOptimisticLock) {
+        long upperBound = Math.min(retryOnOptimisticLock.maxBackoffMillis(),
+                retryOnOptimisticLock.backoffMillis() << Math.min(attempt - 1, 30));
+        return upperBound / 2 + ThreadLocalRandom.current().nextLong(upperBound - upperBound / 2 + 1);
+    }
+
+    private void backOff(long millis, OptimisticLockingFailureException failure) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.entities.BaseEntity;
+import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.entities.Currency;
+import com.example.warehousesystem.entities.Status;
+import com.example.warehousesystem.repository.CategoryRepository;
+import com.example.warehousesystem.repository.CurrencyRepository;
+import com.example.warehousesystem.repository.StatusRepository;
+import com.example.warehousesystem.utils.HasLogger;
+import org.slf4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Application wide cache of the small reference data tables category, currency and status
+ *
+ * Every table is loaded with one query into an immutable snapshot which maps the rows by id and by their natural key.
+ * The snapshots are warmed once the application is ready, so after the seeding of DevConfiguration and ProdConfiguration,
+ * and are dropped by the category, currency and status services after every write. Lookups which miss the snapshot
+ * are read from the database, so rows which were created elsewhere, e.g. by a csv import, are found as well.
+ * The cached entities are detached and shared between threads, they must not be modified.
+ * The cache is local to this instance, it does not see modifications and deletions of other instances.
+ * The three tables are not kept in the Hibernate second level cache in addition, this cache is the only one they have.
+ */
+@Service
+public class ReferenceDataCache implements HasLogger {
+
+    private final Logger logger = getLogger();
+    private final CategoryRepository categoryRepository;
+    private final CurrencyRepository currencyRepository;
+    private final StatusRepository statusRepository;
+
+    private final CachedTable<String, Category> categories;
+    private final CachedTable<CurrencyKey, Currency> currencies;
+    private final CachedTable<String, Status> statuses;
+
+    /**
+     * Custom constructor for the ReferenceDataCache
+     * @param categoryRepository repository of the entity category
+     * @param currencyRepository repository of the entity currency
+     * @param statusRepository repository of the entity status
+     */
+    public ReferenceDataCache(CategoryRepository categoryRepository, CurrencyRepository currencyRepository,
+                              StatusRepository statusRepository) {
+        this.categoryRepository = categoryRepository;
+        this.currencyRepository = currencyRepository;
+        this.statusRepository = statusRepository;
+        this.categories = new CachedTable<>(categoryRepository::findAll, Category::getDescription);
+        this.currencies = new CachedTable<>(currencyRepository::findAll,
+                currency -> new CurrencyKey(currency.getCurrencyCode(), currency.getCountry()));
+        this.statuses = new CachedTable<>(statusRepository::findAll, Status::getDescription);
+    }
+
+    /**
+     * loads all tables once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        logger.info("reference data cache warmed with " + categories.snapshot().byId().size() + " categories, "
+                + currencies.snapshot().byId().size() + " currencies and " + statuses.snapshot().byId().size() + " statuses");
+    }
+
+    /**
+     * @param id id of the category
+     * @return the category with the given id if it exists
+     */
+    public Optional<Category> getCategoryById(long id) {
+        return categories.getById(id).or(() -> categoryRepository.findById(id));
+    }
+
+    /**
+     * @param description description of the category
+     * @return the category with the given description if it exists
+     */
+    public Optional<Category> getCategoryByDescription(String description) {
+        return categories.getByKey(description).or(() -> categoryRepository.findCategoryByDescription(description));
+    }
+
+    /**
+     * @param id id of the currency
+     * @return the currency with the given id if it exists
+     */
+    public Optional<Currency> getCurrencyById(long id) {
+        return currencies.getById(id).or(() -> currencyRepository.findById(id));
+    }
+
+    /**
+     * @param currencyCode three character currency code of the currency
+     * @param country country name of the currency
+     * @return the currency with the given currency code and country if it exists
+     */
+    public Optional<Currency> getCurrencyByCurrencyCodeAndCountry(String currencyCode, String country) {
+        return currencies.getByKey(new CurrencyKey(currencyCode, country))
+                .or(() -> currencyRepository.findCurrencyByCurrencyCodeAndCountry(currencyCode, country));
+    }
+
+    /**
+     * @param id id of the status
+     * @return the status with the given id if it exists
+     */
+    public Optional<Status> getStatusById(long id) {
+        return statuses.getById(id).or(() -> statusRepository.findById(id));
+    }
+
+    /**
+     * @param description description of the status
+     * @return the status with the given description if it exists
+     */
+    public Optional<Status> getStatusByDescription(String description) {
+        return statuses.getByKey(description).or(() -> statusRepository.findStatusByDescription(description));
+    }
+
+    /**
+     * drops the cached categories, they are loaded again with the next lookup
+     */
+    public void invalidateCategories() {
+        categories.invalidate();
+    }
+
+    /**
+     * drops the cached currencies, they are loaded again with the next lookup
+     */
+    public void invalidateCurrencies() {
+        currencies.invalidate();
+    }
+
+    /**
+     * drops the cached statuses, they are loaded again with the next lookup
+     */
+    public void invalidateStatuses() {
+        statuses.invalidate();
+    }
+
+    private record CurrencyKey(String currencyCode, String country) {
+    }
+
+    private record Snapshot<K, T>(Map<Long, T> byId, Map<K, T> byKey) {
+    }
+
+    /**
+     * One cached table, a snapshot which was loaded before the last invalidation is never stored
+     * @param <K> type of the natural key
+     * @param <T> type of the entity
+     */
+    private static final class CachedTable<K, T extends BaseEntity> {
+        private final Supplier<List<T>> loader;
+        private final Function<T, K> naturalKey;
+        private volatile Snapshot<K, T> snapshot;
+        private long generation = 0;
+
+        CachedTable(Supplier<List<T>> loader, Function<T, K> naturalKey) {
+            this.loader = loader;
+            this.naturalKey = naturalKey;
+        }
+
+        Optional<T> getById(long id) {
+            return Optional.ofNullable(snapshot().byId().get(id));
+        }
+
+        Optional<T> getByKey(K key) {
+            return Optional.ofNullable(snapshot().byKey().get(key));
+        }
+
+        Snapshot<K, T> snapshot() {
+            Snapshot<K, T> current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long expectedGeneration;
+            synchronized (this) {
+                expectedGeneration = generation;
+            }
+            Map<Long, T> byId = new HashMap<>();
+            Map<K, T> byKey = new HashMap<>();
+            for (T entity : loader.get()) {
+                byId.put(entity.getId(), entity);
+                byKey.put(naturalKey.apply(entity), entity);
+            }
+            Snapshot<K, T> loaded = new Snapshot<>(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byKey));
+            synchronized (this) {
+                if (generation == expectedGeneration) {
+                    snapshot = loaded;
+                }
+            }
+            return loaded;
+        }
+
+        synchronized void invalidate() {
+            generation++;
+            snapshot = null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.PendingReorder;
+import com.example.warehousesystem.repository.ArticleRepository;
+import com.example.warehousesystem.repository.PendingReorderRepository;
+import com.example.warehousesystem.utils.HasLogger;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service for the articles which have to be reordered
+ *
+ * The StockLedgerService adds an article to the pending reorders when a movement lets its total quantity drop to or
+ * below order.quantity.limit, the order mail reads only the pending articles and removes them once they were ordered.
+ * A pending article which was restocked before the order stays pending and is ordered when it drops again.
+ */
+@Service
+public class ReorderService implements HasLogger {
+
+    private final Logger logger = getLogger();
+    private final PendingReorderRepository pendingReorderRepository;
+    private final ArticleRepository articleRepository;
+
+    @Value("${order.quantity.limit}")
+    private int quantityLimit;
+
+    /**
+     * Custom constructor for the ReorderService
+     * @param pendingReorderRepository repository of the entity pending reorder
+     * @param articleRepository repository of the entity article, reads the pending articles
+     */
+    public ReorderService(PendingReorderRepository pendingReorderRepository, ArticleRepository articleRepository) {
+        this.pendingReorderRepository = pendingReorderRepository;
+        this.articleRepository = articleRepository;
+    }
+
+    /**
+     * @param quantity total quantity of an article
+     * @return true if an article with this total has to be reordered
+     */
+    public boolean isBelowLimit(long quantity) {
+        return quantity <= quantityLimit;
+    }
+
+    /**
+     * Adds articles to the pending reorders with one query for the articles which are already pending,
+     * joins the transaction of the caller if there is one
+     * @param articleIds ids of the articles whose total dropped to or below the limit
+     */
+    @Transactional
+    public void addPendingReorders(Collection<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        Set<Long> newArticleIds = new LinkedHashSet<>(articleIds);
+        for (PendingReorder pendingReorder : pendingReorderRepository.findAllByArticleIdIn(newArticleIds)) {
+            newArticleIds.remove(pendingReorder.getArticleId());
+        }
+        LocalDateTime detectedAt = LocalDateTime.now();
+        List<PendingReorder> pendingReorders = new ArrayList<>(newArticleIds.size());
+        for (Long articleId : newArticleIds) {
+            pendingReorders.add(new PendingReorder(articleId, detectedAt));
+        }
+        pendingReorderRepository.saveAll(pendingReorders);
+    }
+
+    /**
+     * Gets the pending articles which are still at or below the limit
+     * @return the articles to order
+     */
+    @Transactional(readOnly = true)
+    public List<Article> getArticlesToOrder() {
+        return articleRepository.getPendingArticlesWithLowQuantity(quantityLimit);
+    }
+
+    /**
+     * Removes ordered articles from the pending reorders, a later drop below the limit adds them again
+     * @param articles the articles which were ordered
+     */
+    @Transactional
+    public void completeReorders(List<Article> articles) {
+        if (articles.isEmpty()) {
+            return;
+        }
+        pendingReorderRepository.deleteByArticleIdIn(articles.stream().map(Article::getId).toList());
+        logger.info(articles.size() + " pending reorders were completed");
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.warehousesystem.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method which is called again if it fails because another request modified the same entity,
+ * see OptimisticLockRetryAspect
+ *
+ * The method must read the entities it modifies itself, so every attempt works on their current version.
+ * It is only retried if it is not called inside a transaction, the retry would not leave the failed transaction.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RetryOnOptimisticLock {
+    /**
+     * @return maximum number of attempts including the first call
+     */
+    int maxAttempts() default 4;
+
+    /**
+     * @return upper bound of the backoff before the first retry in milliseconds, it doubles with every further retry
+     */
+    long backoffMillis() default 20;
+
+    /**
+     * @return upper bound of the backoff before any retry in milliseconds
+     */
+    long maxBackoffMillis() default 500;
+}
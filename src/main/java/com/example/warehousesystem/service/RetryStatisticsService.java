@@ -0,0 +1,73 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.dto.MethodRetryStatistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls and retries of the methods annotated with RetryOnOptimisticLock per method,
+ * the counters are kept in memory of this instance
+ */
+@Service
+public class RetryStatisticsService {
+    private final Map<String, Counters> countersByMethod = new ConcurrentHashMap<>();
+
+    /**
+     * counts a call of the method
+     * @param method name of the method with its class
+     */
+    public void recordInvocation(String method) {
+        counters(method).invocations.increment();
+    }
+
+    /**
+     * counts a retry of the method after an optimistic lock failure
+     * @param method name of the method with its class
+     */
+    public void recordRetry(String method) {
+        counters(method).retries.increment();
+    }
+
+    /**
+     * counts a call of the method which succeeded after at least one retry
+     * @param method name of the method with its class
+     */
+    public void recordRecovery(String method) {
+        counters(method).recovered.increment();
+    }
+
+    /**
+     * counts a call of the method which still failed after the last attempt
+     * @param method name of the method with its class
+     */
+    public void recordExhaustion(String method) {
+        counters(method).exhausted.increment();
+    }
+
+    /**
+     * @return the counters of every method which was called at least once, ordered by method name
+     */
+    public List<MethodRetryStatistics> getRetryStatistics() {
+        return countersByMethod.entrySet().stream()
+                .map(entry -> new MethodRetryStatistics(entry.getKey(), entry.getValue().invocations.sum(),
+                        entry.getValue().retries.sum(), entry.getValue().recovered.sum(), entry.getValue().exhausted.sum()))
+                .sorted(Comparator.comparing(MethodRetryStatistics::method))
+                .toList();
+    }
+
+    private Counters counters(String method) {
+        return countersByMethod.computeIfAbsent(method, name -> new Counters());
+    }
+
+    private static final class Counters {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
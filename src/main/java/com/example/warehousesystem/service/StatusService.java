@@ -1,10 +1,13 @@
 package com.example.warehousesystem.service;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Status;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.StatusRepository;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -27,13 +30,19 @@ public class StatusService implements HasLogger {
     private final Logger logger = getLogger();
     private final StatusRepository statusRepository;
     private CsvExportService csvExportService;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
-     * Gets a list of all statuses
-     * @return list of all statuses
+     * Gets one page of statuses ordered by id
+     * @param after cursor of the previous page, null for the first page
+     * @param limit maximum number of entries of the page
+     * @return the statuses of the page and the cursor of the next page
+     * @throws InvalidFormatEntryException if the cursor or the limit is invalid
      */
-    public List<Status> getAllStatus(){
-        return statusRepository.findAll();
+    public KeysetPage<Status> getStatusPage(String after, int limit) throws InvalidFormatEntryException {
+        List<Status> entries = statusRepository.findByIdGreaterThanOrderByIdAsc(KeysetPagination.afterId(after),
+                KeysetPagination.limit(limit));
+        return KeysetPagination.toPage(entries, limit);
     }
 
     /**
@@ -42,7 +51,7 @@ public class StatusService implements HasLogger {
      * @return status with provided id
      */
     public Status getStatusById(long id){
-        return statusRepository.findById(id)
+        return referenceDataCache.getStatusById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Status does not exist with id: " + id));
     }
 
@@ -58,6 +67,7 @@ public class StatusService implements HasLogger {
             throw new RecordAlreadyExistsException("Status already exists in database!");
         }
         statusRepository.save(status);
+        referenceDataCache.invalidateStatuses();
         return statusRepository.findStatusByDescription(status.getDescription()).get();
     }
 
@@ -66,6 +76,7 @@ public class StatusService implements HasLogger {
      * @param status modified status object
      * @param id id of the status to be modified
      */
+    @RetryOnOptimisticLock
     public void modifyStatusById(Status status,Long id){
         Status updatedStatus = statusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Status does not exist with id: " + id));
@@ -73,6 +84,7 @@ public class StatusService implements HasLogger {
         updatedStatus.setDescription(status.getDescription());
         updatedStatus.setModifiedTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         statusRepository.save(updatedStatus);
+        referenceDataCache.invalidateStatuses();
     }
 
     /**
@@ -84,6 +96,7 @@ public class StatusService implements HasLogger {
                 .orElseThrow(() -> new ResourceNotFoundException("Status does not exist with id: " + id));
         logger.info("status with id "+ id+" found and deleting...");
         statusRepository.deleteById(id);
+        referenceDataCache.invalidateStatuses();
     }
 
     /**
@@ -0,0 +1,390 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.dto.KeysetPage;
+import com.example.warehousesystem.dto.StockDelta;
+import com.example.warehousesystem.dto.StockLevel;
+import com.example.warehousesystem.dto.TotalChange;
+import com.example.warehousesystem.entities.ArticleStock;
+import com.example.warehousesystem.entities.StockCompaction;
+import com.example.warehousesystem.entities.StockMovement;
+import com.example.warehousesystem.entities.StockSnapshot;
+import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import com.example.warehousesystem.repository.ArticleStockRepository;
+import com.example.warehousesystem.repository.StockCompactionRepository;
+import com.example.warehousesystem.repository.StockMovementRepository;
+import com.example.warehousesystem.repository.StockSnapshotRepository;
+import com.example.warehousesystem.repository.WarehouseRepository;
+import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
+import org.slf4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Service for the append only ledger of stock movements and its snapshots
+ *
+ * The services which change the quantity of a warehouse entry record the change as a movement in the same
+ * transaction, a movement is a plain insert which never waits for a lock of another movement.
+ * The quantity of the warehouse entry stays the current stock, the ledger answers the stock at any point in the past
+ * from the nearest snapshot and the movements since then.
+ * Every movement also adds its delta to the total quantity of the article in ArticleStock, which the low quantity
+ * query reads instead of the warehouse entries. The deltas of a transaction are added to the totals right before
+ * its commit. A total which drops to or below the order limit adds the article to
+ * the pending reorders of the ReorderService.
+ * The stock which existed before the ledger, e.g. in an updated database, gets an opening snapshot at OPENING_TIME.
+ */
+@Service
+public class StockLedgerService implements HasLogger {
+    static final int CHUNK_SIZE = 1000;
+    static final LocalDateTime OPENING_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final Logger logger = getLogger();
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final StockCompactionRepository stockCompactionRepository;
+    private final ArticleStockRepository articleStockRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final ReorderService reorderService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Custom constructor for the StockLedgerService
+     * @param stockMovementRepository repository of the entity stock movement
+     * @param stockSnapshotRepository repository of the entity stock snapshot
+     * @param stockCompactionRepository repository of the completed compactions of the snapshots
+     * @param articleStockRepository repository of the total quantities of the articles
+     * @param warehouseRepository repository of the entity warehouse, read at startup to build missing totals and opening snapshots
+     * @param reorderService service of the pending reorders
+     * @param transactionManager commits every chunk of the startup and of the compaction in its own transaction
+     */
+    public StockLedgerService(StockMovementRepository stockMovementRepository, StockSnapshotRepository stockSnapshotRepository,
+                              StockCompactionRepository stockCompactionRepository, ArticleStockRepository articleStockRepository, WarehouseRepository warehouseRepository,
+                              ReorderService reorderService, PlatformTransactionManager transactionManager) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockSnapshotRepository = stockSnapshotRepository;
+        this.stockCompactionRepository = stockCompactionRepository;
+        this.articleStockRepository = articleStockRepository;
+        this.warehouseRepository = warehouseRepository;
+        this.reorderService = reorderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * initializes the ledger of an existing database once the application is ready, builds the missing totals
+     * and the opening snapshots of the stock which was never recorded as movement
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeLedger() {
+        initializeArticleTotals();
+        recordOpeningStock();
+    }
+
+    /**
+     * builds the totals of all articles from the warehouse entries in one transaction,
+     * if there are none yet, e.g. after an update of an existing database. The articles which are already at or below
+     * the order limit become pending reorders.
+     * @return number of totals which were built
+     */
+    public int initializeArticleTotals() {
+        Integer built = transactionTemplate.execute(status -> {
+            if (articleStockRepository.count() > 0) {
+                return 0;
+            }
+            List<ArticleStock> totals = warehouseRepository.sumQuantitiesByArticle();
+            articleStockRepository.saveAll(totals);
+            reorderService.addPendingReorders(totals.stream()
+                    .filter(total -> reorderService.isBelowLimit(total.getQuantity()))
+                    .map(ArticleStock::getArticleId)
+                    .toList());
+            return totals.size();
+        });
+        if (built > 0) {
+            logger.info("built the total quantity of " + built + " articles");
+        }
+        return built;
+    }
+
+    /**
+     * takes an opening snapshot at OPENING_TIME of every warehouse entry whose quantity is not the sum of its movements
+     * and which has no snapshot yet, e.g. the stock of an updated database which existed before the ledger.
+     * The entries are read in chunks ordered by article and location, every chunk is committed in its own transaction.
+     * @return number of opening snapshots which were taken
+     */
+    public int recordOpeningStock() {
+        int recorded = 0;
+        StockDelta last = new StockDelta(0, 0, 0);
+        List<StockDelta> chunk;
+        do {
+            StockDelta after = last;
+            chunk = transactionTemplate.execute(status -> {
+                List<StockDelta> unrecorded = warehouseRepository.findUnrecordedStock(after.articleId(),
+                        after.locationId(), PageRequest.of(0, CHUNK_SIZE));
+                stockSnapshotRepository.saveAll(unrecorded.stream()
+                        .map(stock -> new StockSnapshot(stock.articleId(), stock.locationId(), stock.delta(), OPENING_TIME))
+                        .toList());
+                return unrecorded;
+            });
+            if (!chunk.isEmpty()) {
+                last = chunk.get(chunk.size() - 1);
+                recorded += chunk.size();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        if (recorded > 0) {
+            logger.info("took the opening snapshot of " + recorded + " warehouse entries without stock movements");
+        }
+        return recorded;
+    }
+
+    /**
+     * Records a movement of a warehouse entry, joins the transaction of the caller if there is one
+     * @param warehouse the warehouse entry whose quantity changed
+     * @param delta number of pieces which were added, negative if pieces were removed, nothing is recorded for 0
+     * @param reason cause of the movement
+     */
+    @Transactional
+    public void recordMovement(Warehouse warehouse, int delta, StockMovement.Reason reason) {
+        recordMovement(warehouse.getArticle().getId(), warehouse.getLocation().getId(), delta, reason);
+    }
+
+    /**
+     * Records a movement of an article at a location and adds it to the total of the article,
+     * joins the transaction of the caller if there is one
+     * @param articleId id of the article
+     * @param locationId id of the location
+     * @param delta number of pieces which were added, negative if pieces were removed, nothing is recorded for 0
+     * @param reason cause of the movement
+     */
+    @Transactional
+    public void recordMovement(long articleId, long locationId, int delta, StockMovement.Reason reason) {
+        recordMovements(List.of(new StockMovement(articleId, locationId, delta, reason, LocalDateTime.now())));
+    }
+
+    /**
+     * Records several movements and adds them to the totals of their articles, joins the transaction of the caller
+     * if there is one. The deltas are collected by article and added to the totals once right before the commit,
+     * so a chunk of a csv import updates them in JDBC batches.
+     * @param movements the movements to record, movements with a delta of 0 are skipped
+     */
+    @Transactional
+    public void recordMovements(List<StockMovement> movements) {
+        List<StockMovement> recordedMovements = new ArrayList<>();
+        for (StockMovement movement : movements) {
+            if (movement.getDelta() != 0) {
+                recordedMovements.add(movement);
+            }
+        }
+        if (recordedMovements.isEmpty()) {
+            return;
+        }
+        stockMovementRepository.saveAll(recordedMovements);
+        TotalChanges totalChanges = currentTotalChanges();
+        for (StockMovement movement : recordedMovements) {
+            totalChanges.deltasByArticle.merge(movement.getArticleId(), (long) movement.getDelta(), Long::sum);
+        }
+    }
+
+    /**
+     * Deletes the total of an article together with the deltas which the current transaction did not add to it yet,
+     * joins the transaction of the caller if there is one
+     * @param articleId id of the deleted article
+     */
+    @Transactional
+    public void deleteArticleTotal(long articleId) {
+        if (TransactionSynchronizationManager.getResource(TotalChanges.class) instanceof TotalChanges totalChanges) {
+            totalChanges.deltasByArticle.remove(articleId);
+        }
+        articleStockRepository.deleteByArticleId(articleId);
+    }
+
+    /**
+     * @return the deltas of the current transaction which are added to the totals before its commit
+     */
+    private TotalChanges currentTotalChanges() {
+        if (TransactionSynchronizationManager.getResource(TotalChanges.class) instanceof TotalChanges totalChanges) {
+            return totalChanges;
+        }
+        TotalChanges totalChanges = new TotalChanges();
+        TransactionSynchronizationManager.bindResource(TotalChanges.class, totalChanges);
+        TransactionSynchronizationManager.registerSynchronization(totalChanges);
+        return totalChanges;
+    }
+
+    /**
+     * adds the deltas to the totals of the articles with conditional updates in the order of the article ids, the
+     * missing totals are created in the same transaction. The rows of the totals are locked from their update until
+     * the commit which follows right after, so the transactions which move the same article, also at different
+     * locations, only wait for each other while they commit. The articles whose total crossed the order limit become
+     * pending reorders, a new total crosses the limit if its first delta is at or below the limit.
+     * @param deltasByArticle the sum of the deltas by article id
+     */
+    private void addToArticleTotals(SortedMap<Long, Long> deltasByArticle) {
+        deltasByArticle.values().removeIf(delta -> delta == 0);
+        if (deltasByArticle.isEmpty()) {
+            return;
+        }
+        // the pending changes of the warehouse entries are written first,
+        // so every transaction locks the warehouse entries before the totals
+        warehouseRepository.flush();
+        List<Long> crossedArticleIds = new ArrayList<>();
+        for (TotalChange change : articleStockRepository.addToTotals(deltasByArticle)) {
+            boolean wasBelowLimit = !change.created() && reorderService.isBelowLimit(change.quantity() - change.delta());
+            if (reorderService.isBelowLimit(change.quantity()) && !wasBelowLimit) {
+                crossedArticleIds.add(change.articleId());
+            }
+        }
+        reorderService.addPendingReorders(crossedArticleIds);
+    }
+
+    /**
+     * The deltas of the movements of one transaction by article id, added to the totals before the commit
+     */
+    private class TotalChanges implements TransactionSynchronization {
+        private final SortedMap<Long, Long> deltasByArticle = new TreeMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            addToArticleTotals(deltasByArticle);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(TotalChanges.class);
+        }
+    }
+
+    /**
+     * Gets one page of the movements of an article at a location ordered by id
+     * @param articleId id of the article
+     * @param locationId id of the location
+     * @param after cursor of the previous page, null for the first page
+     * @param limit maximum number of movements of the page
+     * @return the movements of the page and the cursor of the next page
+     * @throws InvalidFormatEntryException if the cursor or the limit is invalid
+     */
+    public KeysetPage<StockMovement> getMovementPage(long articleId, long locationId, String after, int limit)
+            throws InvalidFormatEntryException {
+        List<StockMovement> movements = stockMovementRepository.findPage(articleId, locationId,
+                KeysetPagination.afterId(after), KeysetPagination.limit(limit));
+        return KeysetPagination.toPage(movements, limit);
+    }
+
+    /**
+     * Calculates the quantity of an article at a location at a point in time from the latest snapshot
+     * taken at or before that time and the movements after the snapshot
+     * @param articleId id of the article
+     * @param locationId id of the location
+     * @param at the point in time
+     * @return the quantity at that time
+     */
+    @Transactional(readOnly = true)
+    public StockLevel getStockAt(long articleId, long locationId, LocalDateTime at) {
+        Optional<StockSnapshot> snapshot = stockSnapshotRepository
+                .findFirstByArticleIdAndLocationIdAndTakenAtLessThanEqualOrderByTakenAtDesc(articleId, locationId, at);
+        LocalDateTime replayedFrom = snapshot.map(StockSnapshot::getTakenAt).orElse(null);
+        long quantity = snapshot.map(StockSnapshot::getQuantity).orElse(0L)
+                + stockMovementRepository.sumDeltas(articleId, locationId, replayedFrom, at);
+        return new StockLevel(articleId, locationId, at, quantity, replayedFrom);
+    }
+
+    /**
+     * Folds the movements since the latest completed compaction into new snapshots taken at the given time
+     *
+     * Only the articles and locations which moved get a new snapshot, the others keep their previous one.
+     * The sums of the movements are read in chunks ordered by article and location, every chunk is committed in its
+     * own transaction and the run is saved as StockCompaction after the last chunk. The snapshots of a run which
+     * stopped after some chunks are correct for their time but are not used as base, the next run starts again after
+     * the latest completed compaction.
+     * Movements which are committed later with an earlier time than the given time are not folded,
+     * so the time must lag behind the longest transaction which records movements.
+     * @param until time of the new snapshots, all movements up to and including this time are folded
+     * @return number of snapshots which were taken
+     */
+    public int compactSnapshots(LocalDateTime until) {
+        LocalDateTime from = stockCompactionRepository.findLatestCompactedUntil().orElse(OPENING_TIME);
+        if (!until.isAfter(from)) {
+            return 0;
+        }
+        int taken = 0;
+        StockDelta last = new StockDelta(0, 0, 0);
+        List<StockDelta> chunk;
+        do {
+            StockDelta after = last;
+            chunk = transactionTemplate.execute(status -> {
+                List<StockDelta> deltas = stockMovementRepository.sumDeltasByArticleAndLocation(from, until,
+                        after.articleId(), after.locationId(), PageRequest.of(0, CHUNK_SIZE));
+                takeSnapshots(deltas, from, until);
+                return deltas;
+            });
+            if (!chunk.isEmpty()) {
+                last = chunk.get(chunk.size() - 1);
+                taken += chunk.size();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        transactionTemplate.executeWithoutResult(status -> stockCompactionRepository.save(new StockCompaction(until)));
+        logger.info("took " + taken + " stock snapshots of the movements until " + until);
+        return taken;
+    }
+
+    /**
+     * takes the snapshots of one chunk, the quantity is the latest snapshot taken at or before the previous
+     * compaction plus the sum of the movements since then
+     * @param chunk the sums of the movements since the previous compaction
+     * @param from time of the previous compaction
+     * @param until time of the new snapshots
+     */
+    private void takeSnapshots(List<StockDelta> chunk, LocalDateTime from, LocalDateTime until) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<StockKey, Long> quantities = findLatestQuantities(chunk, from);
+        List<StockSnapshot> snapshots = new ArrayList<>(chunk.size());
+        for (StockDelta delta : chunk) {
+            long quantity = quantities.getOrDefault(new StockKey(delta.articleId(), delta.locationId()), 0L) + delta.delta();
+            snapshots.add(new StockSnapshot(delta.articleId(), delta.locationId(), quantity, until));
+        }
+        stockSnapshotRepository.saveAll(snapshots);
+    }
+
+    /**
+     * loads the latest snapshots of the articles of a chunk with one query
+     * @param chunk the sums of the movements since the previous compaction
+     * @param from time of the previous compaction, later snapshots are ignored
+     * @return the quantities of the latest snapshots by article and location
+     */
+    private Map<StockKey, Long> findLatestQuantities(List<StockDelta> chunk, LocalDateTime from) {
+        Set<Long> articleIds = new HashSet<>();
+        for (StockDelta delta : chunk) {
+            articleIds.add(delta.articleId());
+        }
+        Map<StockKey, Long> quantities = new HashMap<>();
+        for (StockSnapshot snapshot : stockSnapshotRepository.findLatestByArticleIdIn(articleIds, from)) {
+            quantities.put(new StockKey(snapshot.getArticleId(), snapshot.getLocationId()), snapshot.getQuantity());
+        }
+        return quantities;
+    }
+
+    /**
+     * article and location of a movement or snapshot
+     */
+    private record StockKey(long articleId, long locationId) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.utils.HasLogger;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * A component that is started at the startup of the application
+ * It starts running a background thread which recurrently folds the stock movements into stock snapshots
+ *
+ * The snapshots are taken stock.snapshot.lag milliseconds in the past, so movements of transactions which are still
+ * running when the timer fires are folded by the next run.
+ */
+@Component
+public class StockSnapshotTimer implements HasLogger {
+
+    @Value("${stock.snapshot.period}")
+    private long period;
+    @Value("${stock.snapshot.delay}")
+    private long delay;
+    @Value("${stock.snapshot.lag}")
+    private long lag;
+    private final Logger logger = getLogger();
+    private final StockLedgerService stockLedgerService;
+
+    public StockSnapshotTimer(StockLedgerService stockLedgerService) {
+        this.stockLedgerService = stockLedgerService;
+    }
+
+    /**
+     * After dependency injection is done and the values are read from the property file,
+     * the method to start the thread can be called
+     */
+    @PostConstruct
+    public void init() {
+        this.scheduleRecurrently();
+        logger.info("StockSnapshotTimer started");
+    }
+
+    /**
+     * starts the actual background thread to recurrently take the snapshots,
+     * a failed run is logged and repeated with the next period
+     */
+    public void scheduleRecurrently() {
+        TimerTask task = new TimerTask() {
+
+            public void run() {
+                try {
+                    stockLedgerService.compactSnapshots(LocalDateTime.now().minus(lag, ChronoUnit.MILLIS));
+                } catch (RuntimeException e) {
+                    logger.error("stock snapshots were not taken due to " + e.getMessage());
+                }
+            }
+        };
+        Timer timer = new Timer("StockSnapshotTimer", true);
+        timer.scheduleAtFixedRate(task, delay, period);
+    }
+}
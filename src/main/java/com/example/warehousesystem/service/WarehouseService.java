@@ -1,16 +1,21 @@
 package com.example.warehousesystem.service;
 
+import com.example.warehousesystem.dto.KeysetPage;
+import com.example.warehousesystem.entities.StockMovement;
 import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InsufficientStockException;
 import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.WarehouseRepository;
 import com.example.warehousesystem.utils.HasLogger;
+import com.example.warehousesystem.utils.KeysetPagination;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -21,20 +26,49 @@ import java.util.Optional;
 /**
  * @author yasmin.rosskopf
  * Service class for the warehouse controller
+ *
+ * Every change of the quantity of a warehouse entry is recorded in the stock ledger in the same transaction.
  */
 @Service
-@AllArgsConstructor
 public class WarehouseService implements HasLogger {
     private final Logger logger = getLogger();
     private final WarehouseRepository warehouseRepository;
     private CsvExportService csvExportService;
+    private final StockLedgerService stockLedgerService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Gets a list of all warehouse entries
-     * @return list of all warehouses entries
+     * Custom constructor for the WarehouseService
+     * @param warehouseRepository repository of the entity warehouse
+     * @param csvExportService service which writes the csv export
+     * @param stockLedgerService service which records the stock movements
+     * @param transactionManager commits a new warehouse entry together with its movement
      */
-    public List<Warehouse> getAllWarehouses() {
-        return warehouseRepository.findAll();
+    public WarehouseService(WarehouseRepository warehouseRepository, CsvExportService csvExportService,
+                            StockLedgerService stockLedgerService, PlatformTransactionManager transactionManager) {
+        this.warehouseRepository = warehouseRepository;
+        this.csvExportService = csvExportService;
+        this.stockLedgerService = stockLedgerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Gets one page of warehouse entries ordered by id
+     * @param after cursor of the previous page, null for the first page
+     * @param limit maximum number of entries of the page
+     * @param categoryId only entries with articles of this category, null for all categories
+     * @param statusId only entries with articles with this status, null for all statuses
+     * @param aisle only entries in this aisle, null for all aisles
+     * @param minQuantity only entries with at least this quantity, null for no lower bound
+     * @param maxQuantity only entries with at most this quantity, null for no upper bound
+     * @return the warehouse entries of the page and the cursor of the next page
+     * @throws InvalidFormatEntryException if the cursor or the limit is invalid
+     */
+    public KeysetPage<Warehouse> getWarehousePage(String after, int limit, Long categoryId, Long statusId, String aisle,
+                                                  Integer minQuantity, Integer maxQuantity) throws InvalidFormatEntryException {
+        List<Warehouse> entries = warehouseRepository.findPage(KeysetPagination.afterId(after), categoryId, statusId, aisle,
+                minQuantity, maxQuantity, KeysetPagination.limit(limit));
+        return KeysetPagination.toPage(entries, limit);
     }
 
     /**
@@ -66,7 +100,10 @@ public class WarehouseService implements HasLogger {
             logger.error("Not a positive number entered!");
             throw new InvalidFormatEntryException("Please enter a positive number for the quantity!");
         }
-        warehouseRepository.save(warehouse);
+        transactionTemplate.executeWithoutResult(transactionStatus -> {
+            warehouseRepository.save(warehouse);
+            stockLedgerService.recordMovement(warehouse, warehouse.getQuantity(), StockMovement.Reason.CREATED);
+        });
         //important: don't return the warehouseRepository.save(warehouse) immediately, because it's dependencies are set to null (e.g. article = null)
         return warehouseRepository.findWarehouseByArticleAndLocation(warehouse.getArticle(), warehouse.getLocation()).orElse(warehouse);
     }
@@ -76,6 +113,8 @@ public class WarehouseService implements HasLogger {
      * @param warehouse modified warehouse entry object
      * @param id id of the warehouse entry to be modified
      */
+    @RetryOnOptimisticLock
+    @Transactional
     public void modifyWarehouseById(Warehouse warehouse, Long id) throws InvalidFormatEntryException {
         Warehouse updatedWarehouse = warehouseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse does not exist with id: " + id));
@@ -84,13 +123,56 @@ public class WarehouseService implements HasLogger {
             throw new InvalidFormatEntryException("Please enter a positive number for the quantity!");
         }
         logger.info("warehouse with id "+ id+" found and updating...");
+        Warehouse previousWarehouse = new Warehouse(updatedWarehouse.getArticle(), updatedWarehouse.getLocation(),
+                updatedWarehouse.getQuantity());
         updatedWarehouse.setLocation(warehouse.getLocation());
         updatedWarehouse.setQuantity(warehouse.getQuantity());
         updatedWarehouse.setArticle(warehouse.getArticle());
         updatedWarehouse.setModifiedTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         warehouseRepository.save(updatedWarehouse);
+        if (previousWarehouse.getArticle().getId() == warehouse.getArticle().getId()
+                && previousWarehouse.getLocation().getId() == warehouse.getLocation().getId()) {
+            stockLedgerService.recordMovement(updatedWarehouse, warehouse.getQuantity() - previousWarehouse.getQuantity(),
+                    StockMovement.Reason.MODIFIED);
+        } else {
+            // the stock moved to another article or location, both movements are recorded with one call,
+            // so the totals of both articles are updated together in the order of their ids
+            LocalDateTime movedAt = LocalDateTime.now();
+            stockLedgerService.recordMovements(List.of(
+                    new StockMovement(previousWarehouse.getArticle().getId(), previousWarehouse.getLocation().getId(),
+                            -previousWarehouse.getQuantity(), StockMovement.Reason.MODIFIED, movedAt),
+                    new StockMovement(updatedWarehouse.getArticle().getId(), updatedWarehouse.getLocation().getId(),
+                            warehouse.getQuantity(), StockMovement.Reason.MODIFIED, movedAt)));
+        }
     }
 
+    /**
+     * Adds a signed delta to the quantity of a warehouse entry
+     *
+     * The adjustment is one conditional update in the database, so concurrent adjustments of the same entry
+     * neither lose updates nor have to be retried, unlike modifyWarehouseById which overwrites the quantity.
+     * @param id id of the warehouse entry
+     * @param delta number of pieces to add, negative to remove pieces
+     * @return the warehouse entry with the adjusted quantity
+     * @throws InvalidFormatEntryException if the delta is zero
+     * @throws InsufficientStockException if the quantity would become negative, the entry is left unchanged
+     */
+    @Transactional
+    public Warehouse adjustQuantity(long id, int delta) throws InvalidFormatEntryException, InsufficientStockException {
+        if (delta == 0) {
+            throw new InvalidFormatEntryException("Please enter a delta other than zero!");
+        }
+        String modifiedTimestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        if (warehouseRepository.adjustQuantity(id, delta, modifiedTimestamp) == 0) {
+            if (!warehouseRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Warehouse does not exist with id: " + id);
+            }
+            throw new InsufficientStockException("Warehouse with id " + id + " has less than " + -delta + " pieces in stock!");
+        }
+        Warehouse warehouse = getWarehouseById(id);
+        stockLedgerService.recordMovement(warehouse, delta, StockMovement.Reason.ADJUSTED);
+        return warehouse;
+    }
 
     /**
      * deletes warehouse entry with provided id
@@ -98,9 +180,10 @@ public class WarehouseService implements HasLogger {
      */
     @Transactional
     public void deleteWarehouseById(long id) {
-        warehouseRepository.findById(id).
+        Warehouse warehouse = warehouseRepository.findById(id).
                 orElseThrow(() -> new ResourceNotFoundException("Warehouse does not exist with id: " + id));
         logger.info("warehouse with id "+ id+" found and deleting...");
+        stockLedgerService.recordMovement(warehouse, -warehouse.getQuantity(), StockMovement.Reason.DELETED);
         warehouseRepository.deleteWarehousebyId(id);
     }
     
@@ -7,6 +7,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author dejan.kosic
@@ -15,6 +16,7 @@ import java.util.Map;
 public class CsvCreator implements HasLogger{
     Logger logger = getLogger();
     private static final String TYPE = "text/csv";
+    private static final Set<String> GZIP_TYPES = Set.of("application/gzip", "application/x-gzip");
 
     /**
      * Creates a file with content
@@ -41,11 +43,16 @@ public class CsvCreator implements HasLogger{
     }
 
     /**
-     * checks if the uploaded file has a csv format
+     * checks if the uploaded file has a csv format, gzip compressed csv files with the extension .csv.gz are accepted
      * @param file the uploaded file
      */
     public static boolean hasCSVFormat(MultipartFile file) {
-        return TYPE.equals(file.getContentType());
+        if (TYPE.equals(file.getContentType())) {
+            return true;
+        }
+        return GZIP_TYPES.contains(file.getContentType())
+                && file.getOriginalFilename() != null
+                && file.getOriginalFilename().toLowerCase().endsWith(".csv.gz");
     }
 
 }
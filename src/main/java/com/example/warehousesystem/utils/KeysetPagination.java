@@ -0,0 +1,90 @@
+package com.example.warehousesystem.utils;
+
+import com.example.warehousesystem.dto.KeysetPage;
+import com.example.warehousesystem.entities.BaseEntity;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Helper for the keyset pagination of the list endpoints
+ *
+ * A page contains the entries with an id greater than the id in the cursor, ordered by id, so every page is read
+ * with an index range scan on the primary key and page N costs the same as page 1. A filtered page is read through
+ * the composite index of the filter column and the id, the filters are added by the KeysetPageRepository only if they are set.
+ * The cursor of the next page is returned in the X-Next-Cursor header and is opaque for the clients.
+ */
+public final class KeysetPagination {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String DEFAULT_LIMIT = "100";
+    public static final int MAX_LIMIT = 1000;
+    private static final String CURSOR_PREFIX = "id:";
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * decodes the id of the last entry of the previous page
+     * @param cursor the cursor of the previous page, null for the first page
+     * @return the id after which the page starts
+     * @throws InvalidFormatEntryException if the cursor was not created by this application
+     */
+    public static long afterId(String cursor) throws InvalidFormatEntryException {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the exception below, NumberFormatException is an IllegalArgumentException as well
+        }
+        throw new InvalidFormatEntryException("Invalid cursor: " + cursor);
+    }
+
+    /**
+     * @param limit the maximum number of entries of a page
+     * @return a page request which limits the query to the given number of entries
+     * @throws InvalidFormatEntryException if the limit is lower than one or greater than MAX_LIMIT
+     */
+    public static Pageable limit(int limit) throws InvalidFormatEntryException {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidFormatEntryException("The limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return PageRequest.of(0, limit);
+    }
+
+    /**
+     * creates a page from the entries of a query which was limited with limit(int)
+     * @param items the entries of the page ordered by id
+     * @param limit the maximum number of entries of a page
+     * @return the page with the cursor of the next page if the page is full
+     */
+    public static <T extends BaseEntity> KeysetPage<T> toPage(List<T> items, int limit) {
+        String nextCursor = null;
+        if (items.size() == limit) {
+            String lastId = CURSOR_PREFIX + items.get(items.size() - 1).getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+        }
+        return new KeysetPage<>(items, nextCursor);
+    }
+
+    /**
+     * @param page a page of a list endpoint
+     * @return a response with the entries of the page in the body and the cursor of the next page in the header
+     */
+    public static <T> ResponseEntity<List<T>> toResponse(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.warehousesystem.config;
+
+import com.example.warehousesystem.ManagementToolApplication;
+import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.ArticleStock;
+import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.repository.ArticleRepository;
+import com.example.warehousesystem.repository.ArticleStockRepository;
+import com.example.warehousesystem.repository.CategoryRepository;
+import com.example.warehousesystem.repository.CurrencyRepository;
+import com.example.warehousesystem.repository.LocationRepository;
+import com.example.warehousesystem.repository.PendingReorderRepository;
+import com.example.warehousesystem.repository.StatusRepository;
+import com.example.warehousesystem.repository.StockMovementRepository;
+import com.example.warehousesystem.repository.WarehouseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for the bulk seeding of the dev profile
+ * seeds a small data set into its own in-memory database
+ */
+@ActiveProfiles(profiles = {"dev", "h2"})
+@SpringBootTest(classes = ManagementToolApplication.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:devdataseeder;DB_CLOSE_DELAY=-1",
+        "warehouse.seed.articles=1000",
+        "warehouse.seed.locations=100",
+        "warehouse.seed.stock-per-article=2",
+        "warehouse.seed.batch-size=300"})
+class DevDataSeederTest {
+
+    @Autowired
+    private DevDataSeeder devDataSeeder;
+    @Autowired
+    private ArticleRepository articleRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CurrencyRepository currencyRepository;
+    @Autowired
+    private StatusRepository statusRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+    @Autowired
+    private ArticleStockRepository articleStockRepository;
+    @Autowired
+    private PendingReorderRepository pendingReorderRepository;
+
+    /**
+     * Test for the seeding at startup, DevConfiguration adds one article, four locations and one warehouse entry
+     * @result the seeded articles, locations, warehouse entries and their stock movements exist in addition to the dev data
+     */
+    @Test
+    void seedsDataSet_When_applicationIsReady() {
+        assertTrue(articleRepository.count() >= 1001);
+        assertTrue(locationRepository.count() >= 104);
+        assertTrue(warehouseRepository.count() >= 2001);
+        assertTrue(stockMovementRepository.count() >= 2001);
+        assertTrue(articleRepository.findArticleByDescription(DevDataSeeder.articleDescription(999)).isPresent());
+    }
+
+    /**
+     * Test for the seeded totals at or below order.quantity.limit of 250
+     * @result every low total is a pending reorder
+     */
+    @Test
+    void addsPendingReorders_When_seededTotalsAreLow() {
+        List<Long> lowArticleIds = articleStockRepository.findAll().stream()
+                .filter(total -> total.getQuantity() <= 250)
+                .map(ArticleStock::getArticleId)
+                .toList();
+
+        assertTrue(lowArticleIds.size() > 0);
+        assertEquals(lowArticleIds.size(), pendingReorderRepository.findAllByArticleIdIn(lowArticleIds).size());
+    }
+
+    /**
+     * Test for a second seeding run
+     * @result nothing is seeded if the data set already exists
+     */
+    @Test
+    void skipsSeeding_When_dataSetExists() {
+        long articles = articleRepository.count();
+        long warehouses = warehouseRepository.count();
+
+        devDataSeeder.seed();
+
+        assertEquals(articles, articleRepository.count());
+        assertEquals(warehouses, warehouseRepository.count());
+    }
+
+    /**
+     * Test for the ids Hibernate generates after the seeding
+     * @result new entities get ids after the seeded ones
+     */
+    @Test
+    void generatesFreeIds_When_entitiesAreSavedAfterSeeding() {
+        long articles = articleRepository.count();
+        long locations = locationRepository.count();
+        long warehouses = warehouseRepository.count();
+
+        Article article = articleRepository.save(new Article("Article after seeding", categoryRepository.findAll().get(0),
+                currencyRepository.findAll().get(0), statusRepository.findAll().get(0), 1.0));
+        Location location = locationRepository.save(new Location("Z", 1, 1));
+        warehouseRepository.save(new Warehouse(article, location, 5));
+
+        assertEquals(articles + 1, articleRepository.count());
+        assertEquals(locations + 1, locationRepository.count());
+        assertEquals(warehouses + 1, warehouseRepository.count());
+    }
+}
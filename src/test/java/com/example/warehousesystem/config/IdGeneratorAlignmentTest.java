@@ -0,0 +1,73 @@
+package com.example.warehousesystem.config;
+
+import com.example.warehousesystem.ManagementToolApplication;
+import com.example.warehousesystem.entities.Status;
+import com.example.warehousesystem.repository.StatusRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for the alignment of the id generator with an existing database
+ * starts against its own in-memory database whose status table already contains rows with auto increment ids
+ * and which is only updated, not recreated, by the schema management
+ */
+@ActiveProfiles(profiles = {"dev", "h2"})
+@SpringBootTest(classes = ManagementToolApplication.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=" + IdGeneratorAlignmentTest.URL,
+        "spring.jpa.hibernate.ddl-auto=update"})
+class IdGeneratorAlignmentTest {
+    static final String URL = "jdbc:h2:mem:idgeneratoralignment;DB_CLOSE_DELAY=-1";
+    private static final int EXISTING_STATUSES = 120;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    /**
+     * creates the status table of an existing database with ids 1 to 120 before the application starts
+     * @throws SQLException if the table could not be created
+     */
+    @BeforeAll
+    static void createExistingStatuses() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE status (id BIGINT AUTO_INCREMENT PRIMARY KEY, version INTEGER DEFAULT 1 NOT NULL, "
+                    + "created_timestamp VARCHAR(255) NOT NULL, modified_timestamp VARCHAR(255) NOT NULL, "
+                    + "description VARCHAR(255) NOT NULL UNIQUE)");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO status (created_timestamp, "
+                    + "modified_timestamp, description) VALUES ('2023-01-01 00:00:00', '2023-01-01 00:00:00', ?)")) {
+                for (int status = 1; status <= EXISTING_STATUSES; status++) {
+                    insert.setString(1, "EXISTING-" + status);
+                    insert.executeUpdate();
+                }
+            }
+        }
+    }
+
+    /**
+     * Test for the statuses which the dev profile creates at startup and a status which is created afterwards
+     * @result the new statuses get ids above the existing ones instead of failing on a duplicate id
+     */
+    @Test
+    void allocatesIdsAboveExistingRows_When_tableWasFilledWithoutGenerator() {
+        Status active = statusRepository.findStatusByDescription("ACTIVE").orElseThrow();
+        Status created = statusRepository.save(new Status("ARCHIVED"));
+
+        assertTrue(active.getId() > EXISTING_STATUSES);
+        assertTrue(created.getId() > EXISTING_STATUSES);
+        assertEquals(EXISTING_STATUSES + 4, statusRepository.count());
+    }
+}
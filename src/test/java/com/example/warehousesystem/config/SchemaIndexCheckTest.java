@@ -0,0 +1,97 @@
+package com.example.warehousesystem.config;
+
+import com.example.warehousesystem.ManagementToolApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for the startup check of the indexes
+ * runs against the schema which Hibernate creates from the entity mappings in its own in-memory database
+ */
+@ActiveProfiles(profiles = {"dev", "h2"})
+@SpringBootTest(classes = ManagementToolApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:schemaindexcheck;DB_CLOSE_DELAY=-1")
+class SchemaIndexCheckTest {
+
+    @Autowired
+    private SchemaIndexCheck schemaIndexCheck;
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    /**
+     * Test for the lookups of all repository finders
+     * @result every lookup is backed by an index of the entity mappings
+     */
+    @Test
+    void findsNoUnindexedLookup_When_schemaIsCreatedFromEntities() throws SQLException {
+        assertEquals(List.of(), schemaIndexCheck.findUnindexedLookups(SchemaIndexCheck.LOOKUPS));
+    }
+
+    /**
+     * Test for the methods which the repositories declare
+     * @result every method is a lookup of the index check or on purpose reads by primary key or the whole table
+     */
+    @Test
+    void coversEveryRepositoryMethod_When_lookupsAreListed() {
+        Set<String> listedFinders = new HashSet<>(SchemaIndexCheck.UNFILTERED_FINDERS);
+        for (SchemaIndexCheck.IndexedLookup lookup : SchemaIndexCheck.LOOKUPS) {
+            listedFinders.add(lookup.finder().replaceAll("\\(.*\\)$", ""));
+        }
+        Set<String> unlistedMethods = new TreeSet<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            for (Method method : repositoryInterface.getDeclaredMethods()) {
+                String finder = repositoryInterface.getSimpleName() + "." + method.getName();
+                if (!method.isSynthetic() && !Modifier.isStatic(method.getModifiers()) && !listedFinders.contains(finder)) {
+                    unlistedMethods.add(finder);
+                }
+            }
+        }
+
+        assertEquals(Set.of(), unlistedMethods);
+    }
+
+    /**
+     * Test for a lookup by a column without index and a lookup by the second column of an index
+     * @result both lookups are reported
+     */
+    @Test
+    void reportsLookup_When_columnsAreNotLeadingColumnsOfAnIndex() throws SQLException {
+        List<SchemaIndexCheck.IndexedLookup> lookups = List.of(
+                new SchemaIndexCheck.IndexedLookup("amount", "article", "amount"),
+                new SchemaIndexCheck.IndexedLookup("tray", "location", "tray"));
+
+        assertEquals(lookups, schemaIndexCheck.findUnindexedLookups(lookups));
+    }
+
+    /**
+     * Test for the matching of the lookup columns with the columns of an index
+     * @result the lookup is backed if its columns are the leading columns of the index in any order
+     */
+    @Test
+    void matchesLeadingColumns_When_lookupIsComparedWithIndex() {
+        SchemaIndexCheck.IndexedLookup lookup = new SchemaIndexCheck.IndexedLookup("finder", "location", "shelf", "aisle");
+
+        assertTrue(lookup.isBackedBy(List.of("aisle", "shelf", "tray")));
+        assertFalse(lookup.isBackedBy(List.of("aisle", "tray", "shelf")));
+        assertFalse(lookup.isBackedBy(List.of("aisle")));
+    }
+}
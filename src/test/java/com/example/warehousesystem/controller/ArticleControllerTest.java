@@ -1,5 +1,6 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Article;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.ArticleService;
@@ -50,7 +51,7 @@ public class ArticleControllerTest {
         articleList.add(article1);
 
         //when
-        when(articleService.getAllArticles()).thenReturn(articleList);
+        when(articleService.getArticlePage(null, 100, null, null)).thenReturn(new KeysetPage<>(articleList, null));
 
         //then
         mvc.perform(get("/v1/articles")
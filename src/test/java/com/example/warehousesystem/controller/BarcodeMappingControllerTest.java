@@ -1,5 +1,7 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.dto.KeysetPage;
+import com.example.warehousesystem.dto.ScanResult;
 import com.example.warehousesystem.entities.*;
 import com.example.warehousesystem.service.*;
 import com.example.warehousesystem.utils.BarcodeHelper;
@@ -39,6 +41,8 @@ public class BarcodeMappingControllerTest {
     private CurrencyService currencyService;
     @MockBean
     private CategoryService categoryService;
+    @MockBean
+    private BarcodeScanService barcodeScanService;
 
     /**
      * Tests the endpoint for retrieving all barcode mappings.
@@ -51,7 +55,7 @@ public class BarcodeMappingControllerTest {
         BarcodeMapping barcodeMapping = getBarcodeMapping();
         List<BarcodeMapping> barcodeMappingList = new ArrayList<>();
         barcodeMappingList.add(barcodeMapping);
-        when(barcodeMappingService.getAllBarcodeMappings()).thenReturn(barcodeMappingList);
+        when(barcodeMappingService.getBarcodeMappingPage(null, 100)).thenReturn(new KeysetPage<>(barcodeMappingList, null));
         mvc.perform(get("/v1/barcodemappings")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -147,6 +151,31 @@ public class BarcodeMappingControllerTest {
         verify(barcodeMappingService, times(1)).getBarcodeMappingByEan("123456789");
         verify(articleService, times(1)).addArticle(article);
     }
+
+    /**
+     * Tests the endpoint for scanning a batch of barcodes.
+     * @result The response has a status of OK and contains one result per ean,
+     * the eans are passed to the scan service in the order they were scanned.
+     */
+    @Test
+    public void returnsScanResults_When_batchIsScanned() throws Exception {
+        List<BarcodeHelper> barcodeHelpers = List.of(new BarcodeHelper("123456789"), new BarcodeHelper("987654321"),
+                new BarcodeHelper("123456789"));
+        when(barcodeScanService.scanArticles(List.of("123456789", "987654321", "123456789"))).thenReturn(List.of(
+                new ScanResult("123456789", ScanResult.Outcome.CREATED, 7L, 2),
+                new ScanResult("987654321", ScanResult.Outcome.NOT_FOUND, null, 1)));
+
+        mvc.perform(post("/v1/barcodemappings/scan/batch")
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(barcodeHelpers)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ean", is("123456789")))
+                .andExpect(jsonPath("$[0].outcome", is("CREATED")))
+                .andExpect(jsonPath("$[0].articleId", is(7)))
+                .andExpect(jsonPath("$[0].scans", is(2)))
+                .andExpect(jsonPath("$[1].outcome", is("NOT_FOUND")));
+    }
+
     /**
      * Returns a BarcodeMapping object with pre-defined values for testing purposes.
      * @return barcode mapping object with values for id, description, and ean set.
@@ -1,5 +1,6 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Category;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.CategoryService;
@@ -56,7 +57,7 @@ public class CategoryControllerTest {
     public void getsResponseWithListOfAllCategories_When_getAllCategoriesIsCalled() throws Exception {
         List<Category> CategoryList = new ArrayList<>();
         CategoryList.add(category);
-        when(categoryService.getAllCategories()).thenReturn(CategoryList);
+        when(categoryService.getCategoryPage(null, 100)).thenReturn(new KeysetPage<>(CategoryList, null));
         mvc.perform(get("/v1/categories")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -1,5 +1,6 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Currency;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.CSVImportService;
@@ -59,7 +60,7 @@ public class CurrencyControllerTest {
     public void getsResponseWithListOfAllCurrencies_When_getAllCurrenciesIsCalled() throws Exception {
         List<Currency> currencyList = new ArrayList<>();
         currencyList.add(currency);
-        when(currencyService.getAllCurrencies()).thenReturn(currencyList);
+        when(currencyService.getCurrencyPage(null, 100)).thenReturn(new KeysetPage<>(currencyList, null));
         mvc.perform(get("/v1/currencies")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
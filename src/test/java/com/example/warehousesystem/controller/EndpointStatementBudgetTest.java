@@ -0,0 +1,83 @@
+package com.example.warehousesystem.controller;
+
+import com.example.warehousesystem.ManagementToolApplication;
+import com.example.warehousesystem.repository.ArticleRepository;
+import com.example.warehousesystem.repository.WarehouseRepository;
+import com.example.warehousesystem.utils.SqlStatementCountConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.warehousesystem.utils.SqlStatementCounter.assertStatementBudget;
+import static com.example.warehousesystem.utils.SqlStatementCounter.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test for the sql statement budgets of the read endpoints
+ * runs against the dev data in its own in-memory database, the budgets fail as soon as an endpoint issues N+1 queries
+ */
+@ActiveProfiles(profiles = {"dev", "h2"})
+@SpringBootTest(classes = ManagementToolApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:statementbudget;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@Import(SqlStatementCountConfiguration.class)
+class EndpointStatementBudgetTest {
+    private static final long MAX_JDBC_MILLIS = 500;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    /**
+     * Test for the list endpoints
+     * @result every list endpoint loads its page with at most 2 statements
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"/v1/warehouses", "/v1/articles", "/v1/categories", "/v1/currencies",
+            "/v1/statuses", "/v1/locations", "/v1/barcodemappings"})
+    void staysWithinStatementBudget_When_listEndpointIsCalled(String path) throws Exception {
+        reset();
+        mvc.perform(get(path)).andExpect(status().isOk());
+        assertStatementBudget(2, MAX_JDBC_MILLIS);
+    }
+
+    /**
+     * Test for the filtered list endpoint of the warehouse
+     * @result the filters do not add statements
+     */
+    @Test
+    void staysWithinStatementBudget_When_getAllWarehousesIsCalledWithFilters() throws Exception {
+        reset();
+        mvc.perform(get("/v1/warehouses?aisle=A&minQuantity=1&maxQuantity=1000&limit=10")).andExpect(status().isOk());
+        assertStatementBudget(2, MAX_JDBC_MILLIS);
+    }
+
+    /**
+     * Test for the detail endpoints of warehouse and article
+     * @result the entry is loaded with its references in one statement
+     */
+    @Test
+    void staysWithinStatementBudget_When_detailEndpointIsCalled() throws Exception {
+        long warehouseId = warehouseRepository.findAll().get(0).getId();
+        long articleId = articleRepository.findAll().get(0).getId();
+
+        reset();
+        mvc.perform(get("/v1/warehouses/" + warehouseId)).andExpect(status().isOk());
+        assertStatementBudget(1, MAX_JDBC_MILLIS);
+
+        reset();
+        mvc.perform(get("/v1/articles/" + articleId)).andExpect(status().isOk());
+        assertStatementBudget(1, MAX_JDBC_MILLIS);
+    }
+}
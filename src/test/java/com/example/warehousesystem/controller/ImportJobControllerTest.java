@@ -0,0 +1,78 @@
+package com.example.warehousesystem.controller;
+
+import com.example.warehousesystem.exceptions.ResourceNotFoundException;
+import com.example.warehousesystem.service.ImportJob;
+import com.example.warehousesystem.service.ImportJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test for the controller which exposes the progress of the csv imports
+ */
+@WebMvcTest(ImportJobController.class)
+class ImportJobControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @MockBean
+    private ImportJobService importJobService;
+
+    /**
+     * Test for GET endpoint to fetch an import job by ID
+     * @result returns a response with 200 OK, body with the progress of the import job
+     */
+    @Test
+    void returnsImportJob_When_getImportJobByIdIsCalled() throws Exception {
+        ImportJob job = new ImportJob("warehouse.csv", 1024);
+        when(importJobService.getJob(job.getId())).thenReturn(job);
+
+        mvc.perform(get("/v1/imports/" + job.getId())
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(job.getId())))
+                .andExpect(jsonPath("$.fileName", is("warehouse.csv")))
+                .andExpect(jsonPath("$.status", is("QUEUED")))
+                .andExpect(jsonPath("$.rowsProcessed", is(0)))
+                .andExpect(jsonPath("$.rowsRejected", is(0)));
+    }
+
+    /**
+     * Test for GET endpoint to fetch all import jobs
+     * @result returns a response with 200 OK, body with a list of import jobs
+     */
+    @Test
+    void returnsAllImportJobs_When_getAllImportJobsIsCalled() throws Exception {
+        ImportJob job = new ImportJob("warehouse.csv", 1024);
+        when(importJobService.getAllJobs()).thenReturn(List.of(job));
+
+        mvc.perform(get("/v1/imports")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(job.getId())));
+    }
+
+    /**
+     * Test for GET endpoint to fetch an import job which does not exist
+     * @result returns a response with 400 BAD REQUEST
+     */
+    @Test
+    void returnsBadRequest_When_importJobDoesNotExist() throws Exception {
+        when(importJobService.getJob("unknown")).thenThrow(new ResourceNotFoundException("not found"));
+
+        mvc.perform(get("/v1/imports/unknown")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
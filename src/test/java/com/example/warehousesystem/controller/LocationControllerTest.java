@@ -1,5 +1,6 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Location;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.LocationService;
@@ -56,7 +57,7 @@ public class LocationControllerTest {
     public void getsResponseWithListOfAllCurrencies_When_getAllCurrenciesIsCalled() throws Exception {
         List<Location> LocationList = new ArrayList<>();
         LocationList.add(location);
-        when(locationService.getAllLocations()).thenReturn(LocationList);
+        when(locationService.getLocationPage(null, 100, null)).thenReturn(new KeysetPage<>(LocationList, null));
         mvc.perform(get("/v1/locations")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
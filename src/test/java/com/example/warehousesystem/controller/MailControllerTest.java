@@ -1,6 +1,8 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.entities.Article;
 import com.example.warehousesystem.service.MailService;
+import com.example.warehousesystem.service.ReorderService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -9,11 +11,15 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -27,16 +33,47 @@ class MailControllerTest {
     private MockMvc mvc;
     @MockBean
     private MailService mailService;
+    @MockBean
+    private ReorderService reorderService;
 
     @Test
     void gets_When_getAllCurrenciesIsCalled() throws Exception {
         Map<String, String> articleMap = new LinkedHashMap<>();
         articleMap.put("Testkey", "Testvalue");
         articleMap.put("Testkey2", "Testvalue2");
-        when(mailService.prepareArticlesForCsvOrder(anyInt())).thenReturn(articleMap);
+        List<Article> articles = List.of(new Article());
+        when(reorderService.getArticlesToOrder()).thenReturn(articles);
+        when(mailService.prepareArticlesForCsvOrder(articles)).thenReturn(articleMap);
+        when(mailService.createCsvOrderForMail(articleMap)).thenReturn("Article_Order.csv");
         doNothing().when(mailService).sendMailWithAttachment(anyString(), anyString(), anyString(), anyString());
         mvc.perform(get("/v1/mail")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk());
+        verify(reorderService).completeReorders(articles);
+    }
+
+    /**
+     * Test for an order mail which could not be sent
+     * @result the articles stay pending for the next run
+     */
+    @Test
+    void keepsPendingReorders_When_mailCouldNotBeSent() throws Exception {
+        Map<String, String> articleMap = new LinkedHashMap<>();
+        articleMap.put("Article_No", "Description");
+        articleMap.put("1", "Nike");
+        List<Article> articles = List.of(new Article());
+        when(reorderService.getArticlesToOrder()).thenReturn(articles);
+        when(mailService.prepareArticlesForCsvOrder(articles)).thenReturn(articleMap);
+        when(mailService.createCsvOrderForMail(articleMap)).thenReturn("Article_Order.csv");
+        doThrow(new RuntimeException("mail server not reachable")).when(mailService)
+                .sendMailWithAttachment(anyString(), anyString(), anyString(), anyString());
+
+        try {
+            mvc.perform(get("/v1/mail").contentType(APPLICATION_JSON));
+        } catch (Exception e) {
+            // the exception of the mail service is not handled by the controller
+        }
+
+        verify(reorderService, never()).completeReorders(any());
     }
 }
\ No newline at end of file
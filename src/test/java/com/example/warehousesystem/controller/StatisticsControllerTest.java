@@ -0,0 +1,72 @@
+package com.example.warehousesystem.controller;
+
+import com.example.warehousesystem.dto.CacheRegionStatistics;
+import com.example.warehousesystem.dto.MethodRetryStatistics;
+import com.example.warehousesystem.service.CacheStatisticsService;
+import com.example.warehousesystem.service.RetryStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test for the controller which exposes the runtime statistics
+ */
+@WebMvcTest(StatisticsController.class)
+class StatisticsControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @MockBean
+    private CacheStatisticsService cacheStatisticsService;
+    @MockBean
+    private RetryStatisticsService retryStatisticsService;
+
+    /**
+     * Test for GET endpoint to fetch the statistics of the second level cache
+     * @result returns a response with 200 OK, body with the hits, misses, puts and hit ratio of every region
+     */
+    @Test
+    void returnsRegionStatistics_When_getCacheStatisticsIsCalled() throws Exception {
+        when(cacheStatisticsService.getCacheRegionStatistics()).thenReturn(List.of(
+                CacheRegionStatistics.of("location", 3, 1, 1)));
+
+        mvc.perform(get("/v1/statistics/cache")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region", is("location")))
+                .andExpect(jsonPath("$[0].hits", is(3)))
+                .andExpect(jsonPath("$[0].misses", is(1)))
+                .andExpect(jsonPath("$[0].puts", is(1)))
+                .andExpect(jsonPath("$[0].hitRatio", is(0.75)));
+    }
+
+    /**
+     * Test for GET endpoint to fetch the retries after optimistic lock failures
+     * @result returns a response with 200 OK, body with the calls, retries, recovered and exhausted calls of every method
+     */
+    @Test
+    void returnsRetryStatistics_When_getRetryStatisticsIsCalled() throws Exception {
+        when(retryStatisticsService.getRetryStatistics()).thenReturn(List.of(
+                new MethodRetryStatistics("WarehouseService.modifyWarehouseById", 10, 3, 2, 1)));
+
+        mvc.perform(get("/v1/statistics/retries")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].method", is("WarehouseService.modifyWarehouseById")))
+                .andExpect(jsonPath("$[0].invocations", is(10)))
+                .andExpect(jsonPath("$[0].retries", is(3)))
+                .andExpect(jsonPath("$[0].recovered", is(2)))
+                .andExpect(jsonPath("$[0].exhausted", is(1)));
+    }
+}
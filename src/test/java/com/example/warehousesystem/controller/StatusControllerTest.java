@@ -1,5 +1,6 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Status;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.service.StatusService;
@@ -56,7 +57,7 @@ public class StatusControllerTest {
     public void getsResponseWithListOfAllCurrencies_When_getAllCurrenciesIsCalled() throws Exception {
         List<Status> statusList = new ArrayList<>();
         statusList.add(status);
-        when(statusService.getAllStatus()).thenReturn(statusList);
+        when(statusService.getStatusPage(null, 100)).thenReturn(new KeysetPage<>(statusList, null));
         mvc.perform(get("/v1/statuses")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -0,0 +1,65 @@
+package com.example.warehousesystem.controller;
+
+import com.example.warehousesystem.dto.KeysetPage;
+import com.example.warehousesystem.dto.StockLevel;
+import com.example.warehousesystem.entities.StockMovement;
+import com.example.warehousesystem.service.StockLedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test for the controller which exposes the stock movements and the stock at a point in time
+ */
+@WebMvcTest(StockMovementController.class)
+class StockMovementControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @MockBean
+    private StockLedgerService stockLedgerService;
+
+    /**
+     * Test for GET endpoint to fetch the movements of an article at a location
+     * @result returns a response with 200 OK, body with the movements of the page
+     */
+    @Test
+    void returnsMovements_When_getStockMovementsIsCalled() throws Exception {
+        StockMovement movement = new StockMovement(1, 2, -5, StockMovement.Reason.ADJUSTED, LocalDateTime.of(2023, 1, 31, 12, 0));
+        when(stockLedgerService.getMovementPage(1, 2, null, 100)).thenReturn(new KeysetPage<>(List.of(movement), null));
+
+        mvc.perform(get("/v1/stockmovements?articleId=1&locationId=2")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].delta", is(-5)))
+                .andExpect(jsonPath("$[0].reason", is("ADJUSTED")));
+    }
+
+    /**
+     * Test for GET endpoint to fetch the stock of an article at a location at a point in time
+     * @result returns a response with 200 OK, body with the quantity at that time
+     */
+    @Test
+    void returnsStockOfThatTime_When_getStockAtIsCalled() throws Exception {
+        LocalDateTime at = LocalDateTime.of(2023, 1, 31, 12, 0);
+        when(stockLedgerService.getStockAt(1, 2, at)).thenReturn(new StockLevel(1, 2, at, 42, at.minusHours(1)));
+
+        mvc.perform(get("/v1/stockmovements/stock?articleId=1&locationId=2&at=2023-01-31T12:00:00")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(42)))
+                .andExpect(jsonPath("$.replayedFrom", is("2023-01-31T11:00:00")));
+    }
+}
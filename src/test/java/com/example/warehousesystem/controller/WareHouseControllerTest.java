@@ -1,14 +1,20 @@
 package com.example.warehousesystem.controller;
 
+import com.example.warehousesystem.dto.KeysetPage;
 import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InsufficientStockException;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
-import com.example.warehousesystem.service.CSVImportService;
+import com.example.warehousesystem.service.ImportJob;
+import com.example.warehousesystem.service.ImportJobService;
 import com.example.warehousesystem.service.WarehouseService;
+import com.example.warehousesystem.utils.KeysetPagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,10 +29,13 @@ import static com.example.warehousesystem.utils.TestHelperMethods.asJson;
 import static com.example.warehousesystem.utils.TestHelperMethods.createDummyWarehouse;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -46,7 +55,7 @@ public class WareHouseControllerTest {
     @Autowired
     private WebApplicationContext webApplicationContext;
     @MockBean
-    private CSVImportService fileService;
+    private ImportJobService importJobService;
     private Warehouse warehouse;
 
     /**
@@ -67,13 +76,41 @@ public class WareHouseControllerTest {
        
         List<Warehouse> warehouseList = new ArrayList<>();
         warehouseList.add(warehouse);
-        when(warehouseService.getAllWarehouses()).thenReturn(warehouseList);
+        when(warehouseService.getWarehousePage(null, 100, null, null, null, null, null)).thenReturn(new KeysetPage<>(warehouseList, null));
         mvc.perform(get("/v1/warehouses")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].quantity", is(warehouse.getQuantity())));
     }
 
+    /**
+     * Test for GET endpoint to fetch a filtered page of warehouses
+     * @result returns a response with 200 OK, body with the page and the cursor of the next page in the header
+     */
+    @Test
+    public void returnsNextCursor_When_getAllWarehousesIsCalledWithFilters() throws Exception {
+        when(warehouseService.getWarehousePage("aWQ6Mw", 1, 2L, 3L, "A", 10, 500))
+                .thenReturn(new KeysetPage<>(List.of(warehouse), "aWQ6NA"));
+        mvc.perform(get("/v1/warehouses?after=aWQ6Mw&limit=1&categoryId=2&statusId=3&aisle=A&minQuantity=10&maxQuantity=500")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPagination.NEXT_CURSOR_HEADER, "aWQ6NA"))
+                .andExpect(jsonPath("$[0].quantity", is(warehouse.getQuantity())));
+    }
+
+    /**
+     * Test for GET endpoint to fetch a page of warehouses with a cursor which was not created by the application
+     * @result returns a response with 400 BAD REQUEST
+     */
+    @Test
+    public void returnsBadRequest_When_getAllWarehousesIsCalledWithInvalidCursor() throws Exception {
+        when(warehouseService.getWarehousePage("invalid", 100, null, null, null, null, null))
+                .thenThrow(new InvalidFormatEntryException("Invalid cursor: invalid"));
+        mvc.perform(get("/v1/warehouses?after=invalid")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Test for GET endpoint to a warehouse by ID
      * @result returns a response with 200 OK, body with warehouse with specific id
@@ -142,33 +179,81 @@ public class WareHouseControllerTest {
                 .andExpect(status().isOk()).andReturn();
     }
 
+    /**
+     * Test for POST endpoint to adjust the quantity of an existing warehouse
+     * @result returns a response with 200 OK and body with the adjusted warehouse
+     */
+    @Test
+    public void returnsAdjustedWarehouse_When_adjustWarehouseByIdIsCalled() throws Exception {
+        when(warehouseService.adjustQuantity(1L, -3)).thenReturn(warehouse);
+        mvc.perform(post("/v1/warehouses/1/adjust").content("{\"delta\": -3}").contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(warehouse.getQuantity())));
+    }
+
+    /**
+     * Test for POST endpoint to adjust the quantity of a warehouse by more pieces than it has in stock
+     * @result returns a response with 409 CONFLICT
+     */
+    @Test
+    public void returnsConflict_When_adjustWarehouseByIdExceedsStock() throws Exception {
+        when(warehouseService.adjustQuantity(1L, -500)).thenThrow(new InsufficientStockException("not enough stock"));
+        mvc.perform(post("/v1/warehouses/1/adjust").content("{\"delta\": -500}").contentType(APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
     /**
      * Test for Upload a csv with warehouses
-     * @result returns a response with 500 Bad Request
+     * @result returns a response with 202 ACCEPTED, body with the queued import job
      */
     @Test
-    public void returnsBadRequest_When_FileUploadedIsNotOfTypeCSV()
-            throws Exception {
+    public void returnsAccepted_When_FileUploadedIsOfTypeCSV() throws Exception {
         MockMultipartFile file
                 = new MockMultipartFile(
                 "file",
                 "hello.csv",
-                MediaType.ALL_VALUE,
+                "text/csv",
                 "Hello, World!".getBytes()
         );
+        ImportJob job = new ImportJob("hello.csv", file.getSize());
+        when(importJobService.submit(any(), anyBoolean())).thenReturn(job);
 
         MockMvc mockMvc
                 = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
         mockMvc.perform(multipart("/v1/warehouses/upload").file(file))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/v1/imports/" + job.getId()))
+                .andExpect(jsonPath("$.id", is(job.getId())))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
     }
 
     /**
-     * Test for Upload a csv with warehouses
-     * @result returns a response with 200 OK
+     * Test for Upload a gzip compressed csv with warehouses
+     * @result returns a response with 202 ACCEPTED
+     */
+    @Test
+    public void returnsAccepted_When_FileUploadedIsGzipCompressedCSV() throws Exception {
+        MockMultipartFile file
+                = new MockMultipartFile(
+                "file",
+                "hello.csv.gz",
+                "application/gzip",
+                new byte[]{0x1f, (byte) 0x8b}
+        );
+        when(importJobService.submit(any(), anyBoolean())).thenReturn(new ImportJob("hello.csv.gz", file.getSize()));
+
+        MockMvc mockMvc
+                = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        mockMvc.perform(multipart("/v1/warehouses/upload").file(file))
+                .andExpect(status().isAccepted());
+    }
+
+    /**
+     * Test for Upload a csv with warehouses while the import queue is full
+     * @result returns a response with 503 SERVICE UNAVAILABLE
      */
     @Test
-    public void returnsOK_When_FileUploadedIsOfTypeCSV() throws Exception {
+    public void returnsServiceUnavailable_When_ImportQueueIsFull() throws Exception {
         MockMultipartFile file
                 = new MockMultipartFile(
                 "file",
@@ -176,11 +261,12 @@ public class WareHouseControllerTest {
                 "text/csv",
                 "Hello, World!".getBytes()
         );
+        when(importJobService.submit(any(), anyBoolean())).thenThrow(new TaskRejectedException("queue full"));
 
         MockMvc mockMvc
                 = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
         mockMvc.perform(multipart("/v1/warehouses/upload").file(file))
-                .andExpect(status().isOk());
+                .andExpect(status().isServiceUnavailable());
     }
 
 
@@ -3,6 +3,7 @@ package com.example.warehousesystem.exceptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -104,6 +105,30 @@ class GlobalControllerExceptionHandlerTest {
                         new DataIntegrityViolationException("testmessage")));
     }
 
+    /**
+     * Test if an InsufficientStockException returns a conflict 409
+     * @result 409 CONFLICT
+     */
+    @Test
+    public void returnsConflict_When_InsufficientStockException() {
+        assertEquals(
+                new ResponseEntity<>("testmessage", HttpStatus.CONFLICT),
+                handler.handleInsufficientStockException(
+                        new InsufficientStockException("testmessage")));
+    }
+
+    /**
+     * Test if an OptimisticLockingFailureException which was not resolved by the retries returns a conflict 409
+     * @result 409 CONFLICT
+     */
+    @Test
+    public void returnsConflict_When_OptimisticLockingFailureException() {
+        assertEquals(
+                new ResponseEntity<>("testmessage", HttpStatus.CONFLICT),
+                handler.handleOptimisticLockingFailureException(
+                        new OptimisticLockingFailureException("testmessage")));
+    }
+
     /**
      * Test if an RecordAlreadyExistException returns a bad request 400
      * @result 400 BAD REQUEST
@@ -1,14 +1,23 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.ArticleExportRow;
 import com.example.warehousesystem.entities.*;
+import com.example.warehousesystem.utils.SqlStatementCountConfiguration;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.example.warehousesystem.utils.SqlStatementCounter.statementCount;
+import static com.example.warehousesystem.utils.TestHelperMethods.startCountingStatements;
+import static com.example.warehousesystem.utils.TestHelperMethods.assertExportRows;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -16,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * Test class for article respository testing
  */
 @DataJpaTest
+@Import(SqlStatementCountConfiguration.class)
 class ArticleRepositoryTest {
 
     @Autowired
@@ -62,6 +72,46 @@ class ArticleRepositoryTest {
 
     }
 
+    /**
+     * Test to find a page of articles of a category after a cursor
+     * @result verifies if only the articles after the id are found, ordered by id
+     */
+    @Test
+    void returnsArticlesAfterId_When_findPage() {
+        //when
+        List<Article> firstPage = articleRepository.findPage(0, article1.getCategory().getId(), null, PageRequest.of(0, 1));
+        List<Article> secondPage = articleRepository.findPage(article1.getId(), null, article1.getStatus().getId(), PageRequest.of(0, 10));
+        List<Article> otherCategory = articleRepository.findPage(0, article1.getCategory().getId() + 1000, null, PageRequest.of(0, 10));
+
+        // then
+        assertEquals(List.of(article1.getId()), firstPage.stream().map(Article::getId).toList());
+        assertEquals(List.of(article2.getId()), secondPage.stream().map(Article::getId).toList());
+        assertTrue(otherCategory.isEmpty());
+    }
+
+    /**
+     * Test to load the articles of the list and detail endpoints
+     * @result verifies if the articles are loaded with their reference data in one statement and without their warehouse entries
+     */
+    @Test
+    void loadsReferenceDataInOneStatement_When_findPageOrFindById() {
+        //when
+        startCountingStatements(entityManager);
+        Article found = articleRepository.findById(article1.getId()).get();
+        long findByIdStatements = statementCount();
+
+        startCountingStatements(entityManager);
+        List<Article> page = articleRepository.findPage(0, null, null, PageRequest.of(0, 10));
+        long findPageStatements = statementCount();
+
+        // then
+        assertEquals("CHF", found.getCurrency().getCurrencyCode());
+        assertEquals(2, page.size());
+        assertFalse(Hibernate.isInitialized(found.getWarehouses()));
+        assertEquals(1, findByIdStatements);
+        assertEquals(1, findPageStatements);
+    }
+
     /**
      * Test to find an article by description
      * @result verifies if the article with specific description is found
@@ -76,20 +126,39 @@ class ArticleRepositoryTest {
     }
 
     /**
-     * Test to find all article with a low quantity
-     * @result verifies if the articles found are the correct ones
+     * Test to find articles by a set of descriptions
+     * @result verifies if only the articles with one of the descriptions are found
+     */
+    @Test
+    void findsArticles_When_findAllByDescriptionIn() {
+        //when
+        List<Article> found = articleRepository.findAllByDescriptionIn(List.of(article2.getDescription(), "Puma Slides"));
+
+        // then
+        assertEquals(1, found.size());
+        assertEquals(article2.getDescription(), found.get(0).getDescription());
+    }
+
+    /**
+     * Test to stream the export rows of all articles
+     * @result verifies if all articles are streamed with the columns of their reference data
+     */
+    @Test
+    void streamsExportRows_When_streamAllForExport() {
+        assertExportRows(articleRepository::streamAllForExport, List.of(
+                new ArticleExportRow(article1.getId(), "Adidas Schluffen", "Schuhe", 19.9, "CHF", "active"),
+                new ArticleExportRow(article2.getId(), "Airforce Nike", "Schuhe", 299, "CHF", "active")));
+    }
+
+    /**
+     * Test to find all article with a low quantity, article1 is spread over two locations
+     * @result verifies if the articles found are the ones whose total quantity is at most the limit
      */
     @Test
     void getsAllArticlesWithQuantityLower100_When_getAllArticlesWithLowQuantityIsCalled() {
         //given
-        Location location = new Location("A", 1, 1);
-        entityManager.persist(location);
-        entityManager.flush();
-
-        Warehouse warehouse1 = new Warehouse(article1, location, 200);
-        Warehouse warehouse2 = new Warehouse(article2, location, 100);
-        entityManager.persist(warehouse1);
-        entityManager.persist(warehouse2);
+        entityManager.persist(new ArticleStock(article1.getId(), 120));
+        entityManager.persist(new ArticleStock(article2.getId(), 100));
         entityManager.flush();
 
         //when
@@ -101,6 +170,27 @@ class ArticleRepositoryTest {
 
     }
 
+    /**
+     * Test to find the pending articles with a low quantity, article1 was restocked after it became pending
+     * @result verifies if only the pending articles whose total quantity is still at most the limit are found
+     */
+    @Test
+    void getsPendingArticlesWithQuantityLower100_When_getPendingArticlesWithLowQuantityIsCalled() {
+        //given
+        entityManager.persist(new ArticleStock(article1.getId(), 120));
+        entityManager.persist(new ArticleStock(article2.getId(), 100));
+        entityManager.persist(new PendingReorder(article1.getId(), LocalDateTime.now()));
+        entityManager.persist(new PendingReorder(article2.getId(), LocalDateTime.now()));
+        entityManager.flush();
+
+        //when
+        List<Article> found = articleRepository.getPendingArticlesWithLowQuantity(100);
+
+        // then
+        assertEquals(1, found.size());
+        assertEquals(article2.getDescription(), found.get(0).getDescription());
+    }
+
     /**
      * Test to delete an article by ID
      * @result verifies if the article with specific id is removed
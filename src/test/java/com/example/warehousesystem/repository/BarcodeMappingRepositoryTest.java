@@ -1,12 +1,20 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.BarcodeMappingExportRow;
 import com.example.warehousesystem.entities.BarcodeMapping;
+import com.example.warehousesystem.utils.SqlStatementCountConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.List;
+
+import static com.example.warehousesystem.utils.TestHelperMethods.assertExportRows;
+import static com.example.warehousesystem.utils.TestHelperMethods.assertPageInOneStatement;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -15,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * Test class for barcode mapping repository
  */
 @DataJpaTest
+@Import(SqlStatementCountConfiguration.class)
 public class BarcodeMappingRepositoryTest {
 
     @Autowired
@@ -77,4 +86,24 @@ public class BarcodeMappingRepositoryTest {
     public void whenFindByEanAndDescription_barcodeMappingNotFound_thenReturnOptionalEmpty() {
         assertTrue(barcodeMappingRepository.findBarcodeMappingByEanAndDescription("1234","TestEmpty").isEmpty());
     }
+
+    /**
+     * Test to stream the export rows of all barcode mappings
+     * @result verifies if the columns of the export are streamed
+     */
+    @Test
+    public void streamsExportRows_When_streamAllForExport() {
+        assertExportRows(barcodeMappingRepository::streamAllForExport, List.of(new BarcodeMappingExportRow(
+                barcodeMapping.getId(), barcodeMapping.getEan(), barcodeMapping.getDescription())));
+    }
+
+    /**
+     * Test to load the first page of the list endpoint
+     * @result verifies if the page is loaded with one statement within the jdbc time budget
+     */
+    @Test
+    public void loadsPageInOneStatement_When_findPage() {
+        assertPageInOneStatement(entityManager,
+                () -> barcodeMappingRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 10)), List.of(barcodeMapping.getId()));
+    }
 }
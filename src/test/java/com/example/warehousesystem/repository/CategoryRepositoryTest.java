@@ -1,14 +1,21 @@
 package com.example.warehousesystem.repository;
 
+import static com.example.warehousesystem.utils.TestHelperMethods.assertExportRows;
+import static com.example.warehousesystem.utils.TestHelperMethods.assertPageInOneStatement;
 import static org.junit.jupiter.api.Assertions.*;
 
-
+import com.example.warehousesystem.dto.DescriptionExportRow;
 import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.utils.SqlStatementCountConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -19,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * only testing specifically implemented methods
  */
 @DataJpaTest
+@Import(SqlStatementCountConfiguration.class)
 public class CategoryRepositoryTest {
 
     @Autowired
@@ -63,4 +71,24 @@ public class CategoryRepositoryTest {
     public void returnsOptionalEmpty_When_FindByDescription() {
         assertTrue(categoryRepository.findCategoryByDescription("Hemden").isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test to stream the export rows of all categories
+     * @result verifies if the columns of the export are streamed
+     */
+    @Test
+    public void streamsExportRows_When_streamAllForExport() {
+        assertExportRows(categoryRepository::streamAllForExport,
+                List.of(new DescriptionExportRow(category.getId(), category.getDescription())));
+    }
+
+    /**
+     * Test to load the first page of the list endpoint
+     * @result verifies if the page is loaded with one statement within the jdbc time budget
+     */
+    @Test
+    public void loadsPageInOneStatement_When_findPage() {
+        assertPageInOneStatement(entityManager,
+                () -> categoryRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 10)), List.of(category.getId()));
+    }
+}
@@ -1,12 +1,20 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.LocationExportRow;
 import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.utils.SqlStatementCountConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.List;
+
+import static com.example.warehousesystem.utils.TestHelperMethods.assertExportRows;
+import static com.example.warehousesystem.utils.TestHelperMethods.assertPageInOneStatement;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 /**
@@ -15,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * only testing specifically implemented methods
  */
 @DataJpaTest
+@Import(SqlStatementCountConfiguration.class)
 public class LocationRepositoryTest {
 
     @Autowired
@@ -80,4 +89,40 @@ public class LocationRepositoryTest {
         assertTrue(locationRepository.findLocationByAisleAndShelfAndTray(location.getAisle(), location.getShelf(), 99).isEmpty());
     }
 
-}
\ No newline at end of file
+    /**
+     * Test to get the natural keys of all locations
+     * @result verifies if the id, aisle, shelf and tray of the location are returned
+     */
+    @Test
+    public void returnsIdAndNaturalKey_When_findAllIdsAndAislesAndShelvesAndTrays() {
+        // when
+        List<Object[]> found = locationRepository.findAllIdsAndAislesAndShelvesAndTrays();
+
+        // then
+        assertEquals(1, found.size());
+        assertEquals(location.getId(), found.get(0)[0]);
+        assertEquals(location.getAisle(), found.get(0)[1]);
+        assertEquals(location.getShelf(), found.get(0)[2]);
+        assertEquals(location.getTray(), found.get(0)[3]);
+    }
+
+    /**
+     * Test to stream the export rows of all locations
+     * @result verifies if the columns of the export are streamed
+     */
+    @Test
+    public void streamsExportRows_When_streamAllForExport() {
+        assertExportRows(locationRepository::streamAllForExport, List.of(new LocationExportRow(location.getId(),
+                location.getAisle(), location.getShelf(), location.getTray())));
+    }
+
+    /**
+     * Test to load the first page of the list endpoint
+     * @result verifies if the page is loaded with one statement within the jdbc time budget
+     */
+    @Test
+    public void loadsPageInOneStatement_When_findPage() {
+        assertPageInOneStatement(entityManager,
+                () -> locationRepository.findPage(0, null, PageRequest.of(0, 10)), List.of(location.getId()));
+    }
+}
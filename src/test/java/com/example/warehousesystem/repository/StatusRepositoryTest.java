@@ -1,13 +1,23 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.DescriptionExportRow;
 import com.example.warehousesystem.entities.Status;
+import com.example.warehousesystem.utils.SqlStatementCountConfiguration;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
+import java.util.List;
+
+import static com.example.warehousesystem.utils.SqlStatementCounter.assertStatementBudget;
+import static com.example.warehousesystem.utils.TestHelperMethods.startCountingStatements;
+import static com.example.warehousesystem.utils.TestHelperMethods.assertExportRows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 /**
  * @author yasmin.rosskopf
@@ -15,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * only testing specifically implemented methods
  */
 @DataJpaTest
+@Import(SqlStatementCountConfiguration.class)
 public class StatusRepositoryTest {
 
     @Autowired
@@ -47,6 +58,21 @@ public class StatusRepositoryTest {
         assertEquals(active.getDescription(), found.getDescription());
     }
 
+    /**
+     * Test to load a status without its articles
+     * @result verifies if the status is loaded in one statement and its articles are not loaded
+     */
+    @Test
+    public void loadsStatusWithoutArticles_When_findDescription() {
+        // when
+        startCountingStatements(entityManager);
+        Status found = statusRepository.findStatusByDescription(active.getDescription()).get();
+
+        // then
+        assertFalse(Hibernate.isInitialized(found.getArticles()));
+        assertStatementBudget(1, 500);
+    }
+
     /**
      * Test to find a Status by description, that does not exist
      * @result verifies if the status returned is empty
@@ -57,4 +83,14 @@ public class StatusRepositoryTest {
        assertTrue(statusRepository.findStatusByDescription("inactive").isEmpty());
     }
 
-}
\ No newline at end of file
+    /**
+     * Test to stream the export rows of all statuses
+     * @result verifies if the columns of the export are streamed
+     */
+    @Test
+    public void streamsExportRows_When_streamAllForExport() {
+        assertExportRows(statusRepository::streamAllForExport,
+                List.of(new DescriptionExportRow(active.getId(), active.getDescription())));
+    }
+
+}
@@ -1,12 +1,21 @@
 package com.example.warehousesystem.repository;
 
+import com.example.warehousesystem.dto.WarehouseExportRow;
 import com.example.warehousesystem.entities.*;
+import com.example.warehousesystem.utils.SqlStatementCountConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.List;
+
+import static com.example.warehousesystem.utils.SqlStatementCounter.statementCount;
+import static com.example.warehousesystem.utils.TestHelperMethods.startCountingStatements;
+import static com.example.warehousesystem.utils.TestHelperMethods.assertExportRows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 /**
@@ -15,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
  * only testing specifically implemented methods
  */
 @DataJpaTest
+@Import(SqlStatementCountConfiguration.class)
 class WarehouseRepositoryTest {
 
     @Autowired
@@ -25,6 +35,7 @@ class WarehouseRepositoryTest {
 
     private Article article1;
     private Location location;
+    private Warehouse warehouse;
     /**
      * Set up before each test
      */
@@ -52,8 +63,8 @@ class WarehouseRepositoryTest {
         entityManager.persist(location);
         entityManager.flush();
 
-        Warehouse warehouse1 = new Warehouse(article1, location, 200);
-        entityManager.persist(warehouse1);
+        warehouse = new Warehouse(article1, location, 200);
+        entityManager.persist(warehouse);
         entityManager.flush();
     }
 
@@ -71,6 +82,107 @@ class WarehouseRepositoryTest {
         assertEquals(location.getAisle(), found.getLocation().getAisle());
     }
 
+    /**
+     * Test to find all warehouse entries of a set of articles
+     * @result verifies if the warehouse entries of the article are found
+     */
+    @Test
+    void returnsWarehouses_When_findAllByArticleIn() {
+        //when
+        List<Warehouse> found = warehouseRepository.findAllByArticleIn(List.of(article1));
+
+        // then
+        assertEquals(1, found.size());
+        assertEquals(location.getId(), found.get(0).getLocation().getId());
+    }
+
+    /**
+     * Test to stream the export rows of all warehouse entries
+     * @result verifies if the warehouse entry is streamed with the columns of its article and location
+     */
+    @Test
+    void streamsExportRows_When_streamAllForExport() {
+        assertExportRows(warehouseRepository::streamAllForExport, List.of(new WarehouseExportRow(warehouse.getId(), 200,
+                "Adidas Schluffen", "Schuhe", 19.9, "CHF", "Schweiz", "active", "A", 1, 1)));
+    }
+
+    /**
+     * Test to find the pages of the warehouse entries with filters
+     * @result verifies if only the entries after the id which match the filters are found, ordered by id
+     */
+    @Test
+    void returnsFilteredPage_When_findPage() {
+        //given
+        Location location2 = new Location("B", 1, 1);
+        entityManager.persist(location2);
+        Warehouse warehouse2 = new Warehouse(article1, location2, 5);
+        entityManager.persist(warehouse2);
+        entityManager.flush();
+        long firstId = warehouseRepository.findAll().stream().mapToLong(Warehouse::getId).min().getAsLong();
+
+        //when
+        List<Warehouse> firstPage = warehouseRepository.findPage(0, null, null, null, null, null, PageRequest.of(0, 1));
+        List<Warehouse> secondPage = warehouseRepository.findPage(firstId, null, null, null, null, null, PageRequest.of(0, 1));
+        List<Warehouse> inAisleB = warehouseRepository.findPage(0, null, null, "B", null, null, PageRequest.of(0, 10));
+        List<Warehouse> lowQuantity = warehouseRepository.findPage(0, article1.getCategory().getId(), article1.getStatus().getId(),
+                null, null, 10, PageRequest.of(0, 10));
+        List<Warehouse> highQuantity = warehouseRepository.findPage(0, null, null, null, 100, null, PageRequest.of(0, 10));
+
+        // then
+        assertEquals(firstId, firstPage.get(0).getId());
+        assertEquals(List.of(warehouse2.getId()), secondPage.stream().map(Warehouse::getId).toList());
+        assertEquals(List.of(warehouse2.getId()), inAisleB.stream().map(Warehouse::getId).toList());
+        assertEquals(List.of(warehouse2.getId()), lowQuantity.stream().map(Warehouse::getId).toList());
+        assertEquals(1, highQuantity.size());
+        assertEquals(200, highQuantity.get(0).getQuantity());
+    }
+
+    /**
+     * Test to load the warehouse entries of the list and detail endpoints
+     * @result verifies if the entries are loaded with their article, its reference data and the location in one statement
+     */
+    @Test
+    void loadsArticleAndLocationInOneStatement_When_findPageOrFindById() {
+        //given
+        long id = warehouseRepository.findAll().get(0).getId();
+
+        //when
+        startCountingStatements(entityManager);
+        Warehouse found = warehouseRepository.findById(id).get();
+        long findByIdStatements = statementCount();
+
+        startCountingStatements(entityManager);
+        List<Warehouse> page = warehouseRepository.findPage(0, null, null, null, null, null, PageRequest.of(0, 10));
+        long findPageStatements = statementCount();
+
+        // then
+        assertEquals("Schuhe", found.getArticle().getCategory().getDescription());
+        assertEquals(location.getAisle(), page.get(0).getLocation().getAisle());
+        assertEquals(1, findByIdStatements);
+        assertEquals(1, findPageStatements);
+    }
+
+    /**
+     * Test to adjust the quantity of a warehouse entry by a delta
+     * @result the quantity is adjusted and the version increased, a delta which would make the quantity negative
+     * changes nothing
+     */
+    @Test
+    void adjustsQuantityOnlyIfStockSuffices_When_adjustQuantity() {
+        Warehouse warehouse = warehouseRepository.findAll().stream().findFirst().get();
+        long version = warehouse.getVersion();
+
+        int adjusted = warehouseRepository.adjustQuantity(warehouse.getId(), -150, "2023-01-01 00:00:00");
+        int rejected = warehouseRepository.adjustQuantity(warehouse.getId(), -51, "2023-01-01 00:00:00");
+        entityManager.clear();
+
+        assertEquals(1, adjusted);
+        assertEquals(0, rejected);
+        Warehouse found = warehouseRepository.findById(warehouse.getId()).get();
+        assertEquals(50, found.getQuantity());
+        assertEquals(version + 1, found.getVersion());
+    }
+
     /**
      * Test to delete a warehouse entry by id
      * @result verifies if the warehouse entry with specific id is removed
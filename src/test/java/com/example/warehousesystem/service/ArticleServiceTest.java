@@ -1,10 +1,14 @@
 package com.example.warehousesystem.service;
 
 import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.StockMovement;
+import com.example.warehousesystem.entities.Warehouse;
 import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.ArticleRepository;
+import com.example.warehousesystem.repository.PendingReorderRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,6 +38,12 @@ public class ArticleServiceTest {
     @MockBean
     private CsvExportService csvExportService;
 
+    @MockBean
+    private PendingReorderRepository pendingReorderRepository;
+
+    @MockBean
+    private StockLedgerService stockLedgerService;
+
     private ArticleService articleService;
     private Article article;
 
@@ -43,7 +53,7 @@ public class ArticleServiceTest {
      */
     @BeforeEach
     void setUp() {
-        articleService = new ArticleService(articleRepository, csvExportService);
+        articleService = new ArticleService(articleRepository, csvExportService, pendingReorderRepository, stockLedgerService);
         article = new Article();
         article.setId(1L);
         article.setDescription("Nike");
@@ -55,11 +65,11 @@ public class ArticleServiceTest {
      * @result returns a list of articles
      */
     @Test
-    public void getsAListOfAllArticles_When_getAllArticlesIsCalled() {
+    public void getsAListOfAllArticles_When_getAllArticlesIsCalled() throws InvalidFormatEntryException {
         List<Article> articles = new ArrayList<>();
         articles.add(article);
-        when(articleRepository.findAll()).thenReturn(articles);
-        List<Article> result = articleService.getAllArticles();
+        when(articleRepository.findPage(eq(0L), isNull(), isNull(), any())).thenReturn(articles);
+        List<Article> result = articleService.getArticlePage(null, 100, null, null).items();
         assertEquals(result.size(), 1);
     }
 
@@ -88,14 +98,19 @@ public class ArticleServiceTest {
 
     /**
      * Test for service to delete an article by ID
-     * @result calls articleRepository to delete article
+     * @result records the removal of the stock of the article and calls articleRepository to delete article and its total quantity
      */
     @Test
     public void callsArticleRepositoryToDeleteArticleWithSpecificId_When_deleteArticleByIdIsCalled() {
+        Warehouse warehouse = new Warehouse(article, new Location(), 20);
+        article.getWarehouses().add(warehouse);
         when(articleRepository.findById(1L)).thenReturn(Optional.of(article));
         doNothing().when(articleRepository).deleteArticleById(1);
         articleService.deleteArticleById(1L);
+        verify(stockLedgerService, times(1)).recordMovement(warehouse, -20, StockMovement.Reason.DELETED);
         verify(articleRepository, times(1)).deleteArticleById(1L);
+        verify(stockLedgerService, times(1)).deleteArticleTotal(1L);
+        verify(pendingReorderRepository, times(1)).deleteByArticleIdIn(List.of(1L));
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.example.warehousesystem.service;
 
 import com.example.warehousesystem.entities.BarcodeMapping;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.BarcodeMappingRepository;
@@ -14,6 +15,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,12 +42,12 @@ public class BarcodeMappingServiceTest {
     }
 
     @Test
-    public void testGetAllBarcodeMappings() {
+    public void testGetAllBarcodeMappings() throws InvalidFormatEntryException {
         BarcodeMapping barcodeMapping = getBarcodeMapping();
         List<BarcodeMapping> barcodeMappings= new ArrayList<>();
         barcodeMappings.add(barcodeMapping);
-        when(barcodeMappingRepository.findAll()).thenReturn(barcodeMappings);
-        List<BarcodeMapping> result = barcodeMappingService.getAllBarcodeMappings();
+        when(barcodeMappingRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(barcodeMappings);
+        List<BarcodeMapping> result = barcodeMappingService.getBarcodeMappingPage(null, 100).items();
         assertEquals(result.size(), 1);
     }
 
@@ -65,6 +67,83 @@ public class BarcodeMappingServiceTest {
         assertEquals(result.getEan(), "7888883484856");
     }
 
+    /**
+     * Test for repeated scans of the same ean
+     * @result the barcode mapping is loaded from the database only once
+     */
+    @Test
+    void readsIndex_When_eanIsLookedUpAgain() {
+        BarcodeMapping barcodeMapping = getBarcodeMapping();
+        when(barcodeMappingRepository.findBarcodeMappingByEan("7888883484856")).thenReturn(Optional.of(barcodeMapping));
+
+        barcodeMappingService.getBarcodeMappingByEan("7888883484856");
+        BarcodeMapping result = barcodeMappingService.getBarcodeMappingByEan("7888883484856");
+
+        assertSame(barcodeMapping, result);
+        verify(barcodeMappingRepository, times(1)).findBarcodeMappingByEan("7888883484856");
+    }
+
+    /**
+     * Test for a lookup after the barcode mapping was modified
+     * @result the old and the new ean are removed from the index and loaded from the database again
+     */
+    @Test
+    void reloadsEan_When_barcodeMappingWasModified() {
+        BarcodeMapping barcodeMapping = getBarcodeMapping();
+        BarcodeMapping modifiedBarcodeMapping = getBarcodeMapping();
+        modifiedBarcodeMapping.setDescription("Trottinett");
+        when(barcodeMappingRepository.findBarcodeMappingByEan("7888883484856"))
+                .thenReturn(Optional.of(barcodeMapping)).thenReturn(Optional.of(modifiedBarcodeMapping));
+        when(barcodeMappingRepository.findById(1L)).thenReturn(Optional.of(getBarcodeMapping()));
+
+        barcodeMappingService.getBarcodeMappingByEan("7888883484856");
+        barcodeMappingService.modifyBarcodeMappingById(modifiedBarcodeMapping, 1L);
+        BarcodeMapping result = barcodeMappingService.getBarcodeMappingByEan("7888883484856");
+
+        assertEquals("Trottinett", result.getDescription());
+        verify(barcodeMappingRepository, times(2)).findBarcodeMappingByEan("7888883484856");
+    }
+
+    /**
+     * Test for a lookup after the barcode mapping was deleted
+     * @result the ean is not found anymore
+     */
+    @Test
+    void throwsResourceNotFoundException_When_barcodeMappingWasDeleted() {
+        BarcodeMapping barcodeMapping = getBarcodeMapping();
+        when(barcodeMappingRepository.findBarcodeMappingByEan("7888883484856"))
+                .thenReturn(Optional.of(barcodeMapping)).thenReturn(Optional.empty());
+        when(barcodeMappingRepository.findById(1L)).thenReturn(Optional.of(barcodeMapping));
+
+        barcodeMappingService.getBarcodeMappingByEan("7888883484856");
+        barcodeMappingService.deleteBarcodeMappingById(1L);
+
+        assertThrows(ResourceNotFoundException.class, () -> barcodeMappingService.getBarcodeMappingByEan("7888883484856"));
+    }
+
+    /**
+     * Test for the lookup of several eans where one ean is already indexed
+     * @result only the eans which are not indexed are loaded from the database with one query
+     */
+    @Test
+    void loadsMissingEansOnce_When_severalEansAreLookedUp() {
+        BarcodeMapping barcodeMapping = getBarcodeMapping();
+        BarcodeMapping otherBarcodeMapping = new BarcodeMapping("4006381333931", "Stift");
+        otherBarcodeMapping.setId(2L);
+        when(barcodeMappingRepository.findBarcodeMappingByEan("7888883484856")).thenReturn(Optional.of(barcodeMapping));
+        when(barcodeMappingRepository.findAllByEanIn(List.of("4006381333931", "123")))
+                .thenReturn(List.of(otherBarcodeMapping));
+        barcodeMappingService.getBarcodeMappingByEan("7888883484856");
+
+        Map<String, BarcodeMapping> result = barcodeMappingService.getBarcodeMappingsByEans(
+                List.of("7888883484856", "4006381333931", "123"));
+        barcodeMappingService.getBarcodeMappingByEan("4006381333931");
+
+        assertEquals(Map.of("7888883484856", barcodeMapping, "4006381333931", otherBarcodeMapping), result);
+        verify(barcodeMappingRepository, times(1)).findAllByEanIn(any());
+        verify(barcodeMappingRepository, never()).findBarcodeMappingByEan("4006381333931");
+    }
+
     @Test
     public void testAddBarcodeMapping_alreadyExists() {
         BarcodeMapping barcodeMapping = getBarcodeMapping();
@@ -0,0 +1,106 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.dto.ScanResult;
+import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.BarcodeMapping;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import com.example.warehousesystem.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.warehousesystem.utils.TestHelperMethods.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the BarcodeScanService
+ */
+@SpringBootTest(classes = BarcodeScanService.class)
+class BarcodeScanServiceTest {
+    @MockBean
+    private BarcodeMappingService barcodeMappingService;
+    @MockBean
+    private ArticleRepository articleRepository;
+    @MockBean
+    private CategoryService categoryService;
+    @MockBean
+    private CurrencyService currencyService;
+    @MockBean
+    private StatusService statusService;
+
+    private BarcodeScanService barcodeScanService;
+
+    @BeforeEach
+    void setUp() {
+        barcodeScanService = new BarcodeScanService(barcodeMappingService, articleRepository, categoryService,
+                currencyService, statusService);
+    }
+
+    /**
+     * Test for a batch with a new, an existing and an unknown ean
+     * @result one result per distinct ean with its outcome and number of scans, only the new article is saved
+     */
+    @Test
+    void returnsResultPerEan_When_batchIsScanned() throws InvalidFormatEntryException {
+        Article existingArticle = createDummyArticle();
+        existingArticle.setId(5L);
+        when(barcodeMappingService.getBarcodeMappingsByEans(anyCollection())).thenReturn(Map.of(
+                "111", new BarcodeMapping("111", "New article"),
+                "222", new BarcodeMapping("222", existingArticle.getDescription())));
+        when(articleRepository.findAllByDescriptionIn(anyCollection())).thenReturn(List.of(existingArticle));
+        when(categoryService.getCategoryById(1)).thenReturn(createDummyCategory());
+        when(currencyService.getCurrencyById(1)).thenReturn(createDummyCurrency());
+        when(statusService.getStatusById(1)).thenReturn(createDummyStatus());
+
+        List<ScanResult> results = barcodeScanService.scanArticles(List.of("111", "222", "333", "111"));
+
+        assertEquals(List.of(
+                new ScanResult("111", ScanResult.Outcome.CREATED, 0L, 2),
+                new ScanResult("222", ScanResult.Outcome.EXISTS, 5L, 1),
+                new ScanResult("333", ScanResult.Outcome.NOT_FOUND, null, 1)), results);
+        Article newArticle = new Article("New article", createDummyCategory(), createDummyCurrency(), createDummyStatus(), 1.00);
+        verify(articleRepository).saveAll(argThat(articles -> List.of(newArticle).equals(new ArrayList<>((Collection<Article>) articles))));
+    }
+
+    /**
+     * Test for a batch without new articles
+     * @result neither the reference data is loaded nor articles are saved
+     */
+    @Test
+    void savesNothing_When_allArticlesExist() throws InvalidFormatEntryException {
+        Article existingArticle = createDummyArticle();
+        when(barcodeMappingService.getBarcodeMappingsByEans(anyCollection())).thenReturn(Map.of(
+                "222", new BarcodeMapping("222", existingArticle.getDescription())));
+        when(articleRepository.findAllByDescriptionIn(anyCollection())).thenReturn(List.of(existingArticle));
+
+        barcodeScanService.scanArticles(List.of("222"));
+
+        verify(categoryService, never()).getCategoryById(1);
+        verify(articleRepository, never()).saveAll(any());
+    }
+
+    /**
+     * Test for an empty batch and a batch with too many scans
+     * @result an InvalidFormatEntryException is thrown
+     */
+    @Test
+    void throwsInvalidFormatEntryException_When_batchSizeIsInvalid() {
+        assertThrows(InvalidFormatEntryException.class, () -> barcodeScanService.scanArticles(List.of()));
+        assertThrows(InvalidFormatEntryException.class, () -> barcodeScanService.scanArticles(
+                Collections.nCopies(BarcodeScanService.MAX_SCANS + 1, "111")));
+    }
+}
@@ -2,15 +2,29 @@ package com.example.warehousesystem.service;
 
 import com.example.warehousesystem.ManagementToolApplication;
 import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.Warehouse;
 import com.example.warehousesystem.repository.ArticleRepository;
+import com.example.warehousesystem.repository.ArticleStockRepository;
+import com.example.warehousesystem.repository.LocationRepository;
+import com.example.warehousesystem.repository.WarehouseRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ActiveProfiles(profiles = {"dev", "h2"})
 @SpringBootTest(classes = ManagementToolApplication.class)
@@ -20,6 +34,12 @@ class CSVImportServiceTest {
     private CSVImportService csvImportService;
     @Autowired
     private ArticleRepository articleRepository;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private ArticleStockRepository articleStockRepository;
 
     @Test
     void savesNewEntitiesToDatabase_When_csvFileIsUploaded() {
@@ -64,6 +84,273 @@ class CSVImportServiceTest {
         assertEquals("Getränke", article.getCategory().getDescription());
     }
 
+    @Test
+    void updatesQuantityOfExistingWarehouse_When_csvFileContainsArticleAndLocationAgain() {
+        MockMultipartFile file
+                = new MockMultipartFile(
+                "file",
+                "hello.csv",
+                "text/csv",
+                """
+                Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                Grüner Maxirock,Röcke,79.9,CHF,Schweiz,ACTIVE,A,1,1,35
+                Grüner Maxirock,Röcke,79.9,CHF,Schweiz,ACTIVE,A,1,2,12
+                """.getBytes()
+        );
+
+        csvImportService.saveAllEntitiesToDBFromCSV(file);
+
+        Article article = articleRepository.findArticleByDescription("Grüner Maxirock").get();
+        Warehouse existing = warehouseRepository.findWarehouseByArticleAndLocation(article,
+                locationRepository.findLocationByAisleAndShelfAndTray("A", 1, 1).get()).get();
+        Warehouse created = warehouseRepository.findWarehouseByArticleAndLocation(article,
+                locationRepository.findLocationByAisleAndShelfAndTray("A", 1, 2).get()).get();
+        assertEquals(35, existing.getQuantity());
+        assertEquals(12, created.getQuantity());
+    }
+
+    @Test
+    void maintainsTotalOfArticle_When_csvFileContainsArticleAtSeveralLocations() {
+        MockMultipartFile file
+                = new MockMultipartFile(
+                "file",
+                "hello.csv",
+                "text/csv",
+                """
+                Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                Total Tee,Tee,2.5,CHF,Schweiz,ACTIVE,F,1,1,20
+                Total Tee,Tee,2.5,CHF,Schweiz,ACTIVE,F,1,2,30
+                Total Tee,Tee,2.5,CHF,Schweiz,ACTIVE,F,1,1,5
+                """.getBytes()
+        );
+
+        csvImportService.saveAllEntitiesToDBFromCSV(file);
+
+        Article article = articleRepository.findArticleByDescription("Total Tee").get();
+        assertEquals(35, articleStockRepository.findByArticleId(article.getId()).get().getQuantity());
+    }
+
+    @Test
+    void savesAllRows_When_csvFileIsLargerThanOneChunk() {
+        ReflectionTestUtils.setField(csvImportService, "chunkSize", 2);
+        MockMultipartFile file
+                = new MockMultipartFile(
+                "file",
+                "hello.csv",
+                "text/csv",
+                """
+                Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                Chunk Tee 1,Tee,2.5,CHF,Schweiz,ACTIVE,C,1,1,10
+                Chunk Tee 2,Tee,2.5,CHF,Schweiz,ACTIVE,C,1,2,20
+                Chunk Tee 3,Tee,2.5,CHF,Schweiz,ACTIVE,C,1,3,30
+                Chunk Tee 4,Tee,2.5,CHF,Schweiz,ACTIVE,C,1,4,40
+                Chunk Tee 5,Tee,2.5,CHF,Schweiz,ACTIVE,C,1,5,50
+                """.getBytes()
+        );
+
+        try {
+            csvImportService.saveAllEntitiesToDBFromCSV(file);
+        } finally {
+            ReflectionTestUtils.setField(csvImportService, "chunkSize", 1000);
+        }
+
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(articleRepository.findArticleByDescription("Chunk Tee " + i).isPresent());
+        }
+    }
+
+    @Test
+    void keepsCommittedChunks_When_aLaterChunkFails() {
+        ReflectionTestUtils.setField(csvImportService, "chunkSize", 2);
+        MockMultipartFile file
+                = new MockMultipartFile(
+                "file",
+                "hello.csv",
+                "text/csv",
+                """
+                Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                Rollback Tee 1,Tee,2.5,CHF,Schweiz,ACTIVE,D,1,1,10
+                Rollback Tee 2,Tee,2.5,CHF,Schweiz,ACTIVE,D,1,2,20
+                Rollback Tee 3,Tee,2.5,CHF,Schweiz,ACTIVE,D,1,3,30
+                Rollback Tee 4,Tee,2.5,CHF,Schweiz,ACTIVE,D,1,4,many
+                """.getBytes()
+        );
+
+        try {
+            Assertions.assertThrows(NumberFormatException.class, () -> csvImportService.saveAllEntitiesToDBFromCSV(file));
+        } finally {
+            ReflectionTestUtils.setField(csvImportService, "chunkSize", 1000);
+        }
+
+        assertTrue(articleRepository.findArticleByDescription("Rollback Tee 2").isPresent());
+        assertTrue(articleRepository.findArticleByDescription("Rollback Tee 3").isEmpty());
+    }
+
+    @Test
+    void savesRowsOfSameArticleInFileOrder_When_importRunsInPartitions() {
+        ReflectionTestUtils.setField(csvImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(csvImportService, "parallelism", 3);
+        MockMultipartFile file
+                = new MockMultipartFile(
+                "file",
+                "hello.csv",
+                "text/csv",
+                """
+                Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                Parallel Tee 1,Parallel Tee,2.5,CHF,Schweiz,ACTIVE,E,1,1,10
+                Parallel Tee 2,Parallel Tee,2.5,CHF,Schweiz,ACTIVE,E,1,2,20
+                Parallel Tee 3,Parallel Tee,2.5,CHF,Schweiz,ACTIVE,E,1,3,30
+                Parallel Tee 1,Parallel Tee,2.5,CHF,Schweiz,ACTIVE,E,1,1,11
+                Parallel Tee 4,Parallel Tee,2.5,CHF,Schweiz,ACTIVE,E,1,4,40
+                Parallel Tee 5,Parallel Tee,2.5,CHF,Schweiz,ACTIVE,E,1,5,50
+                Parallel Tee 1,Parallel Tee,2.5,CHF,Schweiz,ACTIVE,E,1,1,12
+                """.getBytes()
+        );
+
+        try {
+            csvImportService.saveAllEntitiesToDBFromCSV(file);
+        } finally {
+            ReflectionTestUtils.setField(csvImportService, "chunkSize", 1000);
+            ReflectionTestUtils.setField(csvImportService, "parallelism", 1);
+        }
+
+        for (int i = 1; i <= 5; i++) {
+            Article article = articleRepository.findArticleByDescription("Parallel Tee " + i).get();
+            assertEquals("Parallel Tee", article.getCategory().getDescription());
+        }
+        Warehouse warehouse = warehouseRepository.findWarehouseByArticleAndLocation(
+                articleRepository.findArticleByDescription("Parallel Tee 1").get(),
+                locationRepository.findLocationByAisleAndShelfAndTray("E", 1, 1).get()).get();
+        assertEquals(12, warehouse.getQuantity());
+    }
+
+    @Test
+    void throwsExceptionOfPartition_When_aRowFailsInPartitionedImport() {
+        ReflectionTestUtils.setField(csvImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(csvImportService, "parallelism", 2);
+        MockMultipartFile file
+                = new MockMultipartFile(
+                "file",
+                "hello.csv",
+                "text/csv",
+                """
+                Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                Failing Tee 1,Tee,2.5,CHF,Schweiz,ACTIVE,F,1,1,10
+                Failing Tee 2,Tee,2.5,CHF,Schweiz,ACTIVE,F,1,2,many
+                Failing Tee 3,Tee,2.5,CHF,Schweiz,ACTIVE,F,1,3,30
+                """.getBytes()
+        );
+
+        try {
+            Assertions.assertThrows(NumberFormatException.class, () -> csvImportService.saveAllEntitiesToDBFromCSV(file));
+        } finally {
+            ReflectionTestUtils.setField(csvImportService, "chunkSize", 1000);
+            ReflectionTestUtils.setField(csvImportService, "parallelism", 1);
+        }
+    }
+
+    @Test
+    void rejectsInvalidRowsAndSavesValidRows_When_importIsTolerant() throws IOException {
+        ReflectionTestUtils.setField(csvImportService, "chunkSize", 2);
+        byte[] content = """
+                Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                Tolerant Tee 1,Tee,2.5,CHF,Schweiz,ACTIVE,G,1,1,10
+                Tolerant Tee 2,Tee,2.5,CHF,Schweiz,ACTIVE,G,1,2,many
+                Tolerant Tee 3,Tee,cheap,CHF,Schweiz,ACTIVE,G,1,3,30
+                Tolerant Tee 4,,2.5,CHF,Schweiz,ACTIVE,G,1,4,40
+                Tolerant Tee 5,Tee,2.5,CHF,Schweiz,ACTIVE,G,1
+                Tolerant Tee 6,Tee,2.5,CHF,Schweiz,ACTIVE,G,1,6,60
+                """.getBytes();
+        Path rejectsFile = Files.createTempFile("rejects", ".csv");
+        ImportJob job = new ImportJob("hello.csv", content.length, rejectsFile);
+
+        try {
+            csvImportService.saveAllEntitiesToDBFromCSV(new ByteArrayInputStream(content), job);
+        } finally {
+            ReflectionTestUtils.setField(csvImportService, "chunkSize", 1000);
+        }
+
+        assertTrue(articleRepository.findArticleByDescription("Tolerant Tee 1").isPresent());
+        assertTrue(articleRepository.findArticleByDescription("Tolerant Tee 6").isPresent());
+        for (int i = 2; i <= 5; i++) {
+            assertTrue(articleRepository.findArticleByDescription("Tolerant Tee " + i).isEmpty());
+        }
+        assertEquals(2, job.getRowsProcessed());
+        assertEquals(4, job.getRowsRejected());
+        List<String> rejects = Files.readAllLines(rejectsFile);
+        Files.delete(rejectsFile);
+        assertEquals("Line,Column,Reason,Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity", rejects.get(0));
+        assertEquals("3,Quantity,'many' is not a valid number,Tolerant Tee 2,Tee,2.5,CHF,Schweiz,ACTIVE,G,1,2,many", rejects.get(1));
+        assertTrue(rejects.get(2).startsWith("4,Amount,"));
+        assertTrue(rejects.get(3).startsWith("5,Category,value is missing"));
+        assertEquals("6,,\"row has 8 columns, expected 10\",Tolerant Tee 5,Tee,2.5,CHF,Schweiz,ACTIVE,G,1", rejects.get(4));
+    }
+
+    @Test
+    void reportsLineOfRow_When_quotedValueSpansSeveralLines() throws IOException {
+        byte[] content = """
+                Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                "Multiline Tee 1
+                with a second line
+                and a third line",Tee,2.5,CHF,Schweiz,ACTIVE,J,1,1,10
+                Multiline Tee 2,Tee,2.5,CHF,Schweiz,ACTIVE,J,1,2,many
+                "Multiline Tee 3
+                with a second line",Tee,cheap,CHF,Schweiz,ACTIVE,J,1,3,30
+                Multiline Tee 4,,2.5,CHF,Schweiz,ACTIVE,J,1,4,40
+                """.getBytes();
+        Path rejectsFile = Files.createTempFile("rejects", ".csv");
+        ImportJob job = new ImportJob("hello.csv", content.length, rejectsFile);
+
+        csvImportService.saveAllEntitiesToDBFromCSV(new ByteArrayInputStream(content), job);
+
+        List<String> rejects = Files.readAllLines(rejectsFile);
+        Files.delete(rejectsFile);
+        assertTrue(articleRepository.findArticleByDescription("Multiline Tee 1\nwith a second line\nand a third line").isPresent());
+        assertEquals(3, job.getRowsRejected());
+        assertTrue(rejects.get(1).startsWith("5,Quantity,"));
+        assertTrue(rejects.get(2).startsWith("6,Amount,"));
+        // the rejected row of line 6 keeps its line break in the rejects file
+        assertTrue(rejects.get(4).startsWith("8,Category,"));
+    }
+
+    @Test
+    void rejectsRowWhichFailsInDatabase_When_importIsTolerant() throws IOException {
+        byte[] content = ("""
+                Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                Tolerant Kaffee 1,Tolerant Kaffee,2.5,CHF,Schweiz,ACTIVE,H,1,1,10
+                Tolerant Kaffee 2,""" + "x".repeat(300) + """
+                ,2.5,CHF,Schweiz,ACTIVE,H,1,2,20
+                Tolerant Kaffee 3,Tolerant Kaffee,2.5,CHF,Schweiz,ACTIVE,H,1,3,30
+                """).getBytes();
+        Path rejectsFile = Files.createTempFile("rejects", ".csv");
+        ImportJob job = new ImportJob("hello.csv", content.length, rejectsFile);
+
+        csvImportService.saveAllEntitiesToDBFromCSV(new ByteArrayInputStream(content), job);
+
+        Files.delete(rejectsFile);
+        assertEquals("Tolerant Kaffee", articleRepository.findArticleByDescription("Tolerant Kaffee 1").get().getCategory().getDescription());
+        assertTrue(articleRepository.findArticleByDescription("Tolerant Kaffee 2").isEmpty());
+        assertTrue(articleRepository.findArticleByDescription("Tolerant Kaffee 3").isPresent());
+        assertEquals(2, job.getRowsProcessed());
+        assertEquals(1, job.getRowsRejected());
+    }
+
+    @Test
+    void savesNewEntitiesToDatabase_When_csvFileIsGzipCompressed() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write("""
+                    Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity
+                    Gzip Tee,Tee,3.5,CHF,Schweiz,ACTIVE,I,1,1,15
+                    """.getBytes());
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "hello.csv.gz", "application/gzip", compressed.toByteArray());
+
+        csvImportService.saveAllEntitiesToDBFromCSV(file);
+
+        assertEquals(3.5, articleRepository.findArticleByDescription("Gzip Tee").get().getAmount());
+    }
+
     @Test
     void throwsIllegalArgumentException_When_csvFileIsNotCorrectlySetUp() {
 
@@ -0,0 +1,87 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.ManagementToolApplication;
+import com.example.warehousesystem.dto.CacheRegionStatistics;
+import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.repository.CategoryRepository;
+import com.example.warehousesystem.repository.LocationRepository;
+import com.example.warehousesystem.utils.SqlStatementCountConfiguration;
+import com.example.warehousesystem.utils.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for the second level cache of the reference data and the statistics of its regions
+ * runs against its own in-memory database which is seeded by DevConfiguration
+ */
+@ActiveProfiles(profiles = {"dev", "h2"})
+@SpringBootTest(classes = ManagementToolApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:cachestatistics;DB_CLOSE_DELAY=-1")
+@Import(SqlStatementCountConfiguration.class)
+class CacheStatisticsServiceTest {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+
+    /**
+     * Test for the statistics of all regions
+     * @result every region of application.conf is reported in the order of its name
+     */
+    @Test
+    void reportsEveryRegion_When_statisticsAreRead() {
+        assertEquals(List.of("location", "location-natural-id"),
+                cacheStatisticsService.getCacheRegionStatistics().stream().map(CacheRegionStatistics::region).toList());
+    }
+
+    /**
+     * Test for a repeated lookup of a location by aisle, shelf and tray
+     * @result the second lookup is answered by the cache without a sql statement and counted as hit
+     */
+    @Test
+    void readsNoDatabase_When_locationIsLookedUpByNaturalIdAgain() {
+        locationRepository.findLocationByAisleAndShelfAndTray("A", 1, 1).orElseThrow();
+        long hits = regionStatistics("location-natural-id").hits();
+
+        SqlStatementCounter.reset();
+        assertEquals("A", locationRepository.findLocationByAisleAndShelfAndTray("A", 1, 1).orElseThrow().getAisle());
+
+        assertEquals(0, SqlStatementCounter.statementCount());
+        assertTrue(regionStatistics("location-natural-id").hits() > hits);
+        assertTrue(regionStatistics("location").hitRatio() > 0);
+    }
+
+    /**
+     * Test for a lookup by description after the description of a category was modified
+     * @result the category is found by its new description and no longer by its old one
+     */
+    @Test
+    void findsModifiedCategory_When_cachedCategoryWasModified() {
+        Category category = categoryRepository.save(new Category("Jacken"));
+        categoryRepository.findCategoryByDescription("Jacken").orElseThrow();
+
+        categoryService.modifyCategoryById(new Category("Mäntel"), category.getId());
+
+        assertEquals(category.getId(), categoryRepository.findCategoryByDescription("Mäntel").orElseThrow().getId());
+        assertTrue(categoryRepository.findCategoryByDescription("Jacken").isEmpty());
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        return cacheStatisticsService.getCacheRegionStatistics().stream()
+                .filter(statistics -> statistics.region().equals(region)).findFirst().orElseThrow();
+    }
+}
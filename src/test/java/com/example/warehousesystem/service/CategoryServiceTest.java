@@ -1,6 +1,7 @@
 package com.example.warehousesystem.service;
 
 import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.CategoryRepository;
@@ -32,6 +33,8 @@ public class CategoryServiceTest {
 
     @MockBean
     private CsvExportService csvExportService;
+    @MockBean
+    private ReferenceDataCache referenceDataCache;
 
     private CategoryService categoryService;
     /**
@@ -39,7 +42,7 @@ public class CategoryServiceTest {
      */
     @BeforeEach
     void setUp() {
-        categoryService= new CategoryService(categoryRepository, csvExportService);
+        categoryService= new CategoryService(categoryRepository, csvExportService, referenceDataCache);
     }
 
     /**
@@ -47,12 +50,12 @@ public class CategoryServiceTest {
      * @result returns a list of categories
      */
     @Test
-    public void getsAListOfAllCategories_When_getAllCategoriesIsCalled() {
+    public void getsAListOfAllCategories_When_getAllCategoriesIsCalled() throws InvalidFormatEntryException {
         Category category = getCategory();
         List<Category> categories = new ArrayList<>();
         categories.add(category);
-        when(categoryRepository.findAll()).thenReturn(categories);
-        List<Category> result = categoryService.getAllCategories();
+        when(categoryRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(categories);
+        List<Category> result = categoryService.getCategoryPage(null, 100).items();
         assertEquals(result.size(), 1);
     }
 
@@ -63,7 +66,7 @@ public class CategoryServiceTest {
     @Test
     public void getsCategoryWithSpecificId_When_getCategoryByIdIsCalled() {
         Category category = getCategory();
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(referenceDataCache.getCategoryById(1L)).thenReturn(Optional.of(category));
         Category result = categoryService.getCategoryById(1);
         assertEquals(result.getId(), 1);
     }
@@ -105,6 +108,7 @@ public class CategoryServiceTest {
         doNothing().when(categoryRepository).deleteById(1L);
         categoryService.deleteCategoryById(1L);
         verify(categoryRepository, times(1)).deleteById(1L);
+        verify(referenceDataCache, times(1)).invalidateCategories();
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.example.warehousesystem.service;
 
 import com.example.warehousesystem.entities.Currency;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.CurrencyRepository;
@@ -33,6 +34,8 @@ public class CurrencyServiceTest {
     private CurrencyRepository currencyRepository;
     @MockBean
     private CsvExportService csvExportService;
+    @MockBean
+    private ReferenceDataCache referenceDataCache;
     private CurrencyService currencyService;
     private Currency currency;
     /**
@@ -41,7 +44,7 @@ public class CurrencyServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        currencyService = new CurrencyService(currencyRepository, csvExportService);
+        currencyService = new CurrencyService(currencyRepository, csvExportService, referenceDataCache);
         currency = createDummyCurrency();
     }
 
@@ -51,11 +54,11 @@ public class CurrencyServiceTest {
      * @result returns a list of currencies
      */
     @Test
-    public void getsListOfAllCategories_When_getAllCategoriesIsCalled() {
+    public void getsListOfAllCategories_When_getAllCategoriesIsCalled() throws InvalidFormatEntryException {
         List<Currency> currencies = new ArrayList<>();
         currencies.add(currency);
-        when(currencyRepository.findAll()).thenReturn(currencies);
-        List<Currency> result = currencyService.getAllCurrencies();
+        when(currencyRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(currencies);
+        List<Currency> result = currencyService.getCurrencyPage(null, 100).items();
         assertEquals(result.size(), 1);
     }
 
@@ -65,7 +68,7 @@ public class CurrencyServiceTest {
      */
     @Test
     public void getsCurrencyWithSpecificId_When_getCurrencyByIdIsCalled() {
-        when(currencyRepository.findById(1L)).thenReturn(Optional.of(currency));
+        when(referenceDataCache.getCurrencyById(1L)).thenReturn(Optional.of(currency));
         Currency result = currencyService.getCurrencyById(1);
         assertEquals(result.getId(), 1);
     }
@@ -104,6 +107,7 @@ public class CurrencyServiceTest {
         doNothing().when(currencyRepository).deleteById(1L);
         currencyService.deleteCurrencyById(1L);
         verify(currencyRepository, times(1)).deleteById(1L);
+        verify(referenceDataCache, times(1)).invalidateCurrencies();
     }
 
     /**
@@ -0,0 +1,79 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.entities.BarcodeMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test class for the EanIndex
+ */
+class EanIndexTest {
+
+    /**
+     * Test for the packing of eans into keys
+     * @result numeric eans get distinct keys, also if they only differ in leading zeros, other eans are not indexable
+     */
+    @Test
+    void packsEan_When_eanIsNumeric() {
+        assertNotEquals(EanIndex.toKey("0123"), EanIndex.toKey("123"));
+        assertNotEquals(EanIndex.NOT_INDEXABLE, EanIndex.toKey("0"));
+        assertNotEquals(EanIndex.NOT_INDEXABLE, EanIndex.toKey("99999999999999999"));
+        assertEquals(EanIndex.NOT_INDEXABLE, EanIndex.toKey("999999999999999999"));
+        assertEquals(EanIndex.NOT_INDEXABLE, EanIndex.toKey("12a4"));
+        assertEquals(EanIndex.NOT_INDEXABLE, EanIndex.toKey(""));
+        assertEquals(EanIndex.NOT_INDEXABLE, EanIndex.toKey(null));
+    }
+
+    /**
+     * Test for random puts and removes across several resizes
+     * @result the index contains the same entries as a hash map after every operation
+     */
+    @Test
+    void matchesHashMap_When_entriesArePutAndRemoved() {
+        EanIndex eanIndex = new EanIndex();
+        Map<Long, BarcodeMapping> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            long key = EanIndex.toKey(String.valueOf(4_000_000_000_000L + random.nextInt(5_000)));
+            if (random.nextInt(3) == 0) {
+                eanIndex.remove(key);
+                expected.remove(key);
+            } else {
+                BarcodeMapping barcodeMapping = new BarcodeMapping(String.valueOf(key), "Article " + i);
+                eanIndex.putIfUnmodified(key, barcodeMapping, eanIndex.modificationCount());
+                expected.put(key, barcodeMapping);
+            }
+        }
+
+        assertEquals(expected.size(), eanIndex.size());
+        for (int i = 0; i < 5_000; i++) {
+            long key = EanIndex.toKey(String.valueOf(4_000_000_000_000L + i));
+            assertSame(expected.get(key), eanIndex.get(key));
+        }
+    }
+
+    /**
+     * Test for a barcode mapping which was loaded before an ean was removed
+     * @result the barcode mapping is not added to the index
+     */
+    @Test
+    void skipsPut_When_entryWasRemovedSinceLookup() {
+        EanIndex eanIndex = new EanIndex();
+        long key = EanIndex.toKey("7888883484856");
+        long modificationCount = eanIndex.modificationCount();
+
+        eanIndex.remove(key);
+        eanIndex.putIfUnmodified(key, new BarcodeMapping("7888883484856", "Velo"), modificationCount);
+
+        assertNull(eanIndex.get(key));
+    }
+}
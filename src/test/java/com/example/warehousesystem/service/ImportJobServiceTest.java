@@ -0,0 +1,164 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for the service which runs the csv imports in the background
+ */
+@SpringBootTest(classes = ImportJobService.class)
+@TestPropertySource(properties = "csv.import.jobs.retained=100")
+class ImportJobServiceTest {
+    @MockBean
+    private CSVImportService csvImportService;
+
+    @MockBean(name = "importExecutor")
+    private TaskExecutor importExecutor;
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "warehouse.csv", "text/csv", "Article\nA".getBytes());
+
+    /**
+     * creates the service with an executor which runs the import in the calling thread
+     * @param executor the executor for the imports
+     * @return the service
+     */
+    private ImportJobService createService(TaskExecutor executor) {
+        ImportJobService service = new ImportJobService(csvImportService, executor);
+        ReflectionTestUtils.setField(service, "retainedJobs", 100);
+        return service;
+    }
+
+    private ImportJobService importJobService;
+
+    /**
+     * Set up before each test
+     */
+    @BeforeEach
+    void setUp() {
+        importJobService = createService(new SyncTaskExecutor());
+    }
+
+    /**
+     * Test to submit an import which succeeds
+     * @result the job is completed and can be fetched by its id
+     */
+    @Test
+    void completesJob_When_importSucceeds() throws Exception {
+        ImportJob job = importJobService.submit(file, false);
+
+        verify(csvImportService).saveAllEntitiesToDBFromCSV(any(InputStream.class), any(ImportJob.class));
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(file.getSize(), job.getFileSize());
+        assertEquals(job, importJobService.getJob(job.getId()));
+        assertNull(job.getEtaSeconds());
+    }
+
+    /**
+     * Test to submit an import which fails
+     * @result the job is failed and contains the error message
+     */
+    @Test
+    void failsJob_When_importThrowsException() throws Exception {
+        doThrow(new IllegalArgumentException("broken header"))
+                .when(csvImportService).saveAllEntitiesToDBFromCSV(any(InputStream.class), any(ImportJob.class));
+
+        ImportJob job = importJobService.submit(file, false);
+
+        assertEquals(ImportJob.Status.FAILED, job.getStatus());
+        assertEquals("broken header", job.getErrorMessage());
+    }
+
+    /**
+     * Test to submit an import while the executor is saturated
+     * @result the TaskRejectedException is passed on and no job is registered
+     */
+    @Test
+    void throwsTaskRejectedException_When_executorRejectsImport() {
+        ImportJobService service = createService(task -> {
+            throw new TaskRejectedException("queue full");
+        });
+
+        Assertions.assertThrows(TaskRejectedException.class, () -> service.submit(file, false));
+        assertTrue(service.getAllJobs().isEmpty());
+    }
+
+    /**
+     * Test to download the rejects of a finished tolerant import
+     * @result the rejects file is written to the response
+     */
+    @Test
+    void writesRejectsFile_When_tolerantJobIsFinished() throws Exception {
+        doAnswer(invocation -> {
+            ImportJob job = invocation.getArgument(1);
+            Files.writeString(job.getRejectsFile(), "Line,Column,Reason");
+            return null;
+        }).when(csvImportService).saveAllEntitiesToDBFromCSV(any(InputStream.class), any(ImportJob.class));
+        ImportJob job = importJobService.submit(file, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        importJobService.getRejectsCsv(job.getId(), response);
+
+        assertTrue(job.isTolerant());
+        assertEquals("text/csv", response.getContentType());
+        assertEquals("Line,Column,Reason", response.getContentAsString());
+    }
+
+    /**
+     * Test to download the rejects of an import which is not tolerant
+     * @result throws a ResourceNotFoundException
+     */
+    @Test
+    void throwsResourceNotFoundException_When_jobIsNotTolerant() throws Exception {
+        ImportJob job = importJobService.submit(file, false);
+
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> importJobService.getRejectsCsv(job.getId(), new MockHttpServletResponse()));
+    }
+
+    /**
+     * Test to fetch a job which does not exist
+     * @result throws a ResourceNotFoundException
+     */
+    @Test
+    void throwsResourceNotFoundException_When_jobDoesNotExist() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> importJobService.getJob("unknown"));
+    }
+
+    /**
+     * Test that only csv.import.jobs.retained jobs are kept
+     * @result the oldest finished job is evicted
+     */
+    @Test
+    void evictsOldestFinishedJob_When_moreJobsThanRetained() throws Exception {
+        ReflectionTestUtils.setField(importJobService, "retainedJobs", 1);
+
+        ImportJob first = importJobService.submit(file, false);
+        ImportJob second = importJobService.submit(file, false);
+
+        assertEquals(1, importJobService.getAllJobs().size());
+        assertEquals(second, importJobService.getJob(second.getId()));
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> importJobService.getJob(first.getId()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.Status;
+import com.example.warehousesystem.repository.CategoryRepository;
+import com.example.warehousesystem.repository.CurrencyRepository;
+import com.example.warehousesystem.repository.LocationRepository;
+import com.example.warehousesystem.repository.StatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.warehousesystem.utils.TestHelperMethods.createDummyCategory;
+import static com.example.warehousesystem.utils.TestHelperMethods.createDummyLocation;
+import static com.example.warehousesystem.utils.TestHelperMethods.createDummyStatus;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for the lookup cache of the reference data used by the csv import
+ */
+@SpringBootTest(classes = ImportReferenceCache.class)
+public class ImportReferenceCacheTest {
+    @MockBean
+    private CategoryRepository categoryRepository;
+    @MockBean
+    private CurrencyRepository currencyRepository;
+    @MockBean
+    private StatusRepository statusRepository;
+    @MockBean
+    private LocationRepository locationRepository;
+    @MockBean
+    private ReferenceDataCache referenceDataCache;
+
+    /**
+     * Set up before each test
+     */
+    @BeforeEach
+    void setUp() {
+        Location location = createDummyLocation();
+        when(locationRepository.findAllIdsAndAislesAndShelvesAndTrays()).thenReturn(List.<Object[]>of(
+                new Object[]{location.getId(), location.getAisle(), location.getShelf(), location.getTray()}));
+        when(locationRepository.getReferenceById(location.getId())).thenReturn(location);
+    }
+
+    /**
+     * Test that preloaded reference data is resolved without querying the database again
+     * @result the location is resolved by reference and never saved
+     */
+    @Test
+    public void resolvesPreloadedLocationWithoutInsert_When_getLocationIsCalled() {
+        ImportReferenceCache cache = new ImportReferenceCache(referenceDataCache, categoryRepository, currencyRepository, statusRepository, locationRepository);
+
+        Location found = cache.getLocation("DummyAisle", 88, 99);
+
+        assertEquals(1, found.getId());
+        verify(locationRepository, never()).save(any());
+        verify(locationRepository, never()).findLocationByAisleAndShelfAndTray(any(), anyInt(), anyInt());
+        assertEquals(0, cache.getCreatedEntries());
+    }
+
+    /**
+     * Test that a new category is only inserted once, no matter how many rows reference it
+     * @result the category is saved once and all further lookups are served from the cache
+     */
+    @Test
+    public void insertsNewCategoryOnlyOnce_When_getCategoryIsCalledRepeatedly() {
+        Category category = createDummyCategory();
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        when(categoryRepository.getReferenceById(category.getId())).thenReturn(category);
+        ImportReferenceCache cache = new ImportReferenceCache(referenceDataCache, categoryRepository, currencyRepository, statusRepository, locationRepository);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(category, cache.getCategory("DummyCategory"));
+        }
+
+        verify(categoryRepository, times(1)).save(any(Category.class));
+        verify(referenceDataCache, times(1)).getCategoryByDescription("DummyCategory");
+        assertEquals(1, cache.getCreatedEntries());
+    }
+
+    /**
+     * Test that an existing status is resolved through the reference data cache
+     * @result the status is resolved by reference, looked up once and never saved
+     */
+    @Test
+    public void resolvesCachedStatusWithoutInsert_When_getStatusIsCalled() {
+        Status status = createDummyStatus();
+        when(referenceDataCache.getStatusByDescription("DummyStatus")).thenReturn(Optional.of(status));
+        when(statusRepository.getReferenceById(status.getId())).thenReturn(status);
+        ImportReferenceCache cache = new ImportReferenceCache(referenceDataCache, categoryRepository, currencyRepository, statusRepository, locationRepository);
+
+        assertEquals(status, cache.getStatus("DummyStatus"));
+        assertEquals(status, cache.getStatus("DummyStatus"));
+
+        verify(referenceDataCache, times(1)).getStatusByDescription("DummyStatus");
+        verify(statusRepository, never()).save(any());
+        assertEquals(0, cache.getCreatedEntries());
+    }
+}
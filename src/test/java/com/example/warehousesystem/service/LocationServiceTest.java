@@ -1,6 +1,10 @@
 package com.example.warehousesystem.service;
 
+import com.example.warehousesystem.entities.Article;
 import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.StockMovement;
+import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.LocationRepository;
@@ -33,13 +37,16 @@ public class LocationServiceTest {
     @MockBean
     private CsvExportService csvExportService;
 
+    @MockBean
+    private StockLedgerService stockLedgerService;
+
     LocationService locationService;
     /**
      * Set up before each test
      */
     @BeforeEach
     void setUp() {
-        locationService = new LocationService(locationRepository, csvExportService);
+        locationService = new LocationService(locationRepository, csvExportService, stockLedgerService);
     }
 
     /**
@@ -47,12 +54,12 @@ public class LocationServiceTest {
      * @result returns a list of locations
      */
     @Test
-    public void getsAListOfAllLocations_When_getAllLocationsIsCalled() {
+    public void getsAListOfAllLocations_When_getAllLocationsIsCalled() throws InvalidFormatEntryException {
         Location location = getLocation();
         List<Location> locations = new ArrayList<>();
         locations.add(location);
-        when(locationRepository.findAll()).thenReturn(locations);
-        List<Location> result = locationService.getAllLocations();
+        when(locationRepository.findPage(eq(0L), isNull(), any())).thenReturn(locations);
+        List<Location> result = locationService.getLocationPage(null, 100, null).items();
         assertEquals(result.size(), 1);
     }
 
@@ -61,10 +68,10 @@ public class LocationServiceTest {
      * @result returns an empty list of locations
      */
     @Test
-    public void returnsEmptyList_When_getAllLocationsIsCalled() {
+    public void returnsEmptyList_When_getAllLocationsIsCalled() throws InvalidFormatEntryException {
         List<Location> locations = new ArrayList<>();
-        when(locationRepository.findAll()).thenReturn(locations);
-        List<Location> result = locationService.getAllLocations();
+        when(locationRepository.findPage(eq(0L), isNull(), any())).thenReturn(locations);
+        List<Location> result = locationService.getLocationPage(null, 100, null).items();
         assertEquals(result.size(), 0);
     }
 
@@ -109,15 +116,18 @@ public class LocationServiceTest {
 
     /**
      * Test for service to delete an location by ID
-     * @result calls locationRepository to delete location
+     * @result records the removal of the stock at the location and calls locationRepository to delete location
      */
     @Test
     public void callsLocationRepositoryToDeleteLocationWithSpecificId_When_deleteLocationByIdIsCalled() {
 
         Location location = getLocation();
+        Warehouse warehouse = new Warehouse(new Article(), location, 20);
+        location.getWarehouses().add(warehouse);
         when(locationRepository.findById(1L)).thenReturn(Optional.of(location));
         doNothing().when(locationRepository).deleteById(1L);
         locationService.deleteLocationById(1L);
+        verify(stockLedgerService, times(1)).recordMovement(warehouse, -20, StockMovement.Reason.DELETED);
         verify(locationRepository, times(1)).deleteById(1L);
     }
 
@@ -2,7 +2,6 @@ package com.example.warehousesystem.service;
 
 import com.example.warehousesystem.entities.Article;
 import com.example.warehousesystem.exceptions.NoArticlesFoundForOrderException;
-import com.example.warehousesystem.repository.ArticleRepository;
 import jakarta.mail.internet.MimeMessage;
 import org.apache.commons.io.FilenameUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,8 +32,6 @@ import static org.mockito.Mockito.when;
 @SpringBootTest(classes = MailService.class)
 public class MailServiceTest {
 
-    @MockBean
-    private ArticleRepository articleRepository;
     @MockBean
     private JavaMailSender mailSender;
     @MockBean
@@ -52,7 +49,7 @@ public class MailServiceTest {
         testValues = new HashMap<>();
         testValues.put("1","Besen");
         testValues.put("2","Adidas Schuhe");
-        mailService = new MailService(mailSender,articleRepository);
+        mailService = new MailService(mailSender);
     }
 
     /**
@@ -61,7 +58,7 @@ public class MailServiceTest {
      */
     @Test
     void throwsNoArticlesFoundForOrderException_When_PrepareCsvFileToAttach() {
-        NoArticlesFoundForOrderException naf = assertThrows(NoArticlesFoundForOrderException.class, () -> mailService.prepareArticlesForCsvOrder(0));
+        NoArticlesFoundForOrderException naf = assertThrows(NoArticlesFoundForOrderException.class, () -> mailService.prepareArticlesForCsvOrder(List.of()));
         assertEquals("No Articles found to order!", naf.getMessage(), "Exception Message wrong!");
     }
 
@@ -70,17 +67,15 @@ public class MailServiceTest {
      * @result article list of all articles for the order
      */
     @Test
-    void returnsArticlesFromGetAllArticlesWithLowQuantity_When_preparingArticlesForCsvOrder() throws NoArticlesFoundForOrderException{
+    void returnsArticlesToOrder_When_preparingArticlesForCsvOrder() throws NoArticlesFoundForOrderException{
         //given
         Article article = new Article();
         article.setId(1L);
         article.setDescription("Nike");
         List<Article> articles = new ArrayList<>();
         articles.add(article);
-        //when
-        when(articleRepository.getAllArticlesWithLowQuantity(500)).thenReturn(articles);
-        //then
-        assertEquals("Nike",mailService.prepareArticlesForCsvOrder(500).get("1"));
+        //when, then
+        assertEquals("Nike",mailService.prepareArticlesForCsvOrder(articles).get("1"));
     }
 
     /**
@@ -0,0 +1,126 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.entities.Article;
+import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import com.example.warehousesystem.repository.WarehouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for the retries of the annotated service methods, the WarehouseService is called through its proxy
+ */
+@SpringBootTest(classes = {OptimisticLockRetryAspect.class, WarehouseService.class, AopAutoConfiguration.class})
+class OptimisticLockRetryAspectTest {
+    private static final String METHOD = "WarehouseService.modifyWarehouseById";
+
+    @MockBean
+    private WarehouseRepository warehouseRepository;
+    @MockBean
+    private CsvExportService csvExportService;
+    @MockBean
+    private RetryStatisticsService retryStatisticsService;
+    @MockBean
+    private StockLedgerService stockLedgerService;
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    private Warehouse warehouse;
+
+    @BeforeEach
+    void setUp() {
+        warehouse = new Warehouse(new Article(), new Location(), 100);
+        warehouse.setId(1L);
+        when(warehouseRepository.findById(1L)).thenReturn(Optional.of(warehouse));
+    }
+
+    /**
+     * Test for a modification which conflicts once with a concurrent modification
+     * @result the entity is read again and the second attempt succeeds
+     */
+    @Test
+    void succeedsWithSecondAttempt_When_firstAttemptFailsWithOptimisticLock() throws InvalidFormatEntryException {
+        when(warehouseRepository.save(warehouse))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Warehouse.class, 1L))
+                .thenReturn(warehouse);
+
+        warehouseService.modifyWarehouseById(warehouse, 1L);
+
+        verify(warehouseRepository, times(2)).findById(1L);
+        verify(retryStatisticsService).recordRetry(METHOD);
+        verify(retryStatisticsService).recordRecovery(METHOD);
+    }
+
+    /**
+     * Test for a modification which conflicts with every attempt
+     * @result the optimistic lock failure of the last attempt is thrown after the maximum number of attempts
+     */
+    @Test
+    void throwsOptimisticLockFailure_When_allAttemptsFail() {
+        when(warehouseRepository.save(warehouse)).thenThrow(new ObjectOptimisticLockingFailureException(Warehouse.class, 1L));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> warehouseService.modifyWarehouseById(warehouse, 1L));
+
+        verify(warehouseRepository, times(4)).save(warehouse);
+        verify(retryStatisticsService, times(3)).recordRetry(METHOD);
+        verify(retryStatisticsService).recordExhaustion(METHOD);
+    }
+
+    /**
+     * Test for a modification which fails with another exception or is called inside a transaction
+     * @result the method is not retried
+     */
+    @Test
+    void doesNotRetry_When_failureIsNoOptimisticLockOrTransactionIsActive() {
+        warehouse.setQuantity(0);
+        assertThrows(InvalidFormatEntryException.class, () -> warehouseService.modifyWarehouseById(warehouse, 1L));
+        verify(warehouseRepository, times(1)).findById(1L);
+
+        warehouse.setQuantity(100);
+        when(warehouseRepository.save(warehouse)).thenThrow(new ObjectOptimisticLockingFailureException(Warehouse.class, 1L));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(OptimisticLockingFailureException.class, () -> warehouseService.modifyWarehouseById(warehouse, 1L));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        verify(warehouseRepository, times(1)).save(warehouse);
+        verify(retryStatisticsService, never()).recordRetry(METHOD);
+    }
+
+    /**
+     * Test for the backoff of the retries
+     * @result the backoff is between the half and the full upper bound, which doubles per attempt up to the maximum
+     */
+    @Test
+    void staysWithinBounds_When_backoffIsCalculated() throws NoSuchMethodException {
+        RetryOnOptimisticLock retryOnOptimisticLock = WarehouseService.class
+                .getMethod("modifyWarehouseById", Warehouse.class, Long.class).getAnnotation(RetryOnOptimisticLock.class);
+        for (int i = 0; i < 100; i++) {
+            long first = OptimisticLockRetryAspect.backoffMillis(1, retryOnOptimisticLock);
+            long second = OptimisticLockRetryAspect.backoffMillis(2, retryOnOptimisticLock);
+            long late = OptimisticLockRetryAspect.backoffMillis(40, retryOnOptimisticLock);
+            assertTrue(first >= 10 && first <= 20, "first backoff " + first);
+            assertTrue(second >= 20 && second <= 40, "second backoff " + second);
+            assertTrue(late >= 250 && late <= 500, "late backoff " + late);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.entities.Currency;
+import com.example.warehousesystem.repository.CategoryRepository;
+import com.example.warehousesystem.repository.CurrencyRepository;
+import com.example.warehousesystem.repository.StatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.warehousesystem.utils.TestHelperMethods.createDummyCategory;
+import static com.example.warehousesystem.utils.TestHelperMethods.createDummyCurrency;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the ReferenceDataCache
+ */
+@SpringBootTest(classes = ReferenceDataCache.class)
+class ReferenceDataCacheTest {
+    @MockBean
+    private CategoryRepository categoryRepository;
+    @MockBean
+    private CurrencyRepository currencyRepository;
+    @MockBean
+    private StatusRepository statusRepository;
+
+    private ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    void setUp() {
+        // the cache bean of the test context was warmed up at startup
+        clearInvocations(categoryRepository, currencyRepository, statusRepository);
+        referenceDataCache = new ReferenceDataCache(categoryRepository, currencyRepository, statusRepository);
+    }
+
+    /**
+     * Test for repeated lookups of the same category by id and by description
+     * @result the categories are loaded with one query and never looked up one by one
+     */
+    @Test
+    void loadsTableOnce_When_categoryIsLookedUpRepeatedly() {
+        Category category = createDummyCategory();
+        when(categoryRepository.findAll()).thenReturn(List.of(category));
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(category, referenceDataCache.getCategoryById(category.getId()).orElseThrow());
+            assertSame(category, referenceDataCache.getCategoryByDescription("DummyCategory").orElseThrow());
+        }
+
+        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, never()).findById(category.getId());
+    }
+
+    /**
+     * Test for a lookup after the currencies were invalidated
+     * @result the currencies are loaded again
+     */
+    @Test
+    void reloadsTable_When_currenciesWereInvalidated() {
+        Currency currency = createDummyCurrency();
+        Currency modifiedCurrency = createDummyCurrency();
+        modifiedCurrency.setCountry("Liechtenstein");
+        when(currencyRepository.findAll()).thenReturn(List.of(currency)).thenReturn(List.of(modifiedCurrency));
+
+        referenceDataCache.getCurrencyById(currency.getId());
+        referenceDataCache.invalidateCurrencies();
+
+        assertEquals(Optional.of(modifiedCurrency), referenceDataCache.getCurrencyByCurrencyCodeAndCountry("CHF", "Liechtenstein"));
+        verify(currencyRepository, times(2)).findAll();
+    }
+
+    /**
+     * Test for a lookup of a status which is not in the cached table, e.g. because it was created by a csv import
+     * @result the status is read from the database
+     */
+    @Test
+    void readsDatabase_When_statusIsNotCached() {
+        when(statusRepository.findAll()).thenReturn(List.of());
+        when(statusRepository.findStatusByDescription("IMPORTED")).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), referenceDataCache.getStatusByDescription("IMPORTED"));
+        verify(statusRepository, times(1)).findStatusByDescription("IMPORTED");
+    }
+}
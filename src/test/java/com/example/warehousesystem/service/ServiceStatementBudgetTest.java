@@ -0,0 +1,117 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.ManagementToolApplication;
+import com.example.warehousesystem.dto.ScanResult;
+import com.example.warehousesystem.entities.BarcodeMapping;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import com.example.warehousesystem.repository.BarcodeMappingRepository;
+import com.example.warehousesystem.repository.WarehouseRepository;
+import com.example.warehousesystem.utils.SqlStatementCountConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.warehousesystem.utils.SqlStatementCounter.assertStatementBudget;
+import static com.example.warehousesystem.utils.SqlStatementCounter.reset;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test for the sql statement budgets of the services
+ * runs against the dev data in its own in-memory database, the budgets fail as soon as a service issues N+1 queries
+ */
+@ActiveProfiles(profiles = {"dev", "h2"})
+@SpringBootTest(classes = ManagementToolApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:servicestatementbudget;DB_CLOSE_DELAY=-1")
+@Import(SqlStatementCountConfiguration.class)
+class ServiceStatementBudgetTest {
+    private static final long MAX_JDBC_MILLIS = 500;
+
+    @Autowired
+    private WarehouseService warehouseService;
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private CSVImportService csvImportService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private BarcodeScanService barcodeScanService;
+    @Autowired
+    private BarcodeMappingRepository barcodeMappingRepository;
+
+    /**
+     * Test for the page and detail methods of the warehouse service
+     * @result every method loads the entries with their references in one statement
+     */
+    @Test
+    void staysWithinStatementBudget_When_warehousesAreLoaded() throws InvalidFormatEntryException {
+        long id = warehouseRepository.findAll().get(0).getId();
+
+        reset();
+        warehouseService.getWarehousePage(null, 100, null, null, null, null, null);
+        assertStatementBudget(1, MAX_JDBC_MILLIS);
+
+        reset();
+        warehouseService.getWarehouseById(id);
+        assertStatementBudget(1, MAX_JDBC_MILLIS);
+    }
+
+    /**
+     * Test for the page method of the article service
+     * @result the articles are loaded with their reference data in one statement
+     */
+    @Test
+    void staysWithinStatementBudget_When_articlesAreLoaded() throws InvalidFormatEntryException {
+        reset();
+        articleService.getArticlePage(null, 100, null, null);
+        assertStatementBudget(1, MAX_JDBC_MILLIS);
+    }
+
+    /**
+     * Test for the csv import of 1000 new rows, every row inserts an article, a location, a warehouse entry,
+     * a stock movement, the total of the article and, as the quantity of 5 is below the order limit, a pending reorder
+     * @result the import needs far less than one statement per row because the inserts are batched
+     * and the reference data is resolved once per chunk
+     */
+    @Test
+    void staysWithinStatementBudget_When_csvFileIsImported() {
+        StringBuilder csv = new StringBuilder("Article,Category,Amount,CurrencyCode,Country,Status,Aisle,Shelf,Tray,Quantity\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("Budget ").append(i).append(",Budget ").append(i % 5).append(",1.5,CHF,Schweiz,ACTIVE,Budget,")
+                    .append(i % 10).append(',').append(i / 10).append(",5\n");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "budget.csv", "text/csv", csv.toString().getBytes());
+
+        reset();
+        csvImportService.saveAllEntitiesToDBFromCSV(file);
+        assertStatementBudget(400, 5000);
+    }
+
+    /**
+     * Test for a batch of 2000 scans of 1000 eans with new articles
+     * @result the eans and articles are resolved with one query each and the articles are inserted in batches
+     */
+    @Test
+    void staysWithinStatementBudget_When_batchIsScanned() throws InvalidFormatEntryException {
+        List<BarcodeMapping> barcodeMappings = new ArrayList<>();
+        List<String> eans = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            barcodeMappings.add(new BarcodeMapping(String.valueOf(7_600_000_000_000L + i), "Scanned " + i));
+            eans.add(String.valueOf(7_600_000_000_000L + i));
+        }
+        barcodeMappingRepository.saveAll(barcodeMappings);
+        eans.addAll(eans);
+
+        reset();
+        List<ScanResult> results = barcodeScanService.scanArticles(eans);
+        assertStatementBudget(100, 5000);
+        assertEquals(1000, results.size());
+    }
+}
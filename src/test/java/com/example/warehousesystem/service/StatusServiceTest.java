@@ -1,6 +1,7 @@
 package com.example.warehousesystem.service;
 
 import com.example.warehousesystem.entities.Status;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
 import com.example.warehousesystem.repository.StatusRepository;
@@ -32,6 +33,8 @@ public class StatusServiceTest {
 
     @MockBean
     private CsvExportService csvExportService;
+    @MockBean
+    private ReferenceDataCache referenceDataCache;
 
     StatusService statusService;
     /**
@@ -39,7 +42,7 @@ public class StatusServiceTest {
      */
     @BeforeEach
     void setUp() {
-        statusService = new StatusService(statusRepository, csvExportService);
+        statusService = new StatusService(statusRepository, csvExportService, referenceDataCache);
     }
 
     /**
@@ -48,12 +51,12 @@ public class StatusServiceTest {
      * @result returns a list of statuses
      */
     @Test
-    public void getsAListOfAllStatuss_When_getAllStatussIsCalled() {
+    public void getsAListOfAllStatuss_When_getAllStatussIsCalled() throws InvalidFormatEntryException {
         Status status = getStatus();
         List<Status> statuses = new ArrayList<>();
         statuses.add(status);
-        when(statusRepository.findAll()).thenReturn(statuses);
-        List<Status> result = statusService.getAllStatus();
+        when(statusRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(statuses);
+        List<Status> result = statusService.getStatusPage(null, 100).items();
         assertEquals(result.size(), 1);
     }
 
@@ -63,10 +66,10 @@ public class StatusServiceTest {
      * @result returns an empty list of statuses
      */
     @Test
-    public void returnsEmptyList_When_getAllStatusesIsCalled() {
+    public void returnsEmptyList_When_getAllStatusesIsCalled() throws InvalidFormatEntryException {
         List<Status> statuses = new ArrayList<>();
-        when(statusRepository.findAll()).thenReturn(statuses);
-        List<Status> result = statusService.getAllStatus();
+        when(statusRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(statuses);
+        List<Status> result = statusService.getStatusPage(null, 100).items();
         assertEquals(result.size(), 0);
     }
 
@@ -78,7 +81,7 @@ public class StatusServiceTest {
     @Test
     public void getsStatusWithSpecificId_When_getStatusByIdIsCalled() {
         Status status = getStatus();
-        when(statusRepository.findById(1L)).thenReturn(Optional.of(status));
+        when(referenceDataCache.getStatusById(1L)).thenReturn(Optional.of(status));
         Status result = statusService.getStatusById(1);
         assertEquals(result.getId(), 1);
     }
@@ -123,6 +126,7 @@ public class StatusServiceTest {
         doNothing().when(statusRepository).deleteById(1L);
         statusService.deleteStatusById(1L);
         verify(statusRepository, times(1)).deleteById(1L);
+        verify(referenceDataCache, times(1)).invalidateStatuses();
     }
 
     /**
@@ -0,0 +1,170 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.ManagementToolApplication;
+import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InsufficientStockException;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import com.example.warehousesystem.repository.ArticleStockRepository;
+import com.example.warehousesystem.repository.LocationRepository;
+import com.example.warehousesystem.repository.WarehouseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for concurrent stock adjustments of the same warehouse entry and of the same article at different locations
+ * runs against its own in-memory database which is seeded by DevConfiguration
+ */
+@ActiveProfiles(profiles = {"dev", "h2"})
+@SpringBootTest(classes = ManagementToolApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:stockadjustment;DB_CLOSE_DELAY=-1")
+class StockAdjustmentConcurrencyTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private WarehouseService warehouseService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private StockLedgerService stockLedgerService;
+    @Autowired
+    private ArticleStockRepository articleStockRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Test for many threads which add pieces to the same warehouse entry at the same time
+     * @result every adjustment succeeds without a retry and none is lost
+     */
+    @Test
+    void losesNoAdjustment_When_sameWarehouseIsAdjustedConcurrently() throws Exception {
+        Warehouse warehouse = warehouseRepository.findAll().get(0);
+        int adjustmentsPerThread = 200;
+
+        List<Integer> failures = runConcurrently(warehouse.getId(), adjustmentsPerThread, 1);
+
+        assertEquals(List.of(0, 0, 0, 0, 0, 0, 0, 0), failures);
+        assertEquals(warehouse.getQuantity() + THREADS * adjustmentsPerThread,
+                warehouseService.getWarehouseById(warehouse.getId()).getQuantity());
+    }
+
+    /**
+     * Test for more concurrent withdrawals than pieces in stock
+     * @result exactly the pieces in stock are withdrawn, the other withdrawals are rejected and the quantity never
+     * becomes negative, the stock ledger recorded only the successful withdrawals
+     */
+    @Test
+    void withdrawsNoMoreThanStock_When_withdrawalsExceedStockConcurrently() throws Exception {
+        Warehouse warehouse = warehouseRepository.findAll().get(0);
+        if (warehouse.getQuantity() != 100) {
+            warehouseService.adjustQuantity(warehouse.getId(), 100 - warehouse.getQuantity());
+        }
+
+        List<Integer> failures = runConcurrently(warehouse.getId(), 25, -1);
+
+        assertEquals(THREADS * 25 - 100, failures.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(0, warehouseService.getWarehouseById(warehouse.getId()).getQuantity());
+        assertEquals(0, stockLedgerService.getStockAt(warehouse.getArticle().getId(), warehouse.getLocation().getId(),
+                LocalDateTime.now()).quantity());
+    }
+
+    /**
+     * Test for an adjustment of an article at one location while the transaction of an adjustment of the same article
+     * at another location is still open
+     * @result the second adjustment commits without waiting for the first transaction, the total of the article
+     * contains both adjustments once the first transaction committed
+     */
+    @Test
+    void adjustsWithoutWaiting_When_sameArticleIsAdjustedAtAnotherLocation() throws Exception {
+        Warehouse seeded = warehouseRepository.findAll().get(0);
+        Location otherLocation = locationRepository.findLocationByAisleAndShelfAndTray("B", 1, 1).orElseThrow();
+        List<Warehouse> warehouses = List.of(seeded,
+                warehouseService.addNewWarehouse(new Warehouse(seeded.getArticle(), otherLocation, 50)));
+        long articleId = seeded.getArticle().getId();
+        long total = articleStockRepository.findByArticleId(articleId).orElseThrow().getQuantity();
+        CountDownLatch adjusted = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> open = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                adjust(warehouses.get(0).getId());
+                adjusted.countDown();
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(adjusted.await(10, TimeUnit.SECONDS));
+            Future<?> concurrent = executor.submit(() -> adjust(warehouses.get(1).getId()));
+            try {
+                concurrent.get(5, TimeUnit.SECONDS);
+            } finally {
+                released.countDown();
+            }
+            open.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(total + 2, articleStockRepository.findByArticleId(articleId).orElseThrow().getQuantity());
+    }
+
+    private void adjust(long id) {
+        try {
+            warehouseService.adjustQuantity(id, 1);
+        } catch (InvalidFormatEntryException | InsufficientStockException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the number of adjustments per thread which were rejected because of insufficient stock
+     */
+    private List<Integer> runConcurrently(long id, int adjustmentsPerThread, int delta) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                tasks.add(() -> {
+                    int rejected = 0;
+                    for (int i = 0; i < adjustmentsPerThread; i++) {
+                        try {
+                            warehouseService.adjustQuantity(id, delta);
+                        } catch (InsufficientStockException e) {
+                            rejected++;
+                        }
+                    }
+                    return rejected;
+                });
+            }
+            List<Integer> failures = new ArrayList<>();
+            for (Future<Integer> future : executor.invokeAll(tasks)) {
+                failures.add(future.get());
+            }
+            return failures;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.warehousesystem.service;
+
+import com.example.warehousesystem.ManagementToolApplication;
+import com.example.warehousesystem.dto.StockLevel;
+import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.StockMovement;
+import com.example.warehousesystem.entities.StockSnapshot;
+import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InsufficientStockException;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import com.example.warehousesystem.repository.ArticleStockRepository;
+import com.example.warehousesystem.repository.LocationRepository;
+import com.example.warehousesystem.repository.PendingReorderRepository;
+import com.example.warehousesystem.repository.StockMovementRepository;
+import com.example.warehousesystem.repository.StockSnapshotRepository;
+import com.example.warehousesystem.repository.WarehouseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for the stock ledger, its snapshots and the stock at a point in time
+ * runs against its own in-memory database which is seeded by DevConfiguration
+ */
+@ActiveProfiles(profiles = {"dev", "h2"})
+@SpringBootTest(classes = ManagementToolApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:stockledger;DB_CLOSE_DELAY=-1")
+class StockLedgerServiceTest {
+    private static final long ARTICLE_ID = 900_001;
+    private static final long LOCATION_ID = 900_002;
+    private static final LocalDateTime DAY = LocalDateTime.of(2023, 1, 31, 0, 0);
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+    @Autowired
+    private StockSnapshotRepository stockSnapshotRepository;
+    @Autowired
+    private WarehouseService warehouseService;
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+    @Autowired
+    private ArticleStockRepository articleStockRepository;
+    @Autowired
+    private PendingReorderRepository pendingReorderRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Test for the stock at points in time before, between and after two compactions
+     * @result the stock is the nearest snapshot plus the movements since then, the movements after the snapshot
+     * time are left for the next compaction, the snapshots of a run which stopped after its first chunk are no base
+     */
+    @Test
+    void returnsStockOfThatTime_When_snapshotsWereTakenInBetween() {
+        stockMovementRepository.saveAll(List.of(
+                new StockMovement(ARTICLE_ID, LOCATION_ID, 10, StockMovement.Reason.CREATED, DAY.withHour(10)),
+                new StockMovement(ARTICLE_ID, LOCATION_ID, -3, StockMovement.Reason.ADJUSTED, DAY.withHour(11)),
+                new StockMovement(ARTICLE_ID, LOCATION_ID, 5, StockMovement.Reason.ADJUSTED, DAY.withHour(13)),
+                new StockMovement(ARTICLE_ID, LOCATION_ID + 1, 4, StockMovement.Reason.CREATED, DAY.withHour(10))));
+        // the first chunk of a run which stopped before it was completed
+        stockSnapshotRepository.save(new StockSnapshot(ARTICLE_ID, LOCATION_ID + 1, 4, DAY.withHour(11).withMinute(30)));
+
+        assertEquals(2, stockLedgerService.compactSnapshots(DAY.withHour(12)));
+
+        StockLevel beforeSnapshot = stockLedgerService.getStockAt(ARTICLE_ID, LOCATION_ID, DAY.withHour(10).withMinute(30));
+        assertEquals(10, beforeSnapshot.quantity());
+        assertNull(beforeSnapshot.replayedFrom());
+        StockLevel atSnapshot = stockLedgerService.getStockAt(ARTICLE_ID, LOCATION_ID, DAY.withHour(12).withMinute(30));
+        assertEquals(7, atSnapshot.quantity());
+        assertEquals(DAY.withHour(12), atSnapshot.replayedFrom());
+        assertEquals(12, stockLedgerService.getStockAt(ARTICLE_ID, LOCATION_ID, DAY.withHour(14)).quantity());
+        assertEquals(4, stockLedgerService.getStockAt(ARTICLE_ID, LOCATION_ID + 1, DAY.withHour(14)).quantity());
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        stockLedgerService.compactSnapshots(now);
+
+        StockLevel afterSecondSnapshot = stockLedgerService.getStockAt(ARTICLE_ID, LOCATION_ID, now);
+        assertEquals(12, afterSecondSnapshot.quantity());
+        assertEquals(now, afterSecondSnapshot.replayedFrom());
+        assertEquals(0, stockLedgerService.compactSnapshots(now));
+    }
+
+    /**
+     * Test for an adjustment of a warehouse entry
+     * @result the adjustment is recorded as a movement and the stock of the ledger is the quantity of the entry
+     */
+    @Test
+    void matchesWarehouseQuantity_When_warehouseWasAdjusted() throws InvalidFormatEntryException, InsufficientStockException {
+        Warehouse warehouse = warehouseRepository.findAll().get(0);
+
+        Warehouse adjusted = warehouseService.adjustQuantity(warehouse.getId(), -5);
+
+        StockLevel stock = stockLedgerService.getStockAt(warehouse.getArticle().getId(), warehouse.getLocation().getId(),
+                LocalDateTime.now());
+        assertEquals(warehouse.getQuantity() - 5, adjusted.getQuantity());
+        assertEquals(adjusted.getQuantity(), stock.quantity());
+    }
+
+    /**
+     * Test for the start of the application on a database without totals, e.g. after an update
+     * @result the totals of all articles are built from the warehouse entries
+     */
+    @Test
+    void buildsArticleTotals_When_noTotalsExist() {
+        Warehouse warehouse = warehouseRepository.findAll().get(0);
+        articleStockRepository.deleteAll();
+
+        assertEquals(warehouseRepository.sumQuantitiesByArticle().size(), stockLedgerService.initializeArticleTotals());
+        assertEquals(0, stockLedgerService.initializeArticleTotals());
+        assertEquals(warehouseService.getWarehouseById(warehouse.getId()).getQuantity(),
+                articleStockRepository.findByArticleId(warehouse.getArticle().getId()).get().getQuantity());
+    }
+
+    /**
+     * Test for a warehouse entry which was stored without a stock movement, e.g. before the ledger existed
+     * @result the entry gets one opening snapshot and the stock of the ledger stays the quantity after an adjustment
+     */
+    @Test
+    void takesOpeningSnapshot_When_warehouseHasNoMovements() throws InvalidFormatEntryException, InsufficientStockException {
+        Location location = locationRepository.save(new Location("OPEN", 1, 1));
+        Warehouse warehouse = warehouseRepository.save(
+                new Warehouse(warehouseRepository.findAll().get(0).getArticle(), location, 40));
+        long articleId = warehouse.getArticle().getId();
+
+        assertEquals(1, stockLedgerService.recordOpeningStock());
+        assertEquals(0, stockLedgerService.recordOpeningStock());
+        StockLevel opening = stockLedgerService.getStockAt(articleId, location.getId(), LocalDateTime.now());
+        assertEquals(40, opening.quantity());
+        assertEquals(StockLedgerService.OPENING_TIME, opening.replayedFrom());
+
+        warehouseService.adjustQuantity(warehouse.getId(), -5);
+        assertEquals(35, stockLedgerService.getStockAt(articleId, location.getId(), LocalDateTime.now()).quantity());
+    }
+
+    /**
+     * Test for movements which let the total of an article drop below order.quantity.limit of 250 twice
+     * @result the article becomes pending with the first crossing and stays pending once
+     */
+    @Test
+    void addsPendingReorderOnce_When_totalDropsBelowLimit() {
+        long articleId = ARTICLE_ID + 100;
+
+        stockLedgerService.recordMovement(articleId, LOCATION_ID, 300, StockMovement.Reason.CREATED);
+        assertEquals(0, pendingReorderRepository.findAllByArticleIdIn(List.of(articleId)).size());
+        stockLedgerService.recordMovement(articleId, LOCATION_ID, -100, StockMovement.Reason.ADJUSTED);
+        stockLedgerService.recordMovement(articleId, LOCATION_ID, -10, StockMovement.Reason.ADJUSTED);
+        stockLedgerService.recordMovement(articleId, LOCATION_ID, 100, StockMovement.Reason.ADJUSTED);
+        stockLedgerService.recordMovement(articleId, LOCATION_ID, -60, StockMovement.Reason.ADJUSTED);
+
+        assertEquals(230, articleStockRepository.findByArticleId(articleId).get().getQuantity());
+        assertEquals(1, pendingReorderRepository.findAllByArticleIdIn(List.of(articleId)).size());
+    }
+
+    /**
+     * Test for the first movements of new articles which are recorded by two transactions at the same time
+     * @result no movement fails on the unique total of the article and both deltas are added to it
+     */
+    @Test
+    void addsBothDeltas_When_firstMovementsOfAnArticleAreConcurrent() throws InterruptedException, ExecutionException {
+        long firstArticleId = ARTICLE_ID + 200;
+        int articles = 20;
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (long location = LOCATION_ID; location < LOCATION_ID + 2; location++) {
+                long locationId = location;
+                results.add(executor.submit(() -> {
+                    for (long articleId = firstArticleId; articleId < firstArticleId + articles; articleId++) {
+                        barrier.await();
+                        stockLedgerService.recordMovement(articleId, locationId, 300, StockMovement.Reason.CREATED);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (long articleId = firstArticleId; articleId < firstArticleId + articles; articleId++) {
+            assertEquals(600, articleStockRepository.findByArticleId(articleId).get().getQuantity());
+        }
+    }
+
+    /**
+     * Test for stock which two transactions move at the same time between two articles in opposite directions
+     * @result the totals of both articles are updated in the order of their ids, so no transaction fails on a deadlock
+     */
+    @Test
+    void movesStockBetweenArticles_When_movesInOppositeDirectionsAreConcurrent() throws InterruptedException, ExecutionException {
+        long firstArticleId = ARTICLE_ID + 400;
+        long secondArticleId = ARTICLE_ID + 401;
+        stockLedgerService.recordMovement(firstArticleId, LOCATION_ID, 1000, StockMovement.Reason.CREATED);
+        stockLedgerService.recordMovement(secondArticleId, LOCATION_ID, 1000, StockMovement.Reason.CREATED);
+        int moves = 20;
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (long[] direction : new long[][]{{firstArticleId, secondArticleId}, {secondArticleId, firstArticleId}}) {
+                results.add(executor.submit(() -> {
+                    for (int move = 0; move < moves; move++) {
+                        barrier.await();
+                        LocalDateTime movedAt = LocalDateTime.now();
+                        stockLedgerService.recordMovements(List.of(
+                                new StockMovement(direction[0], LOCATION_ID, -10, StockMovement.Reason.MODIFIED, movedAt),
+                                new StockMovement(direction[1], LOCATION_ID, 10, StockMovement.Reason.MODIFIED, movedAt)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, articleStockRepository.findByArticleId(firstArticleId).get().getQuantity());
+        assertEquals(1000, articleStockRepository.findByArticleId(secondArticleId).get().getQuantity());
+    }
+
+    /**
+     * Test for a first movement whose transaction was rolled back and the next first movement of the article
+     * @result the rolled back movement leaves no total, the next one at or below order.quantity.limit of 250
+     * creates the total and lets the article become pending
+     */
+    @Test
+    void addsPendingReorder_When_firstMovementAfterRollbackIsBelowLimit() {
+        long articleId = ARTICLE_ID + 300;
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            stockLedgerService.recordMovement(articleId, LOCATION_ID, 300, StockMovement.Reason.CREATED);
+            status.setRollbackOnly();
+        });
+        assertTrue(articleStockRepository.findByArticleId(articleId).isEmpty());
+
+        stockLedgerService.recordMovement(articleId, LOCATION_ID, 10, StockMovement.Reason.CREATED);
+
+        assertEquals(10, articleStockRepository.findByArticleId(articleId).get().getQuantity());
+        assertEquals(1, pendingReorderRepository.findAllByArticleIdIn(List.of(articleId)).size());
+    }
+}
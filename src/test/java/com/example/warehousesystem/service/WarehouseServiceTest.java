@@ -2,7 +2,9 @@ package com.example.warehousesystem.service;
 
 import com.example.warehousesystem.entities.Article;
 import com.example.warehousesystem.entities.Location;
+import com.example.warehousesystem.entities.StockMovement;
 import com.example.warehousesystem.entities.Warehouse;
+import com.example.warehousesystem.exceptions.InsufficientStockException;
 import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
 import com.example.warehousesystem.exceptions.RecordAlreadyExistsException;
 import com.example.warehousesystem.exceptions.ResourceNotFoundException;
@@ -10,9 +12,11 @@ import com.example.warehousesystem.repository.WarehouseRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -20,6 +24,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -36,13 +41,19 @@ public class WarehouseServiceTest {
     @MockBean
     private CsvExportService csvExportService;
 
+    @MockBean
+    private StockLedgerService stockLedgerService;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
     WarehouseService warehouseService;
     /**
      * Set up before each test
      */
     @BeforeEach
     void setUp() {
-        warehouseService= new WarehouseService(warehouseRepository, csvExportService);
+        warehouseService= new WarehouseService(warehouseRepository, csvExportService, stockLedgerService, transactionManager);
     }
 
     /**
@@ -50,12 +61,12 @@ public class WarehouseServiceTest {
      * @result returns a list of warehouses
      */
     @Test
-    public void getsAListOfAllWarehouses_When_getAllWarehousesIsCalled() {
+    public void getsAListOfAllWarehouses_When_getAllWarehousesIsCalled() throws InvalidFormatEntryException {
         Warehouse warehouse = getWarehouse();
         List<Warehouse> warehouses = new ArrayList<>();
         warehouses.add(warehouse);
-        when(warehouseRepository.findAll()).thenReturn(warehouses);
-        List<Warehouse> result = warehouseService.getAllWarehouses();
+        when(warehouseRepository.findPage(eq(0L), isNull(), isNull(), isNull(), isNull(), isNull(), any())).thenReturn(warehouses);
+        List<Warehouse> result = warehouseService.getWarehousePage(null, 100, null, null, null, null, null).items();
         assertEquals(result.size(), 1);
     }
 
@@ -81,6 +92,7 @@ public class WarehouseServiceTest {
         when(warehouseRepository.findById(1L)).thenReturn(Optional.of(warehouse));
         doNothing().when(warehouseRepository).deleteById(1L);
         warehouseService.deleteWarehouseById(1L);
+        verify(stockLedgerService, times(1)).recordMovement(warehouse, -100, StockMovement.Reason.DELETED);
         verify(warehouseRepository, times(1)).deleteWarehousebyId(1L);
     }
 
@@ -109,6 +121,7 @@ public class WarehouseServiceTest {
         when(warehouseRepository.save(warehouse)).thenReturn(warehouse);
         Warehouse newCategory = warehouseService.addNewWarehouse(warehouse);
         assertEquals(warehouse, newCategory);
+        verify(stockLedgerService, times(1)).recordMovement(warehouse, 100, StockMovement.Reason.CREATED);
     }
 
     /**
@@ -151,6 +164,70 @@ public class WarehouseServiceTest {
         assertTrue(true);
     }
 
+    /**
+     * Test for service to modify a warehouse which is moved to another location
+     * @result the stock is recorded as removed from the previous location and added to the new one with one call
+     * @throws InvalidFormatEntryException if entry is lower or same as zero for the quantity
+     */
+    @Test
+    public void recordsMovementOfBothLocations_When_modifyWarehouseByIdChangesLocation() throws InvalidFormatEntryException {
+        Warehouse warehouse = getWarehouse();
+        Location previousLocation = warehouse.getLocation();
+        previousLocation.setId(1L);
+        Location newLocation = new Location();
+        newLocation.setId(2L);
+        Warehouse modifiedWarehouse = new Warehouse(warehouse.getArticle(), newLocation, 30);
+        when(warehouseRepository.findById(1L)).thenReturn(Optional.of(warehouse));
+
+        warehouseService.modifyWarehouseById(modifiedWarehouse, 1L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockMovement>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockLedgerService, times(1)).recordMovements(movements.capture());
+        assertEquals(List.of(1L, 2L), movements.getValue().stream().map(StockMovement::getLocationId).toList());
+        assertEquals(List.of(-100, 30), movements.getValue().stream().map(StockMovement::getDelta).toList());
+    }
+
+    /**
+     * Test for service to adjust the quantity of a warehouse with specific id
+     * @result the quantity is adjusted with one conditional update and the adjusted warehouse is returned
+     */
+    @Test
+    public void returnsAdjustedWarehouse_When_adjustQuantityIsCalled() throws InvalidFormatEntryException, InsufficientStockException {
+        Warehouse warehouse = getWarehouse();
+        when(warehouseRepository.adjustQuantity(eq(1L), eq(-5), anyString())).thenReturn(1);
+        when(warehouseRepository.findById(1L)).thenReturn(Optional.of(warehouse));
+
+        assertEquals(warehouse, warehouseService.adjustQuantity(1L, -5));
+        verify(warehouseRepository, never()).save(any());
+        verify(stockLedgerService, times(1)).recordMovement(warehouse, -5, StockMovement.Reason.ADJUSTED);
+    }
+
+    /**
+     * Test for service to adjust the quantity of a warehouse by more pieces than it has in stock
+     * @result throws an InsufficientStockException
+     */
+    @Test
+    public void throwsInsufficientStockException_When_adjustQuantityWouldMakeQuantityNegative() {
+        when(warehouseRepository.adjustQuantity(eq(1L), eq(-500), anyString())).thenReturn(0);
+        when(warehouseRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(InsufficientStockException.class, () -> warehouseService.adjustQuantity(1L, -500));
+    }
+
+    /**
+     * Test for service to adjust the quantity of a warehouse which does not exist or by zero pieces
+     * @result throws a ResourceNotFoundException or an InvalidFormatEntryException
+     */
+    @Test
+    public void throwsException_When_adjustQuantityIsCalledWithUnknownIdOrZeroDelta() {
+        when(warehouseRepository.adjustQuantity(eq(2L), eq(3), anyString())).thenReturn(0);
+        when(warehouseRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> warehouseService.adjustQuantity(2L, 3));
+        assertThrows(InvalidFormatEntryException.class, () -> warehouseService.adjustQuantity(1L, 0));
+    }
+
     /**
      * instantiates a dummy warehouse for the tests
      * @return a warehouse
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.File;
 import java.io.FileReader;
@@ -75,7 +76,16 @@ public class CsvCreatorTest {
 
     }
 
-
+    /**
+     * tests if gzip compressed csv files are accepted as csv format
+     * @result a .csv.gz file with a gzip content type is accepted, other gzip files are not
+     */
+    @Test
+    public void acceptsGzipCompressedCsv_When_hasCSVFormat() {
+        assertTrue(CsvCreator.hasCSVFormat(new MockMultipartFile("file", "warehouse.csv", "text/csv", new byte[0])));
+        assertTrue(CsvCreator.hasCSVFormat(new MockMultipartFile("file", "warehouse.csv.gz", "application/gzip", new byte[0])));
+        assertTrue(CsvCreator.hasCSVFormat(new MockMultipartFile("file", "warehouse.CSV.GZ", "application/x-gzip", new byte[0])));
+        assertFalse(CsvCreator.hasCSVFormat(new MockMultipartFile("file", "warehouse.tar.gz", "application/gzip", new byte[0])));
+        assertFalse(CsvCreator.hasCSVFormat(new MockMultipartFile("file", "warehouse.csv.gz", "text/plain", new byte[0])));
+    }
 }
-
-
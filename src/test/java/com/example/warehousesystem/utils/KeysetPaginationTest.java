@@ -0,0 +1,68 @@
+package com.example.warehousesystem.utils;
+
+import com.example.warehousesystem.dto.KeysetPage;
+import com.example.warehousesystem.entities.Category;
+import com.example.warehousesystem.exceptions.InvalidFormatEntryException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for utility class "KeysetPagination.java"
+ */
+public class KeysetPaginationTest {
+
+    /**
+     * Test to read the cursor of a full page
+     * @result the cursor of the next page starts after the last entry of the page
+     */
+    @Test
+    void nextCursorStartsAfterLastEntry_When_pageIsFull() throws InvalidFormatEntryException {
+        Category first = new Category("Schuhe");
+        first.setId(3L);
+        Category last = new Category("Besen");
+        last.setId(7L);
+
+        KeysetPage<Category> page = KeysetPagination.toPage(List.of(first, last), 2);
+
+        assertNotNull(page.nextCursor());
+        assertEquals(7L, KeysetPagination.afterId(page.nextCursor()));
+    }
+
+    /**
+     * Test to create the last page
+     * @result a page with less entries than the limit has no next cursor
+     */
+    @Test
+    void hasNoNextCursor_When_pageIsNotFull() {
+        Category category = new Category("Schuhe");
+        category.setId(3L);
+
+        KeysetPage<Category> page = KeysetPagination.toPage(List.of(category), 2);
+
+        assertNull(page.nextCursor());
+    }
+
+    /**
+     * Test to read the first page
+     * @result the first page starts after id 0
+     */
+    @Test
+    void startsAtFirstEntry_When_cursorIsMissing() throws InvalidFormatEntryException {
+        assertEquals(0L, KeysetPagination.afterId(null));
+    }
+
+    /**
+     * Test for cursors and limits which were not created by the application
+     * @result throws InvalidFormatEntryException
+     */
+    @Test
+    void throwsInvalidFormatEntryException_When_cursorOrLimitIsInvalid() {
+        assertThrows(InvalidFormatEntryException.class, () -> KeysetPagination.afterId("not-a-cursor"));
+        assertThrows(InvalidFormatEntryException.class, () -> KeysetPagination.afterId("aWQ6YWJj"));
+        assertThrows(InvalidFormatEntryException.class, () -> KeysetPagination.limit(0));
+        assertThrows(InvalidFormatEntryException.class, () -> KeysetPagination.limit(KeysetPagination.MAX_LIMIT + 1));
+    }
+}
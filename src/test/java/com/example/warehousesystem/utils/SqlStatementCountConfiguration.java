@@ -0,0 +1,35 @@
+package com.example.warehousesystem.utils;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Test configuration which wraps the DataSource with a proxy that counts the executed sql statements,
+ * import it in a test to assert statement budgets with SqlStatementCounter
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlStatementCountConfiguration {
+
+    /**
+     * @return a post processor which wraps every DataSource bean with a counting proxy
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(SqlStatementCounter.DATA_SOURCE_NAME)
+                            .countQuery()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.warehousesystem.utils;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Helper to assert the number of sql statements and the jdbc time of the code under test
+ *
+ * The statements are counted per thread by the DataSource proxy of SqlStatementCountConfiguration,
+ * which has to be imported by the test. Statements of other threads, e.g. the csv import executor, are not counted.
+ */
+public final class SqlStatementCounter {
+    static final String DATA_SOURCE_NAME = "counted";
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * resets the counters of the current thread, call it right before the code under test
+     */
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    /**
+     * @return the number of sql statements executed by the current thread since the last reset
+     */
+    public static long statementCount() {
+        return queryCount().getTotal();
+    }
+
+    /**
+     * @return the time in milliseconds the current thread spent executing sql statements since the last reset
+     */
+    public static long jdbcMillis() {
+        return queryCount().getTime();
+    }
+
+    /**
+     * asserts that the code since the last reset stayed within the given budget
+     * @param maxStatements maximum number of sql statements
+     * @param maxJdbcMillis maximum time in milliseconds spent executing sql statements
+     */
+    public static void assertStatementBudget(long maxStatements, long maxJdbcMillis) {
+        long statements = statementCount();
+        long millis = jdbcMillis();
+        assertTrue(statements <= maxStatements,
+                "expected at most " + maxStatements + " sql statements but " + statements + " were executed");
+        assertTrue(millis <= maxJdbcMillis,
+                "expected at most " + maxJdbcMillis + " ms of jdbc time but " + millis + " ms were spent");
+    }
+
+    private static QueryCount queryCount() {
+        QueryCount queryCount = QueryCountHolder.get(DATA_SOURCE_NAME);
+        return queryCount != null ? queryCount : new QueryCount();
+    }
+}
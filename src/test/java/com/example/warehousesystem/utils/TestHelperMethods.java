@@ -2,6 +2,14 @@ package com.example.warehousesystem.utils;
 
 import com.example.warehousesystem.entities.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.example.warehousesystem.utils.SqlStatementCounter.assertStatementBudget;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class TestHelperMethods {
 
@@ -87,4 +95,45 @@ public class TestHelperMethods {
         warehouse.setQuantity(100);
         return warehouse;
     }
+
+    /**
+     * Helper function to count the sql statements of a repository call,
+     * clears the persistence context so that every entity has to be loaded from the database
+     * and resets the SqlStatementCounter, the test has to import SqlStatementCountConfiguration
+     * @param entityManager the entity manager of the test
+     */
+    public static void startCountingStatements(TestEntityManager entityManager) {
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    /**
+     * Helper function to test a streaming export query, closes the stream like the csv export
+     * @param streamAllForExport the export query of the repository
+     * @param expectedRows the rows the export should stream in this order
+     * @param <T> type of the export rows
+     */
+    public static <T> void assertExportRows(Supplier<Stream<T>> streamAllForExport, List<T> expectedRows) {
+        List<T> found;
+        try (Stream<T> rows = streamAllForExport.get()) {
+            found = rows.toList();
+        }
+        assertEquals(expectedRows, found);
+    }
+
+    /**
+     * Helper function to test the page query of a list endpoint,
+     * the page has to be loaded with one statement within the jdbc time budget of 500 ms
+     * @param entityManager the entity manager of the test, the test has to import SqlStatementCountConfiguration
+     * @param findPage the page query of the repository
+     * @param expectedIds the ids of the entities the page should contain in this order
+     */
+    public static void assertPageInOneStatement(TestEntityManager entityManager, Supplier<List<? extends BaseEntity>> findPage,
+                                                List<Long> expectedIds) {
+        startCountingStatements(entityManager);
+        List<? extends BaseEntity> page = findPage.get();
+        assertEquals(expectedIds, page.stream().map(BaseEntity::getId).toList());
+        assertStatementBudget(1, 500);
+    }
 }